@@ -0,0 +1,50 @@
+package io.github.quinnandrews.spring.data.specification.benchmark;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.dataset.GuitarPedalDataset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+
+/**
+ * Starts the test Application, with Hibernate and the H2 database, once
+ * per forked benchmark, so that the JPA Metamodel is initialized and a
+ * real CriteriaBuilder is available. Where the system property
+ * specification.dataset.size is passed to the fork, for example with
+ * {@code -jvmArgsAppend -Dspecification.dataset.size=100000}, the
+ * database is filled with a GuitarPedalDataset of that size.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Benchmark)
+public class JpaState {
+
+    ConfigurableApplicationContext context;
+    EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        if (System.getProperty(GuitarPedalDataset.SIZE_PROPERTY) != null) {
+            GuitarPedalDataset.fromSystemProperties().generate(context.getBean(DataSource.class));
+        }
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+}
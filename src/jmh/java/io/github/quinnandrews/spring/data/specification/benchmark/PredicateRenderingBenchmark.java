@@ -0,0 +1,62 @@
+package io.github.quinnandrews.spring.data.specification.benchmark;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering Specifications into Criteria Predicates with
+ * Hibernate's CriteriaBuilder, and translating and executing the whole
+ * query against H2. Criteria queries are not kept in Hibernate's query
+ * plan cache, so every execution translates the query to SQL again.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PredicateRenderingBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int conditions;
+
+    private Specification<GuitarPedal> specification;
+
+    @Setup
+    public void setUp(final JpaState jpa) {
+        specification = SpecificationBuildingBenchmark.build(conditions);
+    }
+
+    @Benchmark
+    public Predicate toPredicate(final JpaState jpa) {
+        final CriteriaBuilder builder = jpa.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<GuitarPedal> query = builder.createQuery(GuitarPedal.class);
+        final Root<GuitarPedal> root = query.from(GuitarPedal.class);
+        return specification.toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public List<GuitarPedal> translateAndExecute(final JpaState jpa) {
+        final CriteriaBuilder builder = jpa.entityManager.getCriteriaBuilder();
+        final CriteriaQuery<GuitarPedal> query = builder.createQuery(GuitarPedal.class);
+        final Root<GuitarPedal> root = query.from(GuitarPedal.class);
+        query.select(root).where(specification.toPredicate(root, query, builder));
+        final List<GuitarPedal> pedals = jpa.entityManager.createQuery(query).getResultList();
+        jpa.entityManager.clear();
+        return pedals;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.quinnandrews.spring.data.specification.benchmark;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationFactory;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building Specifications of various numbers of conditions with
+ * SpecificationBuilder, and single conditions with SpecificationFactory.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationBuildingBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int conditions;
+
+    @Benchmark
+    public Specification<GuitarPedal> builder(final JpaState jpa) {
+        return build(conditions);
+    }
+
+    @Benchmark
+    public Specification<GuitarPedal> factoryIsLike(final JpaState jpa) {
+        return SpecificationFactory.isLike(GuitarPedal_.name, "%fuzz%");
+    }
+
+    @Benchmark
+    public Specification<GuitarPedal> factoryIsIn(final JpaState jpa) {
+        return SpecificationFactory.isIn(GuitarPedal_.usedValue, 75, 150, 200, 250);
+    }
+
+    /**
+     * Returns a Specification of the given number of conditions, cycling
+     * through the kinds of conditions commonly combined.
+     */
+    static Specification<GuitarPedal> build(final int conditions) {
+        final SpecificationBuilder<GuitarPedal> builder = SpecificationBuilder.from(GuitarPedal.class).where();
+        for (int i = 0; i < conditions; i++) {
+            if (i > 0) {
+                builder.and();
+            }
+            switch (i % 4) {
+                case 0 -> builder.isLike(GuitarPedal_.name, "%fuzz" + i + "%");
+                case 1 -> builder.isGreaterThan(GuitarPedal_.usedValue, i);
+                case 2 -> builder.isNull(GuitarPedal_.dateSold);
+                default -> builder.isIn(GuitarPedal_.usedValue, i, i + 1, i + 2);
+            }
+        }
+        return builder.toSpecification();
+    }
+}
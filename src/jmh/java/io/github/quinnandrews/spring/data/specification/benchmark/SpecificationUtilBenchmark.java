@@ -0,0 +1,52 @@
+package io.github.quinnandrews.spring.data.specification.benchmark;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the SpecificationUtil helpers applied to every value passed
+ * to SpecificationFactory.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationUtilBenchmark {
+
+    public String name = "Deco: Tape Saturation and Double Tracker";
+    public String padded = "   Big Muff Fuzz   ";
+    public String wildcards = "%100% _Fuzz_%";
+
+    @Benchmark
+    public String toLowerCase() {
+        return SpecificationUtil.toLowerCase(name);
+    }
+
+    @Benchmark
+    public Object stripToNull() {
+        return SpecificationUtil.stripToNull(padded);
+    }
+
+    @Benchmark
+    public String escapeWildcardCharacters() {
+        return SpecificationUtil.escapeWildcardCharacters(wildcards);
+    }
+
+    @Benchmark
+    public boolean isWildcardExpression() {
+        return SpecificationUtil.isWildcardExpression(wildcards);
+    }
+
+    @Benchmark
+    public boolean isEmptyWildcardExpression() {
+        return SpecificationUtil.isEmptyWildcardExpression(wildcards);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Specification generated by {@link SpecificationFactory} that
+ * describes itself: the operator it applies, the attribute it applies
+ * it to and the values it compares with. The description makes it
+ * possible to fingerprint, inspect and evaluate a Specification without
+ * running it against a query.
+ * <p>
+ * Serializable only because Specification is: it is not meant to be
+ * serialized, since the metamodel attribute, the values and the delegate
+ * it holds need not be serializable, and a deserialized attribute would
+ * not be the one of the running metamodel.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public final class AttributeSpecification<T> implements Specification<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final SpecificationOperator operator;
+    private final Attribute<T, ?> attribute;
+    private final List<Object> values;
+    private final Specification<T> delegate;
+
+    /**
+     * Package-private Constructor, since instances are generated
+     * by SpecificationFactory.
+     *
+     * @param operator The operator applied.
+     * @param attribute The attribute applied to, null for a ghost.
+     * @param values The values compared with, which cannot be null.
+     * @param delegate The Specification that defines the Predicate.
+     */
+    AttributeSpecification(final SpecificationOperator operator,
+                           final Attribute<T, ?> attribute,
+                           final List<Object> values,
+                           final Specification<T> delegate) {
+        this.operator = Objects.requireNonNull(operator, "Argument 'operator' cannot be null.");
+        this.attribute = attribute;
+        this.values = List.copyOf(values);
+        this.delegate = Objects.requireNonNull(delegate, "Argument 'delegate' cannot be null.");
+    }
+
+    /**
+     * Returns the operator applied.
+     *
+     * @return The operator.
+     */
+    public SpecificationOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Returns the attribute the operator is applied to. Null only
+     * when the operator is {@link SpecificationOperator#GHOST}.
+     *
+     * @return The attribute.
+     */
+    public Attribute<T, ?> getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the values compared with, in the order documented by
+     * the operator.
+     *
+     * @return An unmodifiable List of the values.
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate toPredicate(final Root<T> root,
+                                 final CriteriaQuery<?> query,
+                                 final CriteriaBuilder builder) {
+        return SpecificationEvents.toPredicate(this, root, query, builder, delegate::toPredicate);
+    }
+
+    @Override
+    public String toString() {
+        return operator + (attribute == null ? "" : "(" + attribute.getName() + ")") + values;
+    }
+}
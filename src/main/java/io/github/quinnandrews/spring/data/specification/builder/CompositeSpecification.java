@@ -0,0 +1,125 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * A conjunction or disjunction of two Specifications, composed by
+ * {@link SpecificationBuilder}. Behaves like the composition of
+ * {@link Specification#and(Specification)} and
+ * {@link Specification#or(Specification)}, where a side with a null
+ * Predicate is left out, but keeps both sides so that the composite
+ * can be inspected. Serializable only as far as both sides are.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public final class CompositeSpecification<T> implements Specification<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The ways two Specifications can be composed.
+     */
+    public enum Connective {
+
+        /**
+         * Both sides must match.
+         */
+        AND,
+
+        /**
+         * Either side must match.
+         */
+        OR
+    }
+
+    private final Connective connective;
+    private final Specification<T> left;
+    private final Specification<T> right;
+
+    /**
+     * Package-private Constructor, since instances are composed
+     * by SpecificationBuilder.
+     *
+     * @param connective The connective to compose with.
+     * @param left The left side.
+     * @param right The right side.
+     */
+    CompositeSpecification(final Connective connective,
+                           final Specification<T> left,
+                           final Specification<T> right) {
+        this.connective = Objects.requireNonNull(connective, "Argument 'connective' cannot be null.");
+        this.left = Objects.requireNonNull(left, "Argument 'left' cannot be null.");
+        this.right = Objects.requireNonNull(right, "Argument 'right' cannot be null.");
+    }
+
+    /**
+     * Returns the connective the sides are composed with.
+     *
+     * @return The connective.
+     */
+    public Connective getConnective() {
+        return connective;
+    }
+
+    /**
+     * Returns the left side.
+     *
+     * @return The left side.
+     */
+    public Specification<T> getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right side.
+     *
+     * @return The right side.
+     */
+    public Specification<T> getRight() {
+        return right;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate toPredicate(final Root<T> root,
+                                 final CriteriaQuery<?> query,
+                                 final CriteriaBuilder builder) {
+        return SpecificationEvents.toPredicate(this, root, query, builder, this::render);
+    }
+
+    /**
+     * Renders the Predicates of both sides, composed by the connective,
+     * or either side alone if the other renders no Predicate.
+     */
+    private Predicate render(final Root<T> root,
+                             final CriteriaQuery<?> query,
+                             final CriteriaBuilder builder) {
+        final Predicate leftPredicate = left.toPredicate(root, query, builder);
+        final Predicate rightPredicate = right.toPredicate(root, query, builder);
+        if (leftPredicate == null) {
+            return rightPredicate;
+        }
+        if (rightPredicate == null) {
+            return leftPredicate;
+        }
+        return connective == Connective.AND ?
+                builder.and(leftPredicate, rightPredicate) : builder.or(leftPredicate, rightPredicate);
+    }
+
+    @Override
+    public String toString() {
+        return connective + "(" + left + ", " + right + ")";
+    }
+}
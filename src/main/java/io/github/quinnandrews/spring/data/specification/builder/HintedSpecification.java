@@ -0,0 +1,73 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * A Specification that carries {@link SpecificationHints} on how its
+ * query should be executed. Restricts exactly like the Specification it
+ * wraps, so it can be passed to any executor, but only an executor that
+ * reads the hints, such as the Repository base class
+ * {@code SpecificationRepositoryImpl}, will apply them.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public final class HintedSpecification<T> implements Specification<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Specification<T> delegate;
+    private final SpecificationHints hints;
+
+    /**
+     * Creates a new HintedSpecification.
+     *
+     * @param delegate The Specification to restrict with, can be null
+     *                 to match every Entity.
+     * @param hints The hints to execute the query with.
+     * @throws NullPointerException if the given hints are null.
+     */
+    public HintedSpecification(final Specification<T> delegate,
+                               final SpecificationHints hints) {
+        this.delegate = delegate;
+        this.hints = Objects.requireNonNull(hints, "Argument 'hints' cannot be null.");
+    }
+
+    /**
+     * Returns the wrapped Specification. Can be null.
+     *
+     * @return The wrapped Specification.
+     */
+    public Specification<T> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the hints to execute the query with.
+     *
+     * @return The hints.
+     */
+    public SpecificationHints getHints() {
+        return hints;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Predicate toPredicate(final Root<T> root,
+                                 final CriteriaQuery<?> query,
+                                 final CriteriaBuilder builder) {
+        return SpecificationEvents.toPredicate(this, root, query, builder,
+                (r, q, b) -> delegate == null ? null : delegate.toPredicate(r, q, b));
+    }
+}
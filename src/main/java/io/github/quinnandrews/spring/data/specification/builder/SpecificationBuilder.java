@@ -1,14 +1,19 @@
 package io.github.quinnandrews.spring.data.specification.builder;
 
+import io.github.quinnandrews.spring.data.specification.jfr.SpecificationBuildEvent;
 import jakarta.persistence.metamodel.PluralAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Objects;
 
 /**
  * Generates and composes Specifications with a fluent-API that is easy to read.
+ * Specifications are composed as {@link CompositeSpecification}s, so that a
+ * Specification built entirely from the methods of the builder can be
+ * described, and fingerprinted, as a whole.
  *
  * @param <T> The Entity Type to query from as the Aggregate Root.
  *
@@ -16,15 +21,20 @@ import java.util.Objects;
  */
 public class SpecificationBuilder<T> {
     
+    private final Class<T> root;
     private Specification<T> specification;
+    private SpecificationHints hints = SpecificationHints.none();
+    private SpecificationBuildEvent buildEvent = SpecificationEvents.beginBuild();
 
     /**
-     * Default Constructor. Private since this Class is meant
-     * to be instantiated with the from(final Class<T> root)
-     * method.
+     * Constructor. Private since this Class is meant to be
+     * instantiated with the from(final Class<T> root) method.
+     *
+     * @param root The Entity Class to query from as the
+     *             Aggregate Root.
      */
-    private SpecificationBuilder() {
-        // no-op
+    private SpecificationBuilder(final Class<T> root) {
+        this.root = root;
     }
 
     /**
@@ -39,19 +49,118 @@ public class SpecificationBuilder<T> {
      */
     public static <T> SpecificationBuilder<T> from(final Class<T> root) {
         Objects.requireNonNull(root, "Argument 'root' cannot be null.");
-        return new SpecificationBuilder<>();
+        return new SpecificationBuilder<>(root);
     }
 
     /**
      * Returns the underlying composite Specification in
      * its current state. WARNING: Can be null under some
-     * circumstances.
+     * circumstances. If any hints have been set, the
+     * Specification is wrapped in a HintedSpecification
+     * that carries them, and is never null. The first
+     * call ends the SpecificationBuildEvent of the build,
+     * if JDK Flight Recorder records it.
      *
      * @return The underlying composite Specification that
      *         represents the result of the build.
      */
     public Specification<T> toSpecification() {
-        return specification;
+        final Specification<T> result = hints.isEmpty() ? specification : new HintedSpecification<>(specification, hints);
+        if (buildEvent != null) {
+            SpecificationEvents.commitBuild(buildEvent, root, result);
+            buildEvent = null;
+        }
+        return result;
+    }
+
+    /**
+     * Marks the Specification to be executed read-only,
+     * which loads the Entities without snapshots for
+     * dirty checking and does not flush the persistence
+     * context before the query. Changes made to Entities
+     * loaded this way are not written to the database.
+     * Applied by executors that read SpecificationHints.
+     *
+     * @return The current instance of the SpecificationBuilder.
+     */
+    public SpecificationBuilder<T> readOnly() {
+        hints = hints.withReadOnly();
+        return this;
+    }
+
+    /**
+     * Sets the number of rows the JDBC driver should read
+     * from the database at a time when executing the
+     * Specification. Applied by executors that read
+     * SpecificationHints.
+     *
+     * @param fetchSize The number of rows to read at a time.
+     * @return The current instance of the SpecificationBuilder.
+     * @throws IllegalArgumentException if the given fetchSize
+     *                                  is less than one.
+     */
+    public SpecificationBuilder<T> fetchSize(final int fetchSize) {
+        hints = hints.withFetchSize(fetchSize);
+        return this;
+    }
+
+    /**
+     * Sets how long the query of the Specification may run
+     * before the statement is cancelled, in which case the
+     * executor throws a QueryTimeoutException. Rounded up
+     * to whole seconds, the precision of JDBC. Applied by
+     * executors that read SpecificationHints.
+     *
+     * @param timeout How long the query may run.
+     * @return The current instance of the SpecificationBuilder.
+     * @throws NullPointerException if the given timeout is null.
+     * @throws IllegalArgumentException if the given timeout is
+     *                                  shorter than one millisecond.
+     */
+    public SpecificationBuilder<T> timeout(final Duration timeout) {
+        hints = hints.withTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * Marks the results of the Specification as cacheable in
+     * the Hibernate query cache, which must be enabled for it
+     * to have any effect. Applied by executors that read
+     * SpecificationHints.
+     *
+     * @return The current instance of the SpecificationBuilder.
+     */
+    public SpecificationBuilder<T> cacheable() {
+        hints = hints.withCacheable();
+        return this;
+    }
+
+    /**
+     * Sets a comment to prefix the SQL statement with, so that
+     * the query can be recognized in database-side monitoring.
+     * Rendered only when {@code hibernate.use_sql_comments} is
+     * enabled. Applied by executors that read SpecificationHints.
+     *
+     * @param comment The comment to prefix the SQL statement with.
+     * @return The current instance of the SpecificationBuilder.
+     * @throws NullPointerException if the given comment is null.
+     */
+    public SpecificationBuilder<T> comment(final String comment) {
+        hints = hints.withComment(comment);
+        return this;
+    }
+
+    /**
+     * Bypasses any application-level result cache when
+     * executing the Specification, so that the results are
+     * read from the database and not cached. Applied by
+     * executors that read SpecificationHints.
+     *
+     * @return The current instance of the SpecificationBuilder.
+     */
+    public SpecificationBuilder<T> bypassResultCache() {
+        hints = hints.withResultCacheBypassed();
+        return this;
     }
 
     /**
@@ -69,7 +178,8 @@ public class SpecificationBuilder<T> {
     /**
      * Adds the given Specification to the current Specification
      * with a conjunction (unless no Specification has yet been
-     * added) using the language of 'where'.
+     * added) using the language of 'where'. Hints carried by a
+     * HintedSpecification are merged into those of the builder.
      *
      * @param specification The Specification to add the current
      *                      Specification.
@@ -78,8 +188,12 @@ public class SpecificationBuilder<T> {
      */
     public SpecificationBuilder<T> where(final Specification<T> specification) {
         Objects.requireNonNull(specification, "Argument 'specification' cannot be null.");
-        this.specification = this.specification == null ?
-                Specification.where(specification) : this.specification.and(specification);
+        if (specification instanceof HintedSpecification<T> hinted) {
+            hints = hints.merge(hinted.getHints());
+            return hinted.getDelegate() == null ? this : where(hinted.getDelegate());
+        }
+        this.specification = this.specification == null ? specification :
+                new CompositeSpecification<>(CompositeSpecification.Connective.AND, this.specification, specification);
         return this;
     }
 
@@ -112,7 +226,8 @@ public class SpecificationBuilder<T> {
     /**
      * Adds the given Specification to the current Specification
      * with a disjunction (unless no Specification has yet been
-     * added) using the language of 'or'.
+     * added) using the language of 'or'. Hints carried by a
+     * HintedSpecification are merged into those of the builder.
      *
      * @param specification The Specification to add the current
      *                      Specification.
@@ -121,8 +236,12 @@ public class SpecificationBuilder<T> {
      */
     public SpecificationBuilder<T> or(final Specification<T> specification) {
         Objects.requireNonNull(specification, "Argument 'specification' cannot be null.");
-        this.specification = this.specification == null ?
-                Specification.where(specification) : this.specification.or(specification);
+        if (specification instanceof HintedSpecification<T> hinted) {
+            hints = hints.merge(hinted.getHints());
+            return hinted.getDelegate() == null ? this : or(hinted.getDelegate());
+        }
+        this.specification = this.specification == null ? specification :
+                new CompositeSpecification<>(CompositeSpecification.Connective.OR, this.specification, specification);
         return this;
     }
 
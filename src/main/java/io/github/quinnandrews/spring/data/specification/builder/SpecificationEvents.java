@@ -0,0 +1,129 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import io.github.quinnandrews.spring.data.specification.jfr.SpecificationBuildEvent;
+import io.github.quinnandrews.spring.data.specification.jfr.SpecificationPredicateEvent;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Records the JDK Flight Recorder events of building and rendering
+ * Specifications. While the events are not enabled, as when no recording
+ * is running, nothing but the check is done; in particular, no shape is
+ * computed.
+ *
+ * @author Quinn Andrews
+ */
+final class SpecificationEvents {
+
+    /**
+     * The depth of the toPredicate() calls in progress on the current
+     * thread, so that only the outermost is recorded.
+     */
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private SpecificationEvents() {
+        // no-op
+    }
+
+    /**
+     * Renders the body of a Specification's toPredicate() method.
+     *
+     * @param <T> The Entity Type.
+     */
+    @FunctionalInterface
+    interface PredicateRenderer<T> {
+
+        Predicate render(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder);
+    }
+
+    /**
+     * Returns a SpecificationBuildEvent that has begun, if the event is
+     * enabled, or null.
+     *
+     * @return A begun SpecificationBuildEvent, or null.
+     */
+    static SpecificationBuildEvent beginBuild() {
+        final SpecificationBuildEvent event = new SpecificationBuildEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the given SpecificationBuildEvent, and commits it with the
+     * shape of the given Specification if it should be.
+     *
+     * @param event The event begun by beginBuild(), can be null.
+     * @param domainClass The Entity Class queried.
+     * @param specification The Specification built, can be null.
+     */
+    static void commitBuild(final SpecificationBuildEvent event,
+                            final Class<?> domainClass,
+                            final Specification<?> specification) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            final SpecificationShape shape = SpecificationShape.of(specification);
+            event.domainClass = domainClass;
+            event.shape = shape.fingerprint();
+            event.predicateCount = shape.predicateCount();
+            event.ghostCount = shape.ghostCount();
+            event.fetchCount = shape.fetchCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Renders the given Specification with the given renderer, recording
+     * a SpecificationPredicateEvent if it is the outermost Specification
+     * rendered on this thread.
+     *
+     * @param specification The Specification rendered.
+     * @param root The Root of the query.
+     * @param query The query.
+     * @param builder The CriteriaBuilder.
+     * @param renderer Renders the body of the Specification's toPredicate().
+     * @return The Predicate rendered.
+     * @param <T> The Entity Type.
+     */
+    static <T> Predicate toPredicate(final Specification<T> specification,
+                                     final Root<T> root,
+                                     final CriteriaQuery<?> query,
+                                     final CriteriaBuilder builder,
+                                     final PredicateRenderer<T> renderer) {
+        final SpecificationPredicateEvent event = new SpecificationPredicateEvent();
+        if (!event.isEnabled()) {
+            return renderer.render(root, query, builder);
+        }
+        final int[] depth = DEPTH.get();
+        if (depth[0]++ == 0) {
+            event.begin();
+        }
+        try {
+            return renderer.render(root, query, builder);
+        } finally {
+            if (--depth[0] == 0) {
+                event.end();
+                if (event.shouldCommit()) {
+                    final SpecificationShape shape = SpecificationShape.of(specification);
+                    event.domainClass = root.getJavaType();
+                    event.shape = shape.fingerprint();
+                    event.predicateCount = shape.predicateCount();
+                    event.fetchCount = shape.fetchCount();
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package io.github.quinnandrews.spring.data.specification.builder;
 
+import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import jakarta.persistence.metamodel.PluralAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -14,6 +20,8 @@ import static io.github.quinnandrews.spring.data.specification.builder.Specifica
 
 /**
  * Generates Specifications with null-safe handling of Attribute values.
+ * Each Specification generated is an {@link AttributeSpecification} that
+ * describes the operator, attribute and values it was generated with.
  *
  * @author Quinn Andrews
  */
@@ -45,7 +53,8 @@ public class SpecificationFactory {
                                                  final Object value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.equal(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.EQUAL_TO, attribute, List.of(value),
+                    (root, query, builder) -> builder.equal(root.get(attribute), value));
         }
         return ghost();
     }
@@ -66,7 +75,8 @@ public class SpecificationFactory {
                                                     final Object value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.notEqual(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.NOT_EQUAL_TO, attribute, List.of(value),
+                    (root, query, builder) -> builder.notEqual(root.get(attribute), value));
         }
         return ghost();
     }
@@ -88,10 +98,12 @@ public class SpecificationFactory {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         final Object trimmedValue = stripToNull(value);
         if (noneAreNull(trimmedValue)) {
-            return (root, query, builder) -> builder.like(
-                    builder.lower(root.get(attribute).as(String.class)),
-                    toLowerCase(trimmedValue.toString())
-            );
+            final String lowerCaseValue = toLowerCase(trimmedValue.toString());
+            return new AttributeSpecification<>(SpecificationOperator.LIKE, attribute, List.of(lowerCaseValue),
+                    (root, query, builder) -> builder.like(
+                            builder.lower(root.get(attribute).as(String.class)),
+                            lowerCaseValue
+                    ));
         }
         return ghost();
     }
@@ -113,10 +125,12 @@ public class SpecificationFactory {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         final Object trimmedValue = stripToNull(value);
         if (noneAreNull(trimmedValue)) {
-            return (root, query, builder) -> builder.notLike(
-                    builder.lower(root.get(attribute).as(String.class)),
-                    toLowerCase(trimmedValue.toString())
-            );
+            final String lowerCaseValue = toLowerCase(trimmedValue.toString());
+            return new AttributeSpecification<>(SpecificationOperator.NOT_LIKE, attribute, List.of(lowerCaseValue),
+                    (root, query, builder) -> builder.notLike(
+                            builder.lower(root.get(attribute).as(String.class)),
+                            lowerCaseValue
+                    ));
         }
         return ghost();
     }
@@ -155,7 +169,8 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> isNull(final SingularAttribute<T, ?> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> builder.isNull(root.get(attribute));
+        return new AttributeSpecification<>(SpecificationOperator.IS_NULL, attribute, List.of(),
+                (root, query, builder) -> builder.isNull(root.get(attribute)));
     }
 
     /**
@@ -170,7 +185,8 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> isNotNull(final SingularAttribute<T, ?> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> builder.isNotNull(root.get(attribute));
+        return new AttributeSpecification<>(SpecificationOperator.IS_NOT_NULL, attribute, List.of(),
+                (root, query, builder) -> builder.isNotNull(root.get(attribute)));
     }
 
     /**
@@ -187,7 +203,8 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> isTrue(final SingularAttribute<T, Boolean> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> builder.isTrue(root.get(attribute).as(Boolean.class));
+        return new AttributeSpecification<>(SpecificationOperator.IS_TRUE, attribute, List.of(),
+                (root, query, builder) -> builder.isTrue(root.get(attribute).as(Boolean.class)));
     }
 
     /**
@@ -204,7 +221,8 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> isFalse(final SingularAttribute<T, Boolean> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> builder.isFalse(root.get(attribute).as(Boolean.class));
+        return new AttributeSpecification<>(SpecificationOperator.IS_FALSE, attribute, List.of(),
+                (root, query, builder) -> builder.isFalse(root.get(attribute).as(Boolean.class)));
     }
 
     /**
@@ -224,7 +242,8 @@ public class SpecificationFactory {
                                                                                       final V value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.greaterThan(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.GREATER_THAN, attribute, List.of(value),
+                    (root, query, builder) -> builder.greaterThan(root.get(attribute), value));
         }
         return ghost();
     }
@@ -247,7 +266,8 @@ public class SpecificationFactory {
                                                                                                final V value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.GREATER_THAN_OR_EQUAL_TO, attribute, List.of(value),
+                    (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(attribute), value));
         }
         return ghost();
     }
@@ -269,7 +289,8 @@ public class SpecificationFactory {
                                                                                    final V value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.lessThan(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.LESS_THAN, attribute, List.of(value),
+                    (root, query, builder) -> builder.lessThan(root.get(attribute), value));
         }
         return ghost();
     }
@@ -292,7 +313,8 @@ public class SpecificationFactory {
                                                                                             final V value) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(value)) {
-            return (root, query, builder) -> builder.lessThanOrEqualTo(root.get(attribute), value);
+            return new AttributeSpecification<>(SpecificationOperator.LESS_THAN_OR_EQUAL_TO, attribute, List.of(value),
+                    (root, query, builder) -> builder.lessThanOrEqualTo(root.get(attribute), value));
         }
         return ghost();
     }
@@ -320,7 +342,8 @@ public class SpecificationFactory {
                                                                                   final V secondValue) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(firstValue, secondValue)) {
-            return (root, query, builder) -> builder.between(root.get(attribute), firstValue, secondValue);
+            return new AttributeSpecification<>(SpecificationOperator.BETWEEN, attribute, List.of(firstValue, secondValue),
+                    (root, query, builder) -> builder.between(root.get(attribute), firstValue, secondValue));
         }
         return ghost();
     }
@@ -342,7 +365,9 @@ public class SpecificationFactory {
                                             final Collection<?> collection) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
         if (noneAreNull(collection) && !collection.isEmpty()) {
-            return (root, query, builder) -> root.get(attribute).in(collection);
+            return new AttributeSpecification<>(SpecificationOperator.IN, attribute,
+                    List.of(Collections.unmodifiableSet(new HashSet<>(collection))),
+                    (root, query, builder) -> root.get(attribute).in(collection));
         }
         return ghost();
     }
@@ -372,6 +397,12 @@ public class SpecificationFactory {
      * in order to fetch it eagerly as part of the SQL query.
      * A useful optimization technique to fetch an entire
      * Aggregate with one query instead of many.
+     * <p>
+     * When the query does not select the Aggregate Root
+     * itself (a count, exists or projection query, for
+     * example) there is nothing to fetch into, so a plain
+     * join is defined instead, which keeps the same rows
+     * in the result without fetching any columns.
      *
      * @param attribute The singular association to fetch.
      * @return A Specification with a Predicate that defines
@@ -381,10 +412,15 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> fetchOf(final SingularAttribute<T, ?> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> {
-            root.fetch(attribute, JoinType.INNER);
-            return builder.conjunction();
-        };
+        return new AttributeSpecification<>(SpecificationOperator.FETCH, attribute, List.of(),
+                (root, query, builder) -> {
+                    if (selectsRoot(root, query)) {
+                        root.fetch(attribute, JoinType.INNER);
+                    } else {
+                        root.join(attribute, JoinType.INNER);
+                    }
+                    return builder.conjunction();
+                });
     }
 
     /**
@@ -392,6 +428,13 @@ public class SpecificationFactory {
      * in order to fetch it eagerly as part of the SQL query.
      * A useful optimization technique to fetch an entire
      * Aggregate with one query instead of many.
+     * <p>
+     * When the query does not select the Aggregate Root
+     * itself (a count, exists or projection query, for
+     * example) there is nothing to fetch into, so an exists
+     * subquery on the collection is defined instead, which
+     * keeps the same rows in the result without multiplying
+     * them by the collection or making the query distinct.
      *
      * @param attribute The collection association to fetch.
      * @return A Specification with a Predicate that defines
@@ -401,10 +444,16 @@ public class SpecificationFactory {
      */
     public static <T> Specification<T> fetchOf(final PluralAttribute<T, ?, ?> attribute) {
         Objects.requireNonNull(attribute, ATTRIBUTE_CANNOT_BE_NULL);
-        return (root, query, builder) -> {
-            root.fetch(attribute, JoinType.INNER);
-            return builder.conjunction();
-        };
+        return new AttributeSpecification<>(SpecificationOperator.FETCH, attribute, List.of(),
+                (root, query, builder) -> {
+                    if (!selectsRoot(root, query)) {
+                        final Subquery<Integer> subquery = query.subquery(Integer.class);
+                        subquery.correlate(root).join(attribute.getName(), JoinType.INNER);
+                        return builder.exists(subquery.select(builder.literal(1)));
+                    }
+                    root.fetch(attribute, JoinType.INNER);
+                    return builder.conjunction();
+                });
     }
 
     /**
@@ -417,6 +466,23 @@ public class SpecificationFactory {
      * @param <T> The Aggregate Root of the Specification.
      */
     public static <T> Specification<T> ghost() {
-        return (root, query, builder) -> null;
+        return new AttributeSpecification<>(SpecificationOperator.GHOST, null, List.of(),
+                (root, query, builder) -> null);
+    }
+
+    /**
+     * Returns true if the given query selects the given Root,
+     * meaning that associations of the Root can be fetched.
+     * Count, exists and projection queries select something
+     * else, and Hibernate rejects fetches in those queries.
+     *
+     * @param root The Root of the query.
+     * @param query The query to check.
+     * @return Boolean indicating whether the query selects
+     *         the Root.
+     */
+    private static boolean selectsRoot(final Root<?> root,
+                                       final CriteriaQuery<?> query) {
+        return query == null || root.getJavaType().equals(query.getResultType());
     }
 }
@@ -0,0 +1,122 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import jakarta.persistence.metamodel.Attribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Identifies a Specification by what it does rather than by instance.
+ * The shape describes the operators, attributes and composition of the
+ * Specification, and the values are the values it compares with, in
+ * order. Two Specifications with equal fingerprints match the same rows,
+ * so the fingerprint can key a cache of their results, while the shape
+ * alone identifies every execution of the same query with other values.
+ * <p>
+ * Only Specifications built from {@link SpecificationFactory} and
+ * composed by {@link SpecificationBuilder} can be fingerprinted, since
+ * other Specifications are opaque.
+ *
+ * @param shape The operators, attributes and composition.
+ * @param values The values compared with, in order.
+ * @param attributes The attributes read.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationFingerprint(String shape,
+                                       List<Object> values,
+                                       Set<Attribute<?, ?>> attributes) {
+
+    /**
+     * The shape of a null Specification, which matches every row.
+     */
+    public static final String EVERY_ROW = "*";
+
+    /**
+     * Creates a new SpecificationFingerprint.
+     *
+     * @param shape The operators, attributes and composition.
+     * @param values The values compared with, in order.
+     * @param attributes The attributes read.
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationFingerprint {
+        Objects.requireNonNull(shape, "Argument 'shape' cannot be null.");
+        values = Collections.unmodifiableList(new ArrayList<>(
+                Objects.requireNonNull(values, "Argument 'values' cannot be null.")));
+        attributes = Collections.unmodifiableSet(new LinkedHashSet<>(
+                Objects.requireNonNull(attributes, "Argument 'attributes' cannot be null.")));
+    }
+
+    /**
+     * Returns the fingerprint of the given Specification, or nothing if
+     * the Specification, or any part of it, is opaque. Hints do not
+     * change which rows match, so they are not part of the fingerprint.
+     *
+     * @param specification The Specification to fingerprint, can be null.
+     * @return The fingerprint of the given Specification, if any.
+     */
+    public static Optional<SpecificationFingerprint> of(final Specification<?> specification) {
+        final StringBuilder shape = new StringBuilder();
+        final List<Object> values = new ArrayList<>();
+        final Set<Attribute<?, ?>> attributes = new LinkedHashSet<>();
+        if (!describe(specification, shape, values, attributes)) {
+            return Optional.empty();
+        }
+        return Optional.of(new SpecificationFingerprint(shape.toString(), values, attributes));
+    }
+
+    /**
+     * Appends the description of the given Specification to the given
+     * shape, values and attributes. Returns false if the Specification
+     * is opaque.
+     */
+    private static boolean describe(final Specification<?> specification,
+                                    final StringBuilder shape,
+                                    final List<Object> values,
+                                    final Set<Attribute<?, ?>> attributes) {
+        if (specification == null) {
+            shape.append(EVERY_ROW);
+            return true;
+        }
+        if (specification instanceof HintedSpecification<?> hinted) {
+            return describe(hinted.getDelegate(), shape, values, attributes);
+        }
+        if (specification instanceof CompositeSpecification<?> composite) {
+            shape.append(composite.getConnective()).append('(');
+            if (!describe(composite.getLeft(), shape, values, attributes)) {
+                return false;
+            }
+            shape.append(", ");
+            if (!describe(composite.getRight(), shape, values, attributes)) {
+                return false;
+            }
+            shape.append(')');
+            return true;
+        }
+        if (specification instanceof AttributeSpecification<?> leaf) {
+            shape.append(leaf.getOperator());
+            if (leaf.getAttribute() != null) {
+                shape.append('(').append(nameOf(leaf.getAttribute())).append(')');
+                attributes.add(leaf.getAttribute());
+            }
+            values.addAll(leaf.getValues());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name of the given attribute qualified by the name
+     * of the type declaring it.
+     */
+    private static String nameOf(final Attribute<?, ?> attribute) {
+        return attribute.getDeclaringType().getJavaType().getSimpleName() + "." + attribute.getName();
+    }
+}
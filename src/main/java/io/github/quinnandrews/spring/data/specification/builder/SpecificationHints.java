@@ -0,0 +1,282 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Immutable set of hints on how the query of a Specification should be
+ * executed, carried alongside the Specification by a
+ * {@link HintedSpecification}. The hints do not change which rows match,
+ * only how they are read, and are applied to the query by the executing
+ * Repository. Serializable, so that a {@link HintedSpecification} is as
+ * serializable as the Specification it wraps.
+ *
+ * @author Quinn Andrews
+ */
+public final class SpecificationHints implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final SpecificationHints NONE = new SpecificationHints(false, null, null, false, null, false);
+
+    private final boolean readOnly;
+    private final Integer fetchSize;
+    private final Duration timeout;
+    private final boolean cacheable;
+    private final String comment;
+    private final boolean resultCacheBypassed;
+
+    /**
+     * Private Constructor, since instances are derived from none().
+     */
+    private SpecificationHints(final boolean readOnly,
+                               final Integer fetchSize,
+                               final Duration timeout,
+                               final boolean cacheable,
+                               final String comment,
+                               final boolean resultCacheBypassed) {
+        this.readOnly = readOnly;
+        this.fetchSize = fetchSize;
+        this.timeout = timeout;
+        this.cacheable = cacheable;
+        this.comment = comment;
+        this.resultCacheBypassed = resultCacheBypassed;
+    }
+
+    /**
+     * Returns an empty set of hints.
+     *
+     * @return An empty set of hints.
+     */
+    public static SpecificationHints none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the hints carried by the given Specification, or an empty
+     * set of hints if it carries none.
+     *
+     * @param specification The Specification to return the hints of,
+     *                      can be null.
+     * @return The hints of the given Specification.
+     */
+    public static SpecificationHints of(final Specification<?> specification) {
+        return specification instanceof HintedSpecification<?> hinted ? hinted.getHints() : NONE;
+    }
+
+    /**
+     * Returns whether the Entities read should be loaded read-only, that
+     * is without snapshots for dirty checking, and without flushing the
+     * persistence context before the query.
+     *
+     * @return Whether the Entities read should be loaded read-only.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Returns the number of rows the JDBC driver should read from the
+     * database at a time, if set.
+     *
+     * @return The JDBC fetch size, if set.
+     */
+    public Optional<Integer> getFetchSize() {
+        return Optional.ofNullable(fetchSize);
+    }
+
+    /**
+     * Returns how long the query may run before the statement is
+     * cancelled, if set.
+     *
+     * @return The query timeout, if set.
+     */
+    public Optional<Duration> getTimeout() {
+        return Optional.ofNullable(timeout);
+    }
+
+    /**
+     * Returns the query timeout in whole seconds, the precision of
+     * JDBC, rounded up so that a timeout shorter than a second still
+     * cancels the statement rather than disabling the timeout.
+     *
+     * @return The query timeout in seconds, if set.
+     */
+    public OptionalInt getTimeoutSeconds() {
+        if (timeout == null) {
+            return OptionalInt.empty();
+        }
+        final long millis = timeout.toMillis();
+        return OptionalInt.of(Math.toIntExact(Math.max(1, (millis / 1000) + (millis % 1000 == 0 ? 0 : 1))));
+    }
+
+    /**
+     * Returns whether the results may be read from, and written to,
+     * the Hibernate query cache.
+     *
+     * @return Whether the query is cacheable.
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * Returns the comment to prefix the SQL statement with, if set.
+     * Rendered only when {@code hibernate.use_sql_comments} is enabled.
+     *
+     * @return The SQL comment, if set.
+     */
+    public Optional<String> getComment() {
+        return Optional.ofNullable(comment);
+    }
+
+    /**
+     * Returns whether an application-level result cache should be
+     * bypassed, neither reading nor writing cached results. Unrelated
+     * to the Hibernate query cache.
+     *
+     * @return Whether the result cache should be bypassed.
+     */
+    public boolean isResultCacheBypassed() {
+        return resultCacheBypassed;
+    }
+
+    /**
+     * Returns a copy of these hints that loads the Entities read-only.
+     *
+     * @return A copy of these hints with read-only set.
+     */
+    public SpecificationHints withReadOnly() {
+        return new SpecificationHints(true, fetchSize, timeout, cacheable, comment, resultCacheBypassed);
+    }
+
+    /**
+     * Returns a copy of these hints with the given JDBC fetch size.
+     *
+     * @param fetchSize The number of rows to read at a time.
+     * @return A copy of these hints with the fetch size set.
+     * @throws IllegalArgumentException if the given fetchSize is less
+     *                                  than one.
+     */
+    public SpecificationHints withFetchSize(final int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Argument 'fetchSize' must be greater than zero.");
+        }
+        return new SpecificationHints(readOnly, fetchSize, timeout, cacheable, comment, resultCacheBypassed);
+    }
+
+    /**
+     * Returns a copy of these hints with the given query timeout.
+     * JDBC cancels statements with a precision of seconds, so the
+     * timeout is rounded up to whole seconds when applied.
+     *
+     * @param timeout How long the query may run.
+     * @return A copy of these hints with the timeout set.
+     * @throws NullPointerException if the given timeout is null.
+     * @throws IllegalArgumentException if the given timeout is shorter
+     *                                  than one millisecond.
+     */
+    public SpecificationHints withTimeout(final Duration timeout) {
+        Objects.requireNonNull(timeout, "Argument 'timeout' cannot be null.");
+        if (timeout.toMillis() < 1) {
+            throw new IllegalArgumentException("Argument 'timeout' must be at least one millisecond.");
+        }
+        return new SpecificationHints(readOnly, fetchSize, timeout, cacheable, comment, resultCacheBypassed);
+    }
+
+    /**
+     * Returns a copy of these hints that marks the query cacheable.
+     *
+     * @return A copy of these hints with cacheable set.
+     */
+    public SpecificationHints withCacheable() {
+        return new SpecificationHints(readOnly, fetchSize, timeout, true, comment, resultCacheBypassed);
+    }
+
+    /**
+     * Returns a copy of these hints with the given SQL comment.
+     *
+     * @param comment The comment to prefix the SQL statement with.
+     * @return A copy of these hints with the comment set.
+     * @throws NullPointerException if the given comment is null.
+     */
+    public SpecificationHints withComment(final String comment) {
+        Objects.requireNonNull(comment, "Argument 'comment' cannot be null.");
+        return new SpecificationHints(readOnly, fetchSize, timeout, cacheable, comment, resultCacheBypassed);
+    }
+
+    /**
+     * Returns a copy of these hints that bypasses an application-level
+     * result cache.
+     *
+     * @return A copy of these hints with the result cache bypassed.
+     */
+    public SpecificationHints withResultCacheBypassed() {
+        return new SpecificationHints(readOnly, fetchSize, timeout, cacheable, comment, true);
+    }
+
+    /**
+     * Returns whether no hints are set.
+     *
+     * @return Whether no hints are set.
+     */
+    public boolean isEmpty() {
+        return equals(NONE);
+    }
+
+    /**
+     * Returns the union of these hints and the given hints, where the
+     * given hints win whenever both set the same hint.
+     *
+     * @param other The hints to merge with these.
+     * @return The merged hints.
+     * @throws NullPointerException if the given hints are null.
+     */
+    public SpecificationHints merge(final SpecificationHints other) {
+        Objects.requireNonNull(other, "Argument 'other' cannot be null.");
+        return new SpecificationHints(
+                readOnly || other.readOnly,
+                other.fetchSize != null ? other.fetchSize : fetchSize,
+                other.timeout != null ? other.timeout : timeout,
+                cacheable || other.cacheable,
+                other.comment != null ? other.comment : comment,
+                resultCacheBypassed || other.resultCacheBypassed
+        );
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof SpecificationHints that
+                && readOnly == that.readOnly
+                && cacheable == that.cacheable
+                && Objects.equals(fetchSize, that.fetchSize)
+                && Objects.equals(timeout, that.timeout)
+                && Objects.equals(comment, that.comment)
+                && resultCacheBypassed == that.resultCacheBypassed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(readOnly, fetchSize, timeout, cacheable, comment, resultCacheBypassed);
+    }
+
+    @Override
+    public String toString() {
+        return "SpecificationHints{readOnly=" + readOnly
+                + ", fetchSize=" + fetchSize
+                + ", timeout=" + timeout
+                + ", cacheable=" + cacheable
+                + ", comment=" + comment
+                + ", resultCacheBypassed=" + resultCacheBypassed + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+/**
+ * The operators of the Specifications generated by
+ * {@link SpecificationFactory}, each corresponding to a SQL clause.
+ *
+ * @author Quinn Andrews
+ */
+public enum SpecificationOperator {
+
+    /**
+     * SQL equals clause, with one value.
+     */
+    EQUAL_TO,
+
+    /**
+     * SQL not equals clause, with one value.
+     */
+    NOT_EQUAL_TO,
+
+    /**
+     * Case-insensitive SQL like clause, with one lower case value.
+     */
+    LIKE,
+
+    /**
+     * Case-insensitive SQL not like clause, with one lower case value.
+     */
+    NOT_LIKE,
+
+    /**
+     * SQL is null clause, without values.
+     */
+    IS_NULL,
+
+    /**
+     * SQL is not null clause, without values.
+     */
+    IS_NOT_NULL,
+
+    /**
+     * SQL is true clause, without values.
+     */
+    IS_TRUE,
+
+    /**
+     * SQL is false clause, without values.
+     */
+    IS_FALSE,
+
+    /**
+     * SQL greater than clause, with one value.
+     */
+    GREATER_THAN,
+
+    /**
+     * SQL greater than or equal to clause, with one value.
+     */
+    GREATER_THAN_OR_EQUAL_TO,
+
+    /**
+     * SQL less than clause, with one value.
+     */
+    LESS_THAN,
+
+    /**
+     * SQL less than or equal to clause, with one value.
+     */
+    LESS_THAN_OR_EQUAL_TO,
+
+    /**
+     * SQL between clause, with a lower and an upper value.
+     */
+    BETWEEN,
+
+    /**
+     * SQL in clause, with one value that is the Set of values.
+     */
+    IN,
+
+    /**
+     * Inner join fetch of an association, without values.
+     */
+    FETCH,
+
+    /**
+     * No-op, without an attribute or values.
+     */
+    GHOST
+}
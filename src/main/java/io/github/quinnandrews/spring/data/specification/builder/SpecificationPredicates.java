@@ -0,0 +1,329 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.IdentifiableType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles Specifications built from {@link SpecificationFactory} and
+ * {@link SpecificationBuilder} into Java Predicates, so that Entities
+ * already in memory can be filtered by the same rules as the database
+ * filters rows. Attributes are read through MethodHandles created once
+ * per attribute.
+ * <p>
+ * Evaluation follows SQL semantics rather than Java's: a comparison with
+ * a null attribute is unknown, which filters out the Entity just as a
+ * where clause does, LIKE is case-insensitive with '%', '_' and
+ * backslash escapes, BETWEEN is inclusive, numbers of different types
+ * compare by value, associations compare by identifier and a fetch, an
+ * inner join, requires the association to be present. Ghosts are left
+ * out of a composition, as they are from the query.
+ * <p>
+ * Attributes are read directly, so Entities must be initialized rather
+ * than uninitialized proxies, and associations that are fetched must be
+ * loaded.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationPredicates {
+
+    private static final Map<Member, Function<Object, Object>> ACCESSORS = new ConcurrentHashMap<>();
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private SpecificationPredicates() {
+        // no-op
+    }
+
+    /**
+     * Returns a Predicate that matches the Entities the given
+     * Specification matches.
+     *
+     * @param specification The Specification to compile, can be null
+     *                      to match every Entity.
+     * @return A Predicate that matches the same Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws IllegalArgumentException if the Specification, or any part
+     *                                  of it, was not built from
+     *                                  SpecificationFactory.
+     */
+    public static <T> Predicate<T> compile(final Specification<T> specification) {
+        final Predicate<T> predicate = compileNullable(specification);
+        return predicate == null ? entity -> true : predicate;
+    }
+
+    /**
+     * Returns a Predicate equivalent to the given Specification, or null
+     * where the Specification renders a null Predicate.
+     */
+    private static <T> Predicate<T> compileNullable(final Specification<T> specification) {
+        if (specification == null) {
+            return null;
+        }
+        if (specification instanceof HintedSpecification<T> hinted) {
+            return compileNullable(hinted.getDelegate());
+        }
+        if (specification instanceof CompositeSpecification<T> composite) {
+            final Predicate<T> left = compileNullable(composite.getLeft());
+            final Predicate<T> right = compileNullable(composite.getRight());
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            return composite.getConnective() == CompositeSpecification.Connective.AND ? left.and(right) : left.or(right);
+        }
+        if (specification instanceof AttributeSpecification<T> leaf) {
+            return compileLeaf(leaf);
+        }
+        throw new IllegalArgumentException("Specification '" + specification
+                + "' was not built from SpecificationFactory and cannot be compiled.");
+    }
+
+    /**
+     * Returns a Predicate equivalent to the given leaf, or null for a
+     * ghost.
+     */
+    private static <T> Predicate<T> compileLeaf(final AttributeSpecification<T> leaf) {
+        if (leaf.getOperator() == SpecificationOperator.GHOST) {
+            return null;
+        }
+        final Function<Object, Object> accessor = accessorOf(leaf.getAttribute());
+        final Function<Object, Object> comparable = comparableOf(leaf.getAttribute());
+        final Predicate<Object> test = compileValueTest(leaf);
+        final boolean readsComparable = leaf.getOperator() != SpecificationOperator.FETCH;
+        return entity -> {
+            final Object value = accessor.apply(entity);
+            return test.test(readsComparable && value != null ? comparable.apply(value) : value);
+        };
+    }
+
+    /**
+     * Returns a Predicate that tests a value of the attribute of the given
+     * leaf, as SQL compares it, against the operator and values of the
+     * leaf: the identifier of an associated Entity, or the value itself.
+     * The value of a fetched association is the association itself.
+     *
+     * @param leaf The leaf to compile, cannot be a ghost.
+     * @return A Predicate that tests a value of the attribute of the leaf.
+     * @throws NullPointerException if the given leaf is null.
+     * @throws IllegalArgumentException if the given leaf is a ghost.
+     */
+    public static Predicate<Object> compileValueTest(final AttributeSpecification<?> leaf) {
+        Objects.requireNonNull(leaf, "Argument 'leaf' cannot be null.");
+        if (leaf.getOperator() == SpecificationOperator.GHOST) {
+            throw new IllegalArgumentException("A ghost has no attribute to test.");
+        }
+        final Function<Object, Object> comparable = comparableOf(leaf.getAttribute());
+        final List<Object> values = leaf.getValues().stream()
+                .map(value -> value instanceof Collection<?> ? value : comparable.apply(value))
+                .toList();
+        return switch (leaf.getOperator()) {
+            case EQUAL_TO -> value -> value != null && isEqual(value, values.get(0));
+            case NOT_EQUAL_TO -> value -> value != null && !isEqual(value, values.get(0));
+            case LIKE -> {
+                final Pattern pattern = toPattern((String) values.get(0));
+                yield value -> value != null && pattern.matcher(SpecificationUtil.toLowerCase(value.toString())).matches();
+            }
+            case NOT_LIKE -> {
+                final Pattern pattern = toPattern((String) values.get(0));
+                yield value -> value != null && !pattern.matcher(SpecificationUtil.toLowerCase(value.toString())).matches();
+            }
+            case IS_NULL -> Objects::isNull;
+            case IS_NOT_NULL -> Objects::nonNull;
+            case IS_TRUE -> Boolean.TRUE::equals;
+            case IS_FALSE -> Boolean.FALSE::equals;
+            case GREATER_THAN -> value -> value != null && compare(value, values.get(0)) > 0;
+            case GREATER_THAN_OR_EQUAL_TO -> value -> value != null && compare(value, values.get(0)) >= 0;
+            case LESS_THAN -> value -> value != null && compare(value, values.get(0)) < 0;
+            case LESS_THAN_OR_EQUAL_TO -> value -> value != null && compare(value, values.get(0)) <= 0;
+            case BETWEEN -> value -> value != null
+                    && compare(value, values.get(0)) >= 0 && compare(value, values.get(1)) <= 0;
+            case IN -> {
+                final List<Object> candidates = ((Collection<?>) values.get(0)).stream()
+                        .filter(Objects::nonNull)
+                        .map(comparable)
+                        .toList();
+                yield compileIn(candidates);
+            }
+            case FETCH -> value -> value != null && !(value instanceof Collection<?> collection && collection.isEmpty());
+            case GHOST -> throw new IllegalStateException("Unreachable.");
+        };
+    }
+
+    /**
+     * Returns a Predicate that tests whether a value is equal to any of the
+     * given candidates. Where the candidates are all of one type other than
+     * BigDecimal, values of that type are looked up in a HashSet, while
+     * BigDecimals and numbers of other types are compared by value with
+     * each candidate in turn.
+     */
+    private static Predicate<Object> compileIn(final List<Object> candidates) {
+        final Set<Class<?>> types = candidates.stream()
+                .map(Object::getClass)
+                .collect(Collectors.toSet());
+        if (types.size() == 1 && !types.contains(BigDecimal.class)) {
+            final Class<?> type = types.iterator().next();
+            final Set<Object> hashed = new HashSet<>(candidates);
+            return value -> value != null
+                    && (value.getClass() == type ? hashed.contains(value) : isEqualToAny(value, candidates));
+        }
+        return value -> value != null && isEqualToAny(value, candidates);
+    }
+
+    /**
+     * Returns true if the given value is equal to any of the given
+     * candidates, comparing numbers by value.
+     */
+    private static boolean isEqualToAny(final Object value,
+                                        final List<Object> candidates) {
+        for (final Object candidate : candidates) {
+            if (isEqual(value, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a Function that reads the given attribute of an Entity
+     * through a MethodHandle, created once per attribute.
+     */
+    private static Function<Object, Object> accessorOf(final Attribute<?, ?> attribute) {
+        return ACCESSORS.computeIfAbsent(attribute.getJavaMember(), SpecificationPredicates::createAccessor);
+    }
+
+    /**
+     * Returns a Function that reads the given field or getter through a
+     * MethodHandle.
+     */
+    private static Function<Object, Object> createAccessor(final Member member) {
+        final MethodHandle handle;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    member.getDeclaringClass(), MethodHandles.lookup());
+            if (member instanceof Field field) {
+                handle = lookup.unreflectGetter(field);
+            } else if (member instanceof Method method) {
+                handle = lookup.unreflect(method);
+            } else {
+                throw new IllegalArgumentException("Member '" + member + "' cannot be read.");
+            }
+        } catch (final IllegalAccessException e) {
+            throw new IllegalArgumentException("Member '" + member + "' cannot be read.", e);
+        }
+        final MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return entity -> {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    /**
+     * Returns a Function that converts values of the given attribute to
+     * what SQL compares: the identifier of an associated Entity, or the
+     * value itself.
+     */
+    private static Function<Object, Object> comparableOf(final Attribute<?, ?> attribute) {
+        if (attribute instanceof SingularAttribute<?, ?> singular
+                && singular.getType() instanceof IdentifiableType<?> identifiable
+                && identifiable.hasSingleIdAttribute()) {
+            final Function<Object, Object> identifier = accessorOf(identifiable.getId(identifiable.getIdType().getJavaType()));
+            return value -> singular.getJavaType().isInstance(value) ? identifier.apply(value) : value;
+        }
+        return Function.identity();
+    }
+
+    /**
+     * Returns true if the given values are equal, comparing BigDecimals and
+     * numbers of different types by value, so 1.0 equals 1.00 as it does in
+     * SQL.
+     */
+    private static boolean isEqual(final Object value,
+                                   final Object other) {
+        if (isComparedByValue(value, other)) {
+            return toBigDecimal(value).compareTo(toBigDecimal(other)) == 0;
+        }
+        return value.equals(other);
+    }
+
+    /**
+     * Compares the given values, comparing BigDecimals and numbers of
+     * different types by value.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(final Object value,
+                               final Object other) {
+        if (isComparedByValue(value, other)) {
+            return toBigDecimal(value).compareTo(toBigDecimal(other));
+        }
+        return ((Comparable) value).compareTo(other);
+    }
+
+    /**
+     * Returns true if the given values are numbers to compare by value
+     * rather than with equals, because one of them is a BigDecimal, whose
+     * equals also compares scale, or because their types differ.
+     */
+    private static boolean isComparedByValue(final Object value,
+                                             final Object other) {
+        return value instanceof Number && other instanceof Number
+                && (value instanceof BigDecimal || other instanceof BigDecimal || value.getClass() != other.getClass());
+    }
+
+    /**
+     * Converts the given Number to a BigDecimal.
+     */
+    private static BigDecimal toBigDecimal(final Object number) {
+        return number instanceof BigDecimal bigDecimal ? bigDecimal : new BigDecimal(number.toString());
+    }
+
+    /**
+     * Converts the given SQL LIKE pattern, whose escape character is a
+     * backslash, to a regular expression.
+     */
+    private static Pattern toPattern(final String like) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            final char c = like.charAt(i);
+            if (c == '\\' && i + 1 < like.length()) {
+                regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
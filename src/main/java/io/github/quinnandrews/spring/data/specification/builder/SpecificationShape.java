@@ -0,0 +1,94 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Objects;
+
+/**
+ * Describes the structure of a Specification without its values: the
+ * shape of its {@link SpecificationFingerprint}, and how many filtering
+ * predicates, ghosts and fetches it is built from. Specifications with
+ * the same shape differ only in their values, so the number of distinct
+ * shapes is bounded by the code that builds them, which makes the shape
+ * suitable to group metrics and traces by.
+ *
+ * @param fingerprint The shape of the fingerprint, or {@link #OPAQUE} if
+ *                    the Specification cannot be fingerprinted.
+ * @param predicateCount The number of filtering predicates.
+ * @param ghostCount The number of ghosts, filters skipped for want of a
+ *                   value.
+ * @param fetchCount The number of fetches.
+ * @param opaqueCount The number of parts not built from
+ *                    SpecificationFactory, whose predicates are unknown.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationShape(String fingerprint,
+                                 int predicateCount,
+                                 int ghostCount,
+                                 int fetchCount,
+                                 int opaqueCount) {
+
+    /**
+     * The fingerprint of a Specification that cannot be fingerprinted.
+     */
+    public static final String OPAQUE = "OPAQUE";
+
+    /**
+     * Creates a new SpecificationShape.
+     *
+     * @throws NullPointerException if the given fingerprint is null.
+     */
+    public SpecificationShape {
+        Objects.requireNonNull(fingerprint, "Argument 'fingerprint' cannot be null.");
+    }
+
+    /**
+     * Returns the shape of the given Specification.
+     *
+     * @param specification The Specification to describe, can be null.
+     * @return The shape of the given Specification.
+     */
+    public static SpecificationShape of(final Specification<?> specification) {
+        final int[] counts = new int[4];
+        count(specification, counts);
+        return new SpecificationShape(
+                SpecificationFingerprint.of(specification).map(SpecificationFingerprint::shape).orElse(OPAQUE),
+                counts[0], counts[1], counts[2], counts[3]
+        );
+    }
+
+    /**
+     * Returns true if the Specification fetches any association.
+     *
+     * @return True if there are any fetches.
+     */
+    public boolean hasFetches() {
+        return fetchCount > 0;
+    }
+
+    /**
+     * Adds the predicates, ghosts, fetches and opaque parts of the given
+     * Specification to the given counts, in that order.
+     */
+    private static void count(final Specification<?> specification,
+                              final int[] counts) {
+        if (specification == null) {
+            return;
+        }
+        if (specification instanceof HintedSpecification<?> hinted) {
+            count(hinted.getDelegate(), counts);
+        } else if (specification instanceof CompositeSpecification<?> composite) {
+            count(composite.getLeft(), counts);
+            count(composite.getRight(), counts);
+        } else if (specification instanceof AttributeSpecification<?> leaf) {
+            switch (leaf.getOperator()) {
+                case GHOST -> counts[1]++;
+                case FETCH -> counts[2]++;
+                default -> counts[0]++;
+            }
+        } else {
+            counts[3]++;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationFingerprint;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationHints;
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationProjection;
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Executes Specification queries through a {@link SpecificationResultCache},
+ * keyed by the fingerprint of the Specification together with the kind of
+ * query and its Sort, Pageable or projection.
+ * <p>
+ * Results are loaded in a read-only transaction of their own, so Entities
+ * are detached by the time they are cached and returned. Fetch whatever
+ * associations are needed with {@code fetchOf()}, since lazy associations
+ * cannot be initialized afterwards, and treat the Entities as read-only,
+ * since they are shared with every caller. Records selected with a
+ * {@link SpecificationProjection} are the better fit.
+ * <p>
+ * Specifications that cannot be fingerprinted, and Specifications built
+ * with {@code bypassResultCache()}, are executed without the cache.
+ * Register a {@link SpecificationCacheInvalidator} to invalidate cached
+ * results as soon as a change to the Entities they were read from commits.
+ *
+ * @author Quinn Andrews
+ */
+public class CachingSpecificationExecutor {
+
+    private static final String DOMAIN_CLASS_CANNOT_BE_NULL = "Argument 'domainClass' cannot be null.";
+    private static final Set<Class<?>> NUMERIC_IDENTIFIER_TYPES = Set.of(
+            Long.class, long.class, Integer.class, int.class, Short.class, short.class);
+
+    /**
+     * The number of Entities loaded by identifier per query when
+     * loading a Page of cached identifiers.
+     */
+    public static final int HYDRATION_BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SpecificationResultCache cache;
+    private final SpecificationIds.Storage storage;
+    private final SpecificationQueryCoalescer coalescer;
+
+    /**
+     * Creates a new CachingSpecificationExecutor.
+     *
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction each result is loaded in.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction each result
+     *                           is loaded in with.
+     * @param cache The cache to read results from and write them to.
+     * @throws NullPointerException if any argument is null.
+     */
+    public CachingSpecificationExecutor(final EntityManager entityManager,
+                                        final PlatformTransactionManager transactionManager,
+                                        final SpecificationResultCache cache) {
+        this(entityManager, transactionManager, cache, SpecificationIds.Storage.HEAP);
+    }
+
+    /**
+     * Creates a new CachingSpecificationExecutor that stores the
+     * identifiers cached by findPage() in the given Storage.
+     *
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction each result is loaded in.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction each result
+     *                           is loaded in with.
+     * @param cache The cache to read results from and write them to.
+     * @param storage Where to store cached identifiers.
+     * @throws NullPointerException if any argument is null.
+     */
+    public CachingSpecificationExecutor(final EntityManager entityManager,
+                                        final PlatformTransactionManager transactionManager,
+                                        final SpecificationResultCache cache,
+                                        final SpecificationIds.Storage storage) {
+        this(entityManager, transactionManager, cache, storage, null);
+    }
+
+    /**
+     * Creates a new CachingSpecificationExecutor that stores the
+     * identifiers cached by findPage() in the given Storage, and loads
+     * each result through the given SpecificationQueryCoalescer, so
+     * that concurrent misses of the same key load it only once.
+     *
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction each result is loaded in.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction each result
+     *                           is loaded in with.
+     * @param cache The cache to read results from and write them to.
+     * @param storage Where to store cached identifiers.
+     * @param coalescer The coalescer to load results through, can be
+     *                  null to load every miss.
+     * @throws NullPointerException if any argument other than the
+     *                              coalescer is null.
+     */
+    public CachingSpecificationExecutor(final EntityManager entityManager,
+                                        final PlatformTransactionManager transactionManager,
+                                        final SpecificationResultCache cache,
+                                        final SpecificationIds.Storage storage,
+                                        final SpecificationQueryCoalescer coalescer) {
+        this.storage = Objects.requireNonNull(storage, "Argument 'storage' cannot be null.");
+        this.coalescer = coalescer;
+        this.entityManager = Objects.requireNonNull(entityManager, "Argument 'entityManager' cannot be null.");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "Argument 'transactionManager' cannot be null."));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.cache = Objects.requireNonNull(cache, "Argument 'cache' cannot be null.");
+    }
+
+    /**
+     * Returns the Entities matching the given Specification.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return An unmodifiable List of the matching Entities, detached.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or sort
+     *                              is null.
+     */
+    public <T> List<T> findAll(final Class<T> domainClass,
+                               final Specification<T> specification,
+                               final Sort sort) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        return execute(domainClass, specification, List.of("findAll", sort), true, Set.of(), entityManager ->
+                List.copyOf(SpecificationQueries.createQuery(entityManager, domainClass, specification, sort)
+                        .getResultList()));
+    }
+
+    /**
+     * Returns the given projection of the Entities matching the given
+     * Specification.
+     *
+     * @param projection The projection to select.
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return An unmodifiable List of the projection of the matching
+     *         Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @param <R> The Record Type of the projection.
+     * @throws NullPointerException if the given projection or sort is
+     *                              null.
+     */
+    public <T, R extends Record> List<R> findAll(final SpecificationProjection<T, R> projection,
+                                                 final Specification<T> specification,
+                                                 final Sort sort) {
+        Objects.requireNonNull(projection, "Argument 'projection' cannot be null.");
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        return execute(projection.getDomainClass(), specification,
+                List.of("findAll", projection.getRecordClass(), projection.getAttributes(), sort),
+                false, Set.copyOf(projection.getAttributes()),
+                entityManager -> List.copyOf(SpecificationQueries.createQuery(entityManager, projection,
+                        specification, sort).getResultList()));
+    }
+
+    /**
+     * Returns a Slice of the Entities matching the given Specification,
+     * without a count query.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param pageable The page to return, including its Sort.
+     * @return A Slice of the matching Entities, detached.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or pageable
+     *                              is null.
+     */
+    public <T> Slice<T> findSlice(final Class<T> domainClass,
+                                  final Specification<T> specification,
+                                  final Pageable pageable) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(pageable, "Argument 'pageable' cannot be null.");
+        return execute(domainClass, specification, List.of("findSlice", pageable), true, Set.of(), entityManager -> {
+            final Slice<T> slice = SpecificationQueries.readSlice(entityManager, domainClass, specification, pageable);
+            return new SliceImpl<>(List.copyOf(slice.getContent()), slice.getPageable(), slice.hasNext());
+        });
+    }
+
+    /**
+     * Returns a Page of the Entities matching the given Specification,
+     * caching only the ordered identifiers of every matching Entity as
+     * {@link SpecificationIds} rather than the Entities themselves. Each
+     * Page is then loaded by identifier, in batches, with the fetches of
+     * the Specification but without running its filter again, and the
+     * total is the number of identifiers, so no count query is needed.
+     * <p>
+     * Entities deleted since the identifiers were cached are left out of
+     * the Page. Requires a numeric identifier.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param pageable The page to return, including its Sort.
+     * @return A Page of the matching Entities, detached.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or pageable
+     *                              is null.
+     * @throws IllegalArgumentException if the Entity Class does not
+     *                                  have a single numeric identifier.
+     */
+    public <T> Page<T> findPage(final Class<T> domainClass,
+                                final Specification<T> specification,
+                                final Pageable pageable) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(pageable, "Argument 'pageable' cannot be null.");
+        final SingularAttribute<? super T, ?> identifier = numericIdentifierOf(domainClass);
+        final Sort sort = SpecificationQueries.withIdentifier(entityManager, domainClass, pageable.getSort());
+        final SpecificationIds ids = execute(domainClass, specification, List.of("findPage", sort), false,
+                selectionOf(domainClass, identifier, sort), entityManager ->
+                        SpecificationIds.of(readIds(entityManager, domainClass, identifier, specification, sort),
+                                storage));
+        final int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ids.size()) : 0;
+        final int to = pageable.isPaged() ? (int) Math.min(from + (long) pageable.getPageSize(), ids.size()) : ids.size();
+        final long[] pageIds = ids.toArray(from, to);
+        final List<T> content = pageIds.length == 0 ? List.of() : load(entityManager ->
+                readEntities(entityManager, domainClass, identifier, specification, pageIds));
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    /**
+     * Counts the Entities matching the given Specification.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @return The number of matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass is null.
+     */
+    public <T> long count(final Class<T> domainClass,
+                          final Specification<T> specification) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        return execute(domainClass, specification, List.of("count"), false, Set.of(), entityManager ->
+                SpecificationQueries.createCountQuery(entityManager, domainClass, specification).getSingleResult());
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return The statistics of the cache.
+     */
+    public SpecificationCacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the cached result of the given query, or loads it in a
+     * transaction of its own. Bypasses the cache when the Specification
+     * cannot be fingerprinted or is hinted to bypass it.
+     */
+    private <R> R execute(final Class<?> domainClass,
+                          final Specification<?> specification,
+                          final List<Object> arguments,
+                          final boolean selectsEntities,
+                          final Set<Attribute<?, ?>> selection,
+                          final Function<EntityManager, R> query) {
+        final Optional<SpecificationFingerprint> fingerprint = SpecificationFingerprint.of(specification);
+        if (fingerprint.isEmpty() || SpecificationHints.of(specification).isResultCacheBypassed()) {
+            cache.recordBypass();
+            return load(query);
+        }
+        final SpecificationCacheKey key = new SpecificationCacheKey(domainClass, fingerprint.get(), arguments,
+                selectsEntities, selection);
+        return cache.get(key, () -> coalescer == null ? load(query) : coalescer.execute(key, () -> load(query)));
+    }
+
+    /**
+     * Runs the given query in a read-only transaction of its own.
+     */
+    private <R> R load(final Function<EntityManager, R> query) {
+        return transactionTemplate.execute(status -> query.apply(entityManager));
+    }
+
+    /**
+     * Returns the identifier of the given Entity Class, which must be
+     * numeric to be stored as a long.
+     */
+    private <T> SingularAttribute<? super T, ?> numericIdentifierOf(final Class<T> domainClass) {
+        final SingularAttribute<? super T, ?> identifier = SpecificationQueries.identifierOf(entityManager, domainClass);
+        if (!NUMERIC_IDENTIFIER_TYPES.contains(identifier.getJavaType())) {
+            throw new IllegalArgumentException("Identifier of '" + domainClass.getName() + "' must be a Long, "
+                    + "Integer or Short to cache identifiers, but is a '" + identifier.getJavaType().getName() + "'.");
+        }
+        return identifier;
+    }
+
+    /**
+     * Returns the attributes the order of the identifiers depends on.
+     */
+    private <T> Set<Attribute<?, ?>> selectionOf(final Class<T> domainClass,
+                                                 final SingularAttribute<? super T, ?> identifier,
+                                                 final Sort sort) {
+        final EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        final Set<Attribute<?, ?>> selection = new LinkedHashSet<>();
+        selection.add(identifier);
+        sort.forEach(order -> selection.add(entityType.getAttribute(order.getProperty().split("\\.")[0])));
+        return selection;
+    }
+
+    /**
+     * Selects the identifiers of the Entities matching the given
+     * Specification, in the given order. The query is never distinct,
+     * since a distinct query cannot be ordered by columns it does not
+     * select, so identifiers repeated by a join are dropped here instead,
+     * keeping the first of each.
+     */
+    private static <T> long[] readIds(final EntityManager entityManager,
+                                      final Class<T> domainClass,
+                                      final SingularAttribute<? super T, ?> identifier,
+                                      final Specification<T> specification,
+                                      final Sort sort) {
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object> query = builder.createQuery(Object.class);
+        final Root<T> root = SpecificationQueries.applySpecification(specification, domainClass, query, builder);
+        query.select(root.get(identifier));
+        query.distinct(false);
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        try (Stream<Object> ids = SpecificationQueries.applyHints(entityManager.createQuery(query), specification)
+                .getResultStream()) {
+            return ids.mapToLong(id -> ((Number) id).longValue()).distinct().toArray();
+        }
+    }
+
+    /**
+     * Loads the Entities with the given identifiers, in batches, with the
+     * fetches of the given Specification, in the order of the identifiers.
+     */
+    private static <T> List<T> readEntities(final EntityManager entityManager,
+                                            final Class<T> domainClass,
+                                            final SingularAttribute<? super T, ?> identifier,
+                                            final Specification<T> specification,
+                                            final long[] ids) {
+        final Specification<T> fetches = SpecificationQueries.fetchesOf(specification);
+        final Map<Object, T> entities = new HashMap<>();
+        for (int from = 0; from < ids.length; from += HYDRATION_BATCH_SIZE) {
+            final List<Object> batch = Arrays.stream(ids, from, Math.min(from + HYDRATION_BATCH_SIZE, ids.length))
+                    .mapToObj(id -> toIdentifier(id, identifier.getJavaType()))
+                    .toList();
+            final Specification<T> within = Specification.<T>where((root, query, builder) ->
+                    root.get(identifier).in(batch)).and(fetches);
+            SpecificationQueries.createQuery(entityManager, domainClass, within, Sort.unsorted())
+                    .getResultList()
+                    .forEach(entity -> entities.put(
+                            entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity),
+                            entity));
+        }
+        return Arrays.stream(ids)
+                .mapToObj(id -> entities.get(toIdentifier(id, identifier.getJavaType())))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Converts the given long to an identifier of the given type.
+     */
+    private static Object toIdentifier(final long id,
+                                       final Class<?> identifierType) {
+        if (identifierType == Integer.class || identifierType == int.class) {
+            return Math.toIntExact(id);
+        }
+        if (identifierType == Short.class || identifierType == short.class) {
+            return (short) id;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Reads which Entity Class and attribute a collection event changed.
+ * Unlike those of Entities, collection events are raised when a change
+ * is flushed rather than once it commits, so they are passed on only
+ * after the transaction of the change commits.
+ *
+ * @author Quinn Andrews
+ */
+final class CollectionChanges {
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private CollectionChanges() {
+        // no-op
+    }
+
+    /**
+     * Passes the Entity Class owning the collection of the given event,
+     * along with the name of the collection's attribute, to the given
+     * consumer once the transaction the event was raised in commits.
+     * Nothing is passed on if it rolls back.
+     *
+     * @param event The collection event.
+     * @param consumer The consumer of the owning Entity Class and the
+     *                 name of the attribute changed.
+     */
+    static void afterCommit(final AbstractCollectionEvent event,
+                            final BiConsumer<Class<?>, String> consumer) {
+        final SessionFactoryImplementor factory = event.getSession().getFactory();
+        final Class<?> ownerClass = factory.getMappingMetamodel()
+                .getEntityDescriptor(event.getAffectedOwnerEntityName())
+                .getMappedClass();
+        final String attributeName = factory.getMappingMetamodel()
+                .getCollectionDescriptor(event.getCollection().getRole())
+                .getAttributeMapping()
+                .getAttributeName();
+        event.getSession().getActionQueue().registerProcess((success, session) -> {
+            if (success) {
+                consumer.accept(ownerClass, attributeName);
+            }
+        });
+    }
+}
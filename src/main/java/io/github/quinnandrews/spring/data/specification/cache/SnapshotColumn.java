@@ -0,0 +1,332 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * A column of a {@link SpecificationSnapshot}: the values of one attribute
+ * of every row, encoded by type. Integral numbers and dates are held as
+ * primitive longs, Strings as codes into a sorted dictionary of their
+ * distinct values, Booleans as bitmaps, and anything else as Objects.
+ * Rows are selected as bitmaps.
+ *
+ * @author Quinn Andrews
+ */
+abstract class SnapshotColumn {
+
+    private static final Map<Class<?>, LongFunction<Object>> LONG_DECODERS = Map.of(
+            Long.class, Long::valueOf,
+            Integer.class, value -> (int) value,
+            Short.class, value -> (short) value,
+            Byte.class, value -> (byte) value,
+            LocalDate.class, LocalDate::ofEpochDay
+    );
+
+    final int size;
+    final BitSet nulls;
+
+    /**
+     * Creates a new SnapshotColumn.
+     */
+    private SnapshotColumn(final int size,
+                           final BitSet nulls) {
+        this.size = size;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Returns a column of the given values, of the given type, encoded
+     * by that type.
+     */
+    static SnapshotColumn of(final Class<?> javaType,
+                             final Object[] values) {
+        final Class<?> type = javaType.isPrimitive() ? boxed(javaType) : javaType;
+        final BitSet nulls = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                nulls.set(row);
+            }
+        }
+        if (LONG_DECODERS.containsKey(type)) {
+            return new LongColumn(values, nulls, LONG_DECODERS.get(type), type);
+        }
+        if (type == String.class) {
+            return new StringColumn(values, nulls);
+        }
+        if (type == Boolean.class) {
+            return new BooleanColumn(values, nulls);
+        }
+        return new ObjectColumn(values, nulls);
+    }
+
+    /**
+     * Returns the rows whose value is null.
+     */
+    BitSet nulls() {
+        return (BitSet) nulls.clone();
+    }
+
+    /**
+     * Returns the rows whose value is not null.
+     */
+    BitSet nonNulls() {
+        final BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        rows.andNot(nulls);
+        return rows;
+    }
+
+    /**
+     * Returns the rows whose value is not null and passes the given test.
+     */
+    abstract BitSet select(Predicate<Object> test);
+
+    /**
+     * Returns the decoded value of the given row.
+     */
+    abstract Object get(int row);
+
+    /**
+     * Compares the values of the given rows, neither of which is null.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    int compare(final int row,
+                final int other) {
+        return ((Comparable) get(row)).compareTo(get(other));
+    }
+
+    /**
+     * Returns the boxed type of the given primitive type.
+     */
+    private static Class<?> boxed(final Class<?> primitiveType) {
+        return Map.<Class<?>, Class<?>>of(
+                long.class, Long.class,
+                int.class, Integer.class,
+                short.class, Short.class,
+                byte.class, Byte.class,
+                boolean.class, Boolean.class,
+                double.class, Double.class,
+                float.class, Float.class,
+                char.class, Character.class
+        ).get(primitiveType);
+    }
+
+    /**
+     * Integral numbers and dates, held as primitive longs.
+     */
+    static final class LongColumn extends SnapshotColumn {
+
+        private final long[] values;
+        private final LongFunction<Object> decoder;
+        private final Class<?> type;
+
+        private LongColumn(final Object[] values,
+                           final BitSet nulls,
+                           final LongFunction<Object> decoder,
+                           final Class<?> type) {
+            super(values.length, nulls);
+            this.values = new long[values.length];
+            for (int row = 0; row < values.length; row++) {
+                if (values[row] != null) {
+                    this.values[row] = encode(values[row]);
+                }
+            }
+            this.decoder = decoder;
+            this.type = type;
+        }
+
+        /**
+         * Returns the given operand encoded as a long, or null if it
+         * cannot be compared as one with the values of this column.
+         */
+        Long encodeOperand(final Object operand) {
+            if (type == LocalDate.class) {
+                return operand instanceof LocalDate date ? date.toEpochDay() : null;
+            }
+            return operand instanceof Long || operand instanceof Integer
+                    || operand instanceof Short || operand instanceof Byte ? encode(operand) : null;
+        }
+
+        /**
+         * Returns the rows whose value is not null and lies between the
+         * given bounds, inclusive.
+         */
+        BitSet range(final long low,
+                     final long high) {
+            final BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (values[row] >= low && values[row] <= high && !nulls.get(row)) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Returns the rows whose value is not null and one of the given
+         * values, which must be sorted.
+         */
+        BitSet in(final long[] sortedValues) {
+            final BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (!nulls.get(row) && Arrays.binarySearch(sortedValues, values[row]) >= 0) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        BitSet select(final Predicate<Object> test) {
+            final BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (!nulls.get(row) && test.test(decoder.apply(values[row]))) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        Object get(final int row) {
+            return nulls.get(row) ? null : decoder.apply(values[row]);
+        }
+
+        @Override
+        int compare(final int row,
+                    final int other) {
+            return Long.compare(values[row], values[other]);
+        }
+
+        private static long encode(final Object value) {
+            return value instanceof LocalDate date ? date.toEpochDay() : ((Number) value).longValue();
+        }
+    }
+
+    /**
+     * Strings, held as codes into a sorted dictionary of their distinct
+     * values, so that each distinct value is tested only once.
+     */
+    static final class StringColumn extends SnapshotColumn {
+
+        private final String[] dictionary;
+        private final int[] codes;
+
+        private StringColumn(final Object[] values,
+                             final BitSet nulls) {
+            super(values.length, nulls);
+            final TreeSet<String> distinct = new TreeSet<>();
+            for (final Object value : values) {
+                if (value != null) {
+                    distinct.add((String) value);
+                }
+            }
+            this.dictionary = distinct.toArray(String[]::new);
+            this.codes = new int[values.length];
+            for (int row = 0; row < values.length; row++) {
+                codes[row] = values[row] == null ? -1 : Arrays.binarySearch(dictionary, values[row]);
+            }
+        }
+
+        @Override
+        BitSet select(final Predicate<Object> test) {
+            final BitSet matchingCodes = new BitSet(dictionary.length);
+            for (int code = 0; code < dictionary.length; code++) {
+                if (test.test(dictionary[code])) {
+                    matchingCodes.set(code);
+                }
+            }
+            final BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (codes[row] >= 0 && matchingCodes.get(codes[row])) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        Object get(final int row) {
+            return codes[row] < 0 ? null : dictionary[codes[row]];
+        }
+
+        @Override
+        int compare(final int row,
+                    final int other) {
+            return Integer.compare(codes[row], codes[other]);
+        }
+    }
+
+    /**
+     * Booleans, held as a bitmap of the rows that are true.
+     */
+    static final class BooleanColumn extends SnapshotColumn {
+
+        private final BitSet trues;
+
+        private BooleanColumn(final Object[] values,
+                              final BitSet nulls) {
+            super(values.length, nulls);
+            this.trues = new BitSet(values.length);
+            for (int row = 0; row < values.length; row++) {
+                if (Boolean.TRUE.equals(values[row])) {
+                    trues.set(row);
+                }
+            }
+        }
+
+        @Override
+        BitSet select(final Predicate<Object> test) {
+            final BitSet rows = new BitSet(size);
+            if (test.test(Boolean.TRUE)) {
+                rows.or(trues);
+            }
+            if (test.test(Boolean.FALSE)) {
+                final BitSet falses = nonNulls();
+                falses.andNot(trues);
+                rows.or(falses);
+            }
+            return rows;
+        }
+
+        @Override
+        Object get(final int row) {
+            return nulls.get(row) ? null : trues.get(row);
+        }
+    }
+
+    /**
+     * Values of any other type, held as Objects.
+     */
+    static final class ObjectColumn extends SnapshotColumn {
+
+        private final Object[] values;
+
+        private ObjectColumn(final Object[] values,
+                             final BitSet nulls) {
+            super(values.length, nulls);
+            this.values = values.clone();
+        }
+
+        @Override
+        BitSet select(final Predicate<Object> test) {
+            final BitSet rows = new BitSet(size);
+            for (int row = 0; row < size; row++) {
+                if (values[row] != null && test.test(values[row])) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        Object get(final int row) {
+            return values[row];
+        }
+    }
+}
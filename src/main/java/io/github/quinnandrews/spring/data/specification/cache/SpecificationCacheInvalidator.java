@@ -0,0 +1,250 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Invalidates the results of a {@link SpecificationResultCache} once a
+ * change to the Entities they were read from commits, rather than
+ * serving them until they expire. Only the results that the change could
+ * have affected are invalidated, as told by the fingerprint of their
+ * Specification and what their key records they hold:
+ * <ul>
+ *     <li>An insert or delete affects every result read from the
+ *     Entity Class changed, and every result whose Specification joins
+ *     or fetches it.</li>
+ *     <li>An update affects every result holding whole Entities of the
+ *     Entity Class changed, or fetching it, and every other result read
+ *     from it whose Specification or selection reads an attribute
+ *     changed.</li>
+ *     <li>A change to the elements of a collection is an update of the
+ *     collection's attribute on the Entity Class owning it.</li>
+ * </ul>
+ * Bulk updates and deletes written in JPQL or SQL bypass the persistence
+ * context and raise no events, so invalidate the cache after them.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationCacheInvalidator implements PostCommitInsertEventListener,
+                                                      PostCommitUpdateEventListener,
+                                                      PostCommitDeleteEventListener,
+                                                      PostCollectionRecreateEventListener,
+                                                      PostCollectionUpdateEventListener,
+                                                      PostCollectionRemoveEventListener {
+
+    private final SpecificationResultCache cache;
+
+    /**
+     * Creates a new SpecificationCacheInvalidator. Must be registered
+     * with the SessionFactory to receive events, see register().
+     *
+     * @param cache The cache to invalidate.
+     * @throws NullPointerException if the given cache is null.
+     */
+    public SpecificationCacheInvalidator(final SpecificationResultCache cache) {
+        this.cache = Objects.requireNonNull(cache, "Argument 'cache' cannot be null.");
+    }
+
+    /**
+     * Returns a new SpecificationCacheInvalidator for the given cache,
+     * registered with the SessionFactory of the given
+     * EntityManagerFactory.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to receive
+     *                             the events of.
+     * @param cache The cache to invalidate.
+     * @return The registered SpecificationCacheInvalidator.
+     * @throws NullPointerException if the given entityManagerFactory or
+     *                              cache is null.
+     */
+    public static SpecificationCacheInvalidator register(final EntityManagerFactory entityManagerFactory,
+                                                         final SpecificationResultCache cache) {
+        Objects.requireNonNull(entityManagerFactory, "Argument 'entityManagerFactory' cannot be null.");
+        final SpecificationCacheInvalidator invalidator = new SpecificationCacheInvalidator(cache);
+        final EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, invalidator);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, invalidator);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, invalidator);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, invalidator);
+        return invalidator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        invalidateRowsOf(event.getPersister().getMappedClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        invalidateRowsOf(event.getPersister().getMappedClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        invalidateAttributesOf(event.getPersister().getMappedClass(), changedAttributesOf(event));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostRecreateCollection(final PostCollectionRecreateEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) ->
+                invalidateAttributesOf(ownerClass, Set.of(attributeName)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostUpdateCollection(final PostCollectionUpdateEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) ->
+                invalidateAttributesOf(ownerClass, Set.of(attributeName)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostRemoveCollection(final PostCollectionRemoveEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) ->
+                invalidateAttributesOf(ownerClass, Set.of(attributeName)));
+    }
+
+    /**
+     * Nothing was committed, so nothing is invalidated.
+     */
+    @Override
+    public void onPostInsertCommitFailed(final PostInsertEvent event) {
+        // no-op
+    }
+
+    /**
+     * Nothing was committed, so nothing is invalidated.
+     */
+    @Override
+    public void onPostUpdateCommitFailed(final PostUpdateEvent event) {
+        // no-op
+    }
+
+    /**
+     * Nothing was committed, so nothing is invalidated.
+     */
+    @Override
+    public void onPostDeleteCommitFailed(final PostDeleteEvent event) {
+        // no-op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * Invalidates the results that an update of the given attributes of
+     * a row of the given Entity Class could affect, or of any attribute
+     * if they are not known.
+     */
+    private void invalidateAttributesOf(final Class<?> changedClass,
+                                        final Set<String> changedAttributes) {
+        cache.invalidate(key -> {
+            if (isRelated(key.domainClass(), changedClass)) {
+                return key.selectsEntities() || changedAttributes == null || Stream.concat(
+                                key.fingerprint().attributes().stream(),
+                                key.selection().stream())
+                        .anyMatch(attribute -> changedAttributes.contains(attribute.getName()));
+            }
+            return key.selectsEntities() && joins(key, changedClass);
+        });
+    }
+
+    /**
+     * Invalidates the results that an insert or delete of a row of the
+     * given Entity Class could affect.
+     */
+    private void invalidateRowsOf(final Class<?> changedClass) {
+        cache.invalidate(key -> isRelated(key.domainClass(), changedClass) || joins(key, changedClass));
+    }
+
+    /**
+     * Returns the names of the attributes changed by the given update,
+     * or null if they are not known.
+     */
+    private static Set<String> changedAttributesOf(final PostUpdateEvent event) {
+        final int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties == null) {
+            return null;
+        }
+        final String[] propertyNames = event.getPersister().getPropertyNames();
+        return Arrays.stream(dirtyProperties)
+                .mapToObj(index -> propertyNames[index])
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns true if the Specification of the given key joins or
+     * fetches an association with the given Entity Class.
+     */
+    private static boolean joins(final SpecificationCacheKey key,
+                                 final Class<?> changedClass) {
+        return key.fingerprint().attributes().stream()
+                .filter(Attribute::isAssociation)
+                .anyMatch(attribute -> isRelated(targetOf(attribute), changedClass));
+    }
+
+    /**
+     * Returns the Entity Class an association refers to.
+     */
+    private static Class<?> targetOf(final Attribute<?, ?> attribute) {
+        return attribute instanceof PluralAttribute<?, ?, ?> plural ?
+                plural.getElementType().getJavaType() : attribute.getJavaType();
+    }
+
+    /**
+     * Returns true if one of the given Classes extends the other, so that
+     * rows of one may be rows of the other.
+     */
+    private static boolean isRelated(final Class<?> queried,
+                                     final Class<?> changed) {
+        return queried.isAssignableFrom(changed) || changed.isAssignableFrom(queried);
+    }
+}
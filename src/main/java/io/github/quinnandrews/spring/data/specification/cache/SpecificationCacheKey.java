@@ -0,0 +1,56 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationFingerprint;
+import jakarta.persistence.metamodel.Attribute;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Identifies a cached result: the Entity Class queried, the fingerprint
+ * of the Specification and the arguments of the query, such as its kind,
+ * Sort or Pageable. The arguments must implement equals and hashCode.
+ * <p>
+ * Also records what the result holds, so that it can be invalidated only
+ * by the changes that could affect it: whole Entities, which any change
+ * to them affects, or only the values of the selected attributes, as in a
+ * projection, or nothing but a number, as in a count.
+ *
+ * @param domainClass The Entity Class queried from as the Aggregate Root.
+ * @param fingerprint The fingerprint of the Specification.
+ * @param arguments The arguments of the query.
+ * @param selectsEntities Whether the result holds whole Entities.
+ * @param selection The attributes whose values the result holds, when it
+ *                  does not hold whole Entities.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationCacheKey(Class<?> domainClass,
+                                    SpecificationFingerprint fingerprint,
+                                    List<Object> arguments,
+                                    boolean selectsEntities,
+                                    Set<Attribute<?, ?>> selection) {
+
+    /**
+     * Creates a new SpecificationCacheKey.
+     *
+     * @param domainClass The Entity Class queried from.
+     * @param fingerprint The fingerprint of the Specification.
+     * @param arguments The arguments of the query.
+     * @param selectsEntities Whether the result holds whole Entities.
+     * @param selection The attributes whose values the result holds.
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationCacheKey {
+        Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        Objects.requireNonNull(fingerprint, "Argument 'fingerprint' cannot be null.");
+        arguments = Collections.unmodifiableList(Arrays.asList(
+                Objects.requireNonNull(arguments, "Argument 'arguments' cannot be null.").toArray()));
+        selection = Collections.unmodifiableSet(new LinkedHashSet<>(
+                Objects.requireNonNull(selection, "Argument 'selection' cannot be null.")));
+    }
+}
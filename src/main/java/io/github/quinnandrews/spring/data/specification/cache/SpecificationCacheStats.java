@@ -0,0 +1,39 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+/**
+ * A snapshot of the statistics of a {@link SpecificationResultCache}.
+ *
+ * @param hits The number of lookups answered from the cache.
+ * @param misses The number of lookups that loaded from the database.
+ * @param bypasses The number of executions that bypassed the cache,
+ *                 either by hint or because the Specification could
+ *                 not be fingerprinted.
+ * @param evictions The number of entries removed because they expired
+ *                  or to make room within the maximum weight.
+ * @param invalidations The number of entries removed because a change
+ *                      to the Entities they were read from could have
+ *                      affected them.
+ * @param size The number of entries cached.
+ * @param weight The total weight of the entries cached.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationCacheStats(long hits,
+                                      long misses,
+                                      long bypasses,
+                                      long evictions,
+                                      long invalidations,
+                                      long size,
+                                      long weight) {
+
+    /**
+     * Returns the ratio of lookups answered from the cache, or zero if
+     * there have been none.
+     *
+     * @return The hit ratio, between zero and one.
+     */
+    public double hitRatio() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
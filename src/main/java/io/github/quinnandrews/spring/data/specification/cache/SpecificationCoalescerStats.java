@@ -0,0 +1,28 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+/**
+ * A snapshot of the statistics of a {@link SpecificationQueryCoalescer}.
+ *
+ * @param executions The number of queries actually executed.
+ * @param coalesced The number of callers that shared the result of a
+ *                  query already executing, each an execution saved.
+ * @param timeouts The number of callers that stopped waiting for a
+ *                 shared result because their timeout expired.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationCoalescerStats(long executions,
+                                          long coalesced,
+                                          long timeouts) {
+
+    /**
+     * Returns the ratio of callers that shared a result rather than
+     * executing a query, or zero if there have been none.
+     *
+     * @return The saved ratio, between zero and one.
+     */
+    public double savedRatio() {
+        final long calls = executions + coalesced;
+        return calls == 0 ? 0.0 : (double) coalesced / calls;
+    }
+}
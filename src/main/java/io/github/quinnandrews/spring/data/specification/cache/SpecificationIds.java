@@ -0,0 +1,117 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Objects;
+
+/**
+ * An immutable, ordered list of the numeric identifiers of the Entities
+ * matching a Specification, stored as primitive longs either on the heap
+ * or off it, in a direct buffer. A million identifiers take eight
+ * megabytes, a fraction of the memory of the Entities they identify.
+ *
+ * @author Quinn Andrews
+ */
+public final class SpecificationIds {
+
+    /**
+     * Where identifiers are stored.
+     */
+    public enum Storage {
+
+        /**
+         * In a long array on the heap.
+         */
+        HEAP,
+
+        /**
+         * In a direct buffer outside the heap, which the garbage
+         * collector does not have to trace or copy.
+         */
+        OFF_HEAP
+    }
+
+    private final LongBuffer ids;
+
+    /**
+     * Private Constructor, since instances are created with of().
+     */
+    private SpecificationIds(final LongBuffer ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Returns a new SpecificationIds holding a copy of the given
+     * identifiers in the given Storage.
+     *
+     * @param ids The identifiers, in order.
+     * @param storage Where to store the identifiers.
+     * @return A new SpecificationIds.
+     * @throws NullPointerException if the given ids or storage is null.
+     */
+    public static SpecificationIds of(final long[] ids,
+                                      final Storage storage) {
+        Objects.requireNonNull(ids, "Argument 'ids' cannot be null.");
+        Objects.requireNonNull(storage, "Argument 'storage' cannot be null.");
+        if (storage == Storage.HEAP) {
+            return new SpecificationIds(LongBuffer.wrap(ids.clone()));
+        }
+        final LongBuffer buffer = ByteBuffer.allocateDirect(ids.length * Long.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asLongBuffer();
+        buffer.put(ids).flip();
+        return new SpecificationIds(buffer);
+    }
+
+    /**
+     * Returns the number of identifiers.
+     *
+     * @return The number of identifiers.
+     */
+    public int size() {
+        return ids.limit();
+    }
+
+    /**
+     * Returns the identifier at the given index.
+     *
+     * @param index The index of the identifier.
+     * @return The identifier.
+     * @throws IndexOutOfBoundsException if the given index is out of
+     *                                   range.
+     */
+    public long get(final int index) {
+        return ids.get(index);
+    }
+
+    /**
+     * Returns the identifiers from the given index, inclusive, to the
+     * given index, exclusive, clamped to the number of identifiers.
+     *
+     * @param from The index of the first identifier.
+     * @param to The index after the last identifier.
+     * @return A new array of the identifiers in range.
+     * @throws IllegalArgumentException if the given from is negative
+     *                                  or greater than to.
+     */
+    public long[] toArray(final int from,
+                          final int to) {
+        if (from < 0 || from > to) {
+            throw new IllegalArgumentException("Range [" + from + ", " + to + ") is invalid.");
+        }
+        final int start = Math.min(from, size());
+        final long[] range = new long[Math.min(to, size()) - start];
+        ids.duplicate().position(start).get(range);
+        return range;
+    }
+
+    /**
+     * Returns whether the identifiers are stored off the heap.
+     *
+     * @return Whether the identifiers are stored off the heap.
+     */
+    public boolean isOffHeap() {
+        return ids.isDirect();
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same query, as identified by
+ * a {@link SpecificationCacheKey}, into one. The first caller executes
+ * the query on its own thread and every caller that arrives while it is
+ * executing waits for, and shares, its result or its failure. Once the
+ * query completes, the next caller executes it again: results are not
+ * cached, which is the job of a {@link SpecificationResultCache}.
+ * <p>
+ * The result is shared between the callers, so it must not be modified,
+ * and Entities in it belong to the persistence context of the caller that
+ * executed the query. Coalesce queries returning Records, or Entities
+ * loaded in a transaction of their own, as CachingSpecificationExecutor
+ * does.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationQueryCoalescer {
+
+    private final Duration defaultTimeout;
+    private final ConcurrentMap<SpecificationCacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Creates a new SpecificationQueryCoalescer.
+     *
+     * @param defaultTimeout How long callers wait for a shared result,
+     *                       unless told otherwise.
+     * @throws NullPointerException if the given defaultTimeout is null.
+     * @throws IllegalArgumentException if the given defaultTimeout is
+     *                                  not positive.
+     */
+    public SpecificationQueryCoalescer(final Duration defaultTimeout) {
+        this.defaultTimeout = requirePositive(defaultTimeout);
+    }
+
+    /**
+     * Executes the given query, or waits for the default timeout for the
+     * result of the same query already executing.
+     *
+     * @param key The key of the query.
+     * @param query Executes the query.
+     * @return The result of the query.
+     * @param <R> The type of the result.
+     * @throws NullPointerException if the given key or query is null.
+     * @throws QueryTimeoutException if the timeout expires while waiting
+     *                               for a shared result.
+     */
+    public <R> R execute(final SpecificationCacheKey key,
+                         final Supplier<R> query) {
+        return execute(key, defaultTimeout, query);
+    }
+
+    /**
+     * Executes the given query, or waits for the given timeout for the
+     * result of the same query already executing. The caller executing
+     * the query is not subject to the timeout; set a query timeout hint
+     * to limit the query itself.
+     *
+     * @param key The key of the query.
+     * @param timeout How long to wait for a shared result.
+     * @param query Executes the query.
+     * @return The result of the query.
+     * @param <R> The type of the result.
+     * @throws NullPointerException if the given key, timeout or query is
+     *                              null.
+     * @throws IllegalArgumentException if the given timeout is not
+     *                                  positive.
+     * @throws QueryTimeoutException if the timeout expires while waiting
+     *                               for a shared result.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(final SpecificationCacheKey key,
+                         final Duration timeout,
+                         final Supplier<R> query) {
+        Objects.requireNonNull(key, "Argument 'key' cannot be null.");
+        requirePositive(timeout);
+        Objects.requireNonNull(query, "Argument 'query' cannot be null.");
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> executing = inFlight.putIfAbsent(key, future);
+        if (executing != null) {
+            coalesced.increment();
+            return (R) await(executing, timeout);
+        }
+        executions.increment();
+        try {
+            final R result = query.get();
+            future.complete(result);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the coalescer.
+     *
+     * @return The statistics of the coalescer.
+     */
+    public SpecificationCoalescerStats stats() {
+        return new SpecificationCoalescerStats(executions.sum(), coalesced.sum(), timeouts.sum());
+    }
+
+    /**
+     * Waits for the given shared result, rethrowing the failure of the
+     * query as is.
+     */
+    private Object await(final CompletableFuture<Object> executing,
+                         final Duration timeout) {
+        try {
+            return executing.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            timeouts.increment();
+            throw new QueryTimeoutException("Timed out after " + timeout + " waiting for a shared result.", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a shared result.");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the given timeout if it is positive.
+     */
+    private static Duration requirePositive(final Duration timeout) {
+        Objects.requireNonNull(timeout, "Argument 'timeout' cannot be null.");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Argument 'timeout' must be positive.");
+        }
+        return timeout;
+    }
+}
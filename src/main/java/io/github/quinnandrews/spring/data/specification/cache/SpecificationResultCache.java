@@ -0,0 +1,262 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import org.springframework.data.domain.Slice;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An application-level cache of the results of Specification queries,
+ * for screens that run the same searches over and over. Entries expire
+ * after the given time to live, and the least recently used entries are
+ * evicted whenever the total weight of the entries exceeds the given
+ * maximum, where the weight of a result is the number of elements it
+ * holds plus one, counting {@link SpecificationIds} as one element per
+ * {@value #IDS_PER_ELEMENT} identifiers.
+ * <p>
+ * Results are shared between callers, so they must not be modified:
+ * cache Records or detached Entities that are treated as read-only.
+ * Concurrent misses of the same key each load the result. A result whose
+ * key is invalidated while it is being loaded is returned but not cached,
+ * since it may have been read before the change that invalidated it.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationResultCache {
+
+    /**
+     * The number of identifiers weighing as much as one cached element,
+     * in the same memory as an Entity of a few small columns.
+     */
+    public static final int IDS_PER_ELEMENT = 64;
+
+    private final long timeToLiveMillis;
+    private final long maxWeight;
+    private final Clock clock;
+    private final LinkedHashMap<SpecificationCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Load> loads = new HashSet<>();
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long bypasses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a new SpecificationResultCache.
+     *
+     * @param timeToLive How long a result is cached for.
+     * @param maxWeight The maximum total weight of the results cached.
+     * @throws NullPointerException if the given timeToLive is null.
+     * @throws IllegalArgumentException if the given timeToLive is not
+     *                                  positive or the given maxWeight
+     *                                  is less than one.
+     */
+    public SpecificationResultCache(final Duration timeToLive,
+                                    final long maxWeight) {
+        this(timeToLive, maxWeight, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new SpecificationResultCache that tells the time with
+     * the given Clock.
+     *
+     * @param timeToLive How long a result is cached for.
+     * @param maxWeight The maximum total weight of the results cached.
+     * @param clock The Clock to expire results by.
+     * @throws NullPointerException if the given timeToLive or clock is
+     *                              null.
+     * @throws IllegalArgumentException if the given timeToLive is not
+     *                                  positive or the given maxWeight
+     *                                  is less than one.
+     */
+    public SpecificationResultCache(final Duration timeToLive,
+                                    final long maxWeight,
+                                    final Clock clock) {
+        Objects.requireNonNull(timeToLive, "Argument 'timeToLive' cannot be null.");
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Argument 'timeToLive' must be positive.");
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Argument 'maxWeight' must be greater than zero.");
+        }
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.maxWeight = maxWeight;
+        this.clock = Objects.requireNonNull(clock, "Argument 'clock' cannot be null.");
+    }
+
+    /**
+     * Returns the result cached for the given key, or loads, caches and
+     * returns it if none is cached or the cached result has expired. The
+     * loader is called without holding any lock. A result heavier than
+     * the maximum weight is returned but not cached.
+     *
+     * @param key The key of the result.
+     * @param loader Loads the result from the database.
+     * @return The cached or loaded result.
+     * @param <R> The type of the result.
+     * @throws NullPointerException if the given key or loader is null,
+     *                              or the loader returns null.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(final SpecificationCacheKey key,
+                     final Supplier<R> loader) {
+        Objects.requireNonNull(key, "Argument 'key' cannot be null.");
+        Objects.requireNonNull(loader, "Argument 'loader' cannot be null.");
+        final Load load;
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.millis()) {
+                hits++;
+                return (R) entry.value();
+            }
+            if (entry != null) {
+                evict(key);
+            }
+            misses++;
+            load = new Load(key);
+            loads.add(load);
+        }
+        try {
+            final R value = Objects.requireNonNull(loader.get(), "Loaded result cannot be null.");
+            put(load, value);
+            return value;
+        } finally {
+            synchronized (this) {
+                loads.remove(load);
+            }
+        }
+    }
+
+    /**
+     * Records an execution that bypassed the cache.
+     */
+    public synchronized void recordBypass() {
+        bypasses++;
+    }
+
+    /**
+     * Removes the cached results whose keys match the given Predicate,
+     * and keeps results of matching keys that are being loaded from
+     * being cached.
+     *
+     * @param affected Matches the keys of the results to remove.
+     * @return The number of cached results removed.
+     * @throws NullPointerException if the given Predicate is null.
+     */
+    public synchronized int invalidate(final Predicate<SpecificationCacheKey> affected) {
+        Objects.requireNonNull(affected, "Argument 'affected' cannot be null.");
+        loads.stream()
+                .filter(load -> affected.test(load.key))
+                .forEach(load -> load.stale = true);
+        int removed = 0;
+        final Iterator<Map.Entry<SpecificationCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<SpecificationCacheKey, Entry> entry = iterator.next();
+            if (affected.test(entry.getKey())) {
+                iterator.remove();
+                weight -= entry.getValue().weight();
+                removed++;
+            }
+        }
+        invalidations += removed;
+        return removed;
+    }
+
+    /**
+     * Removes every cached result, and keeps results that are being
+     * loaded from being cached.
+     */
+    public synchronized void invalidateAll() {
+        invalidate(key -> true);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return The statistics of the cache.
+     */
+    public synchronized SpecificationCacheStats stats() {
+        return new SpecificationCacheStats(hits, misses, bypasses, evictions, invalidations, entries.size(), weight);
+    }
+
+    /**
+     * Caches the given result, then evicts the least recently used
+     * entries until the total weight is within the maximum. Expired
+     * entries are removed when they are next looked up, or evicted
+     * as the least recently used.
+     */
+    private synchronized void put(final Load load,
+                                  final Object value) {
+        final long valueWeight = weightOf(value);
+        if (load.stale || valueWeight > maxWeight) {
+            return;
+        }
+        final Entry replaced = entries.put(load.key, new Entry(value, valueWeight, clock.millis() + timeToLiveMillis));
+        weight += valueWeight - (replaced == null ? 0 : replaced.weight());
+        final Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the entry of the given key, if any, as evicted.
+     */
+    private void evict(final SpecificationCacheKey key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns the weight of the given result: the number of elements it
+     * holds plus one.
+     */
+    private static long weightOf(final Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.size() + 1L;
+        }
+        if (value instanceof Slice<?> slice) {
+            return slice.getNumberOfElements() + 1L;
+        }
+        if (value instanceof SpecificationIds ids) {
+            return ids.size() / IDS_PER_ELEMENT + 1L;
+        }
+        return 1L;
+    }
+
+    /**
+     * A result being loaded, which is stale if its key has been
+     * invalidated since the load began.
+     */
+    private static final class Load {
+
+        private final SpecificationCacheKey key;
+        private boolean stale;
+
+        private Load(final SpecificationCacheKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A cached result with its weight and the time it expires at.
+     */
+    private record Entry(Object value, long weight, long expiresAt) {
+    }
+}
@@ -0,0 +1,597 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.AttributeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.CompositeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.HintedSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationOperator;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationPredicates;
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.IdentifiableType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds every row of a small, frequently read Entity table in memory, in
+ * columns of primitive arrays and dictionary-encoded Strings, and
+ * evaluates Specifications built from {@code SpecificationFactory} and
+ * {@code SpecificationBuilder} against them as bitmaps, without a query.
+ * <p>
+ * Each singular attribute becomes a column, associations by the
+ * identifier of the associated Entity, and each plural attribute a bitmap
+ * of the rows that have any element, for fetches. Evaluation follows the
+ * same SQL semantics as {@link SpecificationPredicates}.
+ * <p>
+ * The snapshot is loaded on first use, in a read-only transaction of its
+ * own, and loaded again on the first use after a change to its Entity
+ * Class, to an Entity Class it is associated with, or to the elements of
+ * one of its collections, commits. Register it
+ * to receive those changes with register(), or call refresh(). The
+ * Entities returned are detached and shared with every caller, so treat
+ * them as read-only, and lazy associations cannot be initialized.
+ *
+ * @param <T> The Entity Class held.
+ * @author Quinn Andrews
+ */
+public class SpecificationSnapshot<T> implements PostCommitInsertEventListener,
+                                                 PostCommitUpdateEventListener,
+                                                 PostCommitDeleteEventListener,
+                                                 PostCollectionRecreateEventListener,
+                                                 PostCollectionUpdateEventListener,
+                                                 PostCollectionRemoveEventListener {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Class<T> domainClass;
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final Object loadLock = new Object();
+    private volatile Columns<T> columns;
+
+    /**
+     * Creates a new SpecificationSnapshot of the given Entity Class. Must
+     * be registered with the SessionFactory to receive changes, see
+     * register().
+     *
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction the snapshot is loaded in.
+     * @param transactionManager The PlatformTransactionManager to begin
+     *                           the transaction the snapshot is loaded
+     *                           in with.
+     * @param domainClass The Entity Class to hold the rows of.
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationSnapshot(final EntityManager entityManager,
+                                 final PlatformTransactionManager transactionManager,
+                                 final Class<T> domainClass) {
+        this.entityManager = Objects.requireNonNull(entityManager, "Argument 'entityManager' cannot be null.");
+        this.domainClass = Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "Argument 'transactionManager' cannot be null."));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Registers the given SpecificationSnapshot with the SessionFactory
+     * of the given EntityManagerFactory, so that it is loaded again after
+     * a change to the Entities it holds commits.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to receive
+     *                             the events of.
+     * @param snapshot The snapshot to register.
+     * @return The given snapshot.
+     * @param <T> The Entity Class held.
+     * @throws NullPointerException if either argument is null.
+     */
+    public static <T> SpecificationSnapshot<T> register(final EntityManagerFactory entityManagerFactory,
+                                                        final SpecificationSnapshot<T> snapshot) {
+        Objects.requireNonNull(entityManagerFactory, "Argument 'entityManagerFactory' cannot be null.");
+        Objects.requireNonNull(snapshot, "Argument 'snapshot' cannot be null.");
+        final EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, snapshot);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, snapshot);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, snapshot);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, snapshot);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, snapshot);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Returns the Entities matching the given Specification, in the order
+     * of their identifiers.
+     *
+     * @param specification The Specification to match, can be null to
+     *                      match every Entity.
+     * @return The matching Entities.
+     * @throws IllegalArgumentException if the Specification, or any part
+     *                                  of it, was not built from
+     *                                  SpecificationFactory, or reads an
+     *                                  attribute the snapshot does not
+     *                                  hold.
+     */
+    public List<T> findAll(final Specification<T> specification) {
+        return findAll(specification, Sort.unsorted());
+    }
+
+    /**
+     * Returns the Entities matching the given Specification, in the given
+     * order, and then in the order of their identifiers. Nulls sort
+     * first in ascending order unless the Sort says otherwise.
+     *
+     * @param specification The Specification to match, can be null to
+     *                      match every Entity.
+     * @param sort The order to return the Entities in.
+     * @return The matching Entities.
+     * @throws NullPointerException if the given sort is null.
+     * @throws IllegalArgumentException if the Specification, or any part
+     *                                  of it, was not built from
+     *                                  SpecificationFactory, or if it or
+     *                                  the Sort reads an attribute the
+     *                                  snapshot does not hold.
+     */
+    public List<T> findAll(final Specification<T> specification,
+                           final Sort sort) {
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        final Columns<T> current = current();
+        final BitSet rows = current.select(specification);
+        final Comparator<Integer> comparator = current.comparatorOf(sort);
+        return rows.stream()
+                .boxed()
+                .sorted(comparator)
+                .map(current.rows::get)
+                .toList();
+    }
+
+    /**
+     * Returns the number of Entities matching the given Specification.
+     *
+     * @param specification The Specification to match, can be null to
+     *                      match every Entity.
+     * @return The number of matching Entities.
+     * @throws IllegalArgumentException if the Specification, or any part
+     *                                  of it, was not built from
+     *                                  SpecificationFactory, or reads an
+     *                                  attribute the snapshot does not
+     *                                  hold.
+     */
+    public long count(final Specification<T> specification) {
+        return current().select(specification).cardinality();
+    }
+
+    /**
+     * Returns true if any Entity matches the given Specification.
+     *
+     * @param specification The Specification to match, can be null to
+     *                      match every Entity.
+     * @return True if any Entity matches.
+     * @throws IllegalArgumentException if the Specification, or any part
+     *                                  of it, was not built from
+     *                                  SpecificationFactory, or reads an
+     *                                  attribute the snapshot does not
+     *                                  hold.
+     */
+    public boolean exists(final Specification<T> specification) {
+        return !current().select(specification).isEmpty();
+    }
+
+    /**
+     * Loads the snapshot again now, rather than on its next use.
+     */
+    public void refresh() {
+        changes.incrementAndGet();
+        current();
+    }
+
+    /**
+     * Returns the number of times the snapshot has been loaded.
+     *
+     * @return The number of loads.
+     */
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        onChangeOf(event.getPersister().getMappedClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        onChangeOf(event.getPersister().getMappedClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        onChangeOf(event.getPersister().getMappedClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostRecreateCollection(final PostCollectionRecreateEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) -> onChangeOf(ownerClass));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostUpdateCollection(final PostCollectionUpdateEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) -> onChangeOf(ownerClass));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPostRemoveCollection(final PostCollectionRemoveEvent event) {
+        CollectionChanges.afterCommit(event, (ownerClass, attributeName) -> onChangeOf(ownerClass));
+    }
+
+    /**
+     * Nothing was committed, so nothing is loaded again.
+     */
+    @Override
+    public void onPostInsertCommitFailed(final PostInsertEvent event) {
+        // no-op
+    }
+
+    /**
+     * Nothing was committed, so nothing is loaded again.
+     */
+    @Override
+    public void onPostUpdateCommitFailed(final PostUpdateEvent event) {
+        // no-op
+    }
+
+    /**
+     * Nothing was committed, so nothing is loaded again.
+     */
+    @Override
+    public void onPostDeleteCommitFailed(final PostDeleteEvent event) {
+        // no-op
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * Marks the snapshot to be loaded again if the given Entity Class is
+     * the one held or one it is associated with.
+     */
+    private void onChangeOf(final Class<?> changedClass) {
+        final Columns<T> current = columns;
+        if (current == null || current.watchedClasses.stream().anyMatch(watched ->
+                watched.isAssignableFrom(changedClass) || changedClass.isAssignableFrom(watched))) {
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the current columns, loading them first if there are none
+     * yet or a change has committed since they were loaded.
+     */
+    private Columns<T> current() {
+        final Columns<T> current = columns;
+        if (current != null && current.version == changes.get()) {
+            return current;
+        }
+        synchronized (loadLock) {
+            final long version = changes.get();
+            if (columns == null || columns.version != version) {
+                columns = transactionTemplate.execute(status -> load(version));
+                loads.incrementAndGet();
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * Reads every row of the Entity Class into columns.
+     */
+    private Columns<T> load(final long version) {
+        final EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        final SingularAttribute<? super T, ?> identifier = SpecificationQueries.identifierOf(entityManager, domainClass);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        final Root<T> root = query.from(domainClass);
+        final List<SingularAttribute<? super T, ?>> attributes = new ArrayList<>();
+        final List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root);
+        for (final SingularAttribute<? super T, ?> attribute : entityType.getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                selections.add(root.get(attribute));
+                attributes.add(attribute);
+            } else if (attribute.isAssociation() && attribute.getType() instanceof IdentifiableType<?> target
+                    && target.hasSingleIdAttribute()) {
+                selections.add(root.join(attribute.getName(), JoinType.LEFT)
+                        .get(target.getId(target.getIdType().getJavaType()).getName()));
+                attributes.add(attribute);
+            }
+        }
+        query.multiselect(selections).orderBy(builder.asc(root.get(identifier)));
+        final List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+
+        final List<T> rows = new ArrayList<>(tuples.size());
+        final Map<Object, Integer> rowsById = new HashMap<>();
+        final Object[][] values = new Object[attributes.size()][tuples.size()];
+        for (int row = 0; row < tuples.size(); row++) {
+            final Tuple tuple = tuples.get(row);
+            final T entity = domainClass.cast(tuple.get(0));
+            rows.add(entity);
+            rowsById.put(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), row);
+            for (int column = 0; column < attributes.size(); column++) {
+                values[column][row] = tuple.get(column + 1);
+            }
+        }
+        final Map<String, SnapshotColumn> singular = new HashMap<>();
+        for (int column = 0; column < attributes.size(); column++) {
+            final SingularAttribute<? super T, ?> attribute = attributes.get(column);
+            final Class<?> javaType = attribute.getType() instanceof IdentifiableType<?> target ?
+                    target.getIdType().getJavaType() : attribute.getJavaType();
+            singular.put(attribute.getName(), SnapshotColumn.of(javaType, values[column]));
+        }
+
+        final Map<String, BitSet> plural = new HashMap<>();
+        final Set<Class<?>> watchedClasses = new HashSet<>();
+        watchedClasses.add(domainClass);
+        for (final PluralAttribute<? super T, ?, ?> attribute : entityType.getPluralAttributes()) {
+            plural.put(attribute.getName(), rowsHaving(attribute, identifier, rowsById, tuples.size()));
+            watchedClasses.add(attribute.getElementType().getJavaType());
+        }
+        attributes.stream()
+                .filter(Attribute::isAssociation)
+                .forEach(attribute -> watchedClasses.add(attribute.getJavaType()));
+        return new Columns<>(version, rows, singular, plural, Set.copyOf(watchedClasses));
+    }
+
+    /**
+     * Returns the rows that have any element of the given plural
+     * attribute.
+     */
+    private BitSet rowsHaving(final PluralAttribute<? super T, ?, ?> attribute,
+                              final SingularAttribute<? super T, ?> identifier,
+                              final Map<Object, Integer> rowsById,
+                              final int size) {
+        final CriteriaQuery<Object> query = entityManager.getCriteriaBuilder().createQuery(Object.class);
+        final Root<T> root = query.from(domainClass);
+        root.join(attribute.getName());
+        query.select(root.get(identifier)).distinct(true);
+        final BitSet rows = new BitSet(size);
+        entityManager.createQuery(query).getResultList().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .forEach(rows::set);
+        return rows;
+    }
+
+    /**
+     * The columns read by one load of the snapshot.
+     */
+    private static final class Columns<T> {
+
+        private final long version;
+        private final List<T> rows;
+        private final Map<String, SnapshotColumn> singular;
+        private final Map<String, BitSet> plural;
+        private final Set<Class<?>> watchedClasses;
+
+        private Columns(final long version,
+                        final List<T> rows,
+                        final Map<String, SnapshotColumn> singular,
+                        final Map<String, BitSet> plural,
+                        final Set<Class<?>> watchedClasses) {
+            this.version = version;
+            this.rows = List.copyOf(rows);
+            this.singular = Map.copyOf(singular);
+            this.plural = Map.copyOf(plural);
+            this.watchedClasses = watchedClasses;
+        }
+
+        /**
+         * Returns the rows matching the given Specification.
+         */
+        private BitSet select(final Specification<T> specification) {
+            final BitSet selected = selectNullable(specification);
+            if (selected != null) {
+                return selected;
+            }
+            final BitSet all = new BitSet(rows.size());
+            all.set(0, rows.size());
+            return all;
+        }
+
+        /**
+         * Returns the rows matching the given Specification, or null
+         * where the Specification renders a null Predicate.
+         */
+        private BitSet selectNullable(final Specification<T> specification) {
+            if (specification == null) {
+                return null;
+            }
+            if (specification instanceof HintedSpecification<T> hinted) {
+                return selectNullable(hinted.getDelegate());
+            }
+            if (specification instanceof CompositeSpecification<T> composite) {
+                final BitSet left = selectNullable(composite.getLeft());
+                final BitSet right = selectNullable(composite.getRight());
+                if (left == null || right == null) {
+                    return left == null ? right : left;
+                }
+                if (composite.getConnective() == CompositeSpecification.Connective.AND) {
+                    left.and(right);
+                } else {
+                    left.or(right);
+                }
+                return left;
+            }
+            if (specification instanceof AttributeSpecification<T> leaf) {
+                return leaf.getOperator() == SpecificationOperator.GHOST ? null : selectLeaf(leaf);
+            }
+            throw new IllegalArgumentException("Specification '" + specification
+                    + "' was not built from SpecificationFactory and cannot be evaluated.");
+        }
+
+        /**
+         * Returns the rows matching the given leaf.
+         */
+        private BitSet selectLeaf(final AttributeSpecification<T> leaf) {
+            final String name = leaf.getAttribute().getName();
+            if (leaf.getAttribute() instanceof PluralAttribute<?, ?, ?>) {
+                final BitSet rowsHaving = plural.get(name);
+                if (rowsHaving == null) {
+                    throw unknownAttribute(name);
+                }
+                return (BitSet) rowsHaving.clone();
+            }
+            final SnapshotColumn column = singular.get(name);
+            if (column == null) {
+                throw unknownAttribute(name);
+            }
+            return switch (leaf.getOperator()) {
+                case IS_NULL -> column.nulls();
+                case IS_NOT_NULL, FETCH -> column.nonNulls();
+                default -> {
+                    if (column instanceof SnapshotColumn.LongColumn longColumn) {
+                        final BitSet rows = selectRange(longColumn, leaf);
+                        if (rows != null) {
+                            yield rows;
+                        }
+                    }
+                    yield column.select(SpecificationPredicates.compileValueTest(leaf));
+                }
+            };
+        }
+
+        /**
+         * Returns the rows of the given column matching the given leaf,
+         * compared as primitive longs, or null if the operands of the
+         * leaf cannot be compared as longs.
+         */
+        private static BitSet selectRange(final SnapshotColumn.LongColumn column,
+                                          final AttributeSpecification<?> leaf) {
+            final List<Object> operands = leaf.getOperator() == SpecificationOperator.IN ?
+                    List.copyOf((Set<?>) leaf.getValues().get(0)) : leaf.getValues();
+            final long[] encoded = new long[operands.size()];
+            for (int i = 0; i < encoded.length; i++) {
+                final Long operand = column.encodeOperand(operands.get(i));
+                if (operand == null) {
+                    return null;
+                }
+                encoded[i] = operand;
+            }
+            return switch (leaf.getOperator()) {
+                case EQUAL_TO -> column.range(encoded[0], encoded[0]);
+                case NOT_EQUAL_TO -> {
+                    final BitSet rows = column.nonNulls();
+                    rows.andNot(column.range(encoded[0], encoded[0]));
+                    yield rows;
+                }
+                case GREATER_THAN -> encoded[0] == Long.MAX_VALUE ?
+                        new BitSet() : column.range(encoded[0] + 1, Long.MAX_VALUE);
+                case GREATER_THAN_OR_EQUAL_TO -> column.range(encoded[0], Long.MAX_VALUE);
+                case LESS_THAN -> encoded[0] == Long.MIN_VALUE ?
+                        new BitSet() : column.range(Long.MIN_VALUE, encoded[0] - 1);
+                case LESS_THAN_OR_EQUAL_TO -> column.range(Long.MIN_VALUE, encoded[0]);
+                case BETWEEN -> column.range(encoded[0], encoded[1]);
+                case IN -> {
+                    Arrays.sort(encoded);
+                    yield column.in(encoded);
+                }
+                default -> null;
+            };
+        }
+
+        /**
+         * Returns a Comparator of rows in the given order, and then in
+         * the order of their identifiers.
+         */
+        private Comparator<Integer> comparatorOf(final Sort sort) {
+            Comparator<Integer> comparator = (row, other) -> 0;
+            for (final Sort.Order order : sort) {
+                final SnapshotColumn column = singular.get(order.getProperty());
+                if (column == null) {
+                    throw unknownAttribute(order.getProperty());
+                }
+                final boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NATIVE ?
+                        order.isAscending() : order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+                comparator = comparator.thenComparing((row, other) -> {
+                    final boolean rowIsNull = column.nulls.get(row);
+                    final boolean otherIsNull = column.nulls.get(other);
+                    if (rowIsNull || otherIsNull) {
+                        return rowIsNull == otherIsNull ? 0 : (rowIsNull == nullsFirst ? -1 : 1);
+                    }
+                    final int compared = column.compare(row, other);
+                    return order.isAscending() ? compared : -compared;
+                });
+            }
+            return comparator.thenComparing(Comparator.naturalOrder());
+        }
+
+        private static IllegalArgumentException unknownAttribute(final String name) {
+            return new IllegalArgumentException("Attribute '" + name + "' is not held by the snapshot.");
+        }
+    }
+}
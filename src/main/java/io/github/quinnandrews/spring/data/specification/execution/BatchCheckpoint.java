@@ -0,0 +1,37 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+/**
+ * The position reached by a {@link SpecificationBatchRunner}, after the
+ * last chunk that was committed. Store it to restart a failed or
+ * interrupted run from where it stopped.
+ *
+ * @param lastKey The identifier of the last Entity processed, or null
+ *                if no Entity has been processed yet.
+ * @param chunks The number of chunks committed so far.
+ * @param items The number of Entities processed so far.
+ *
+ * @author Quinn Andrews
+ */
+public record BatchCheckpoint(Object lastKey, long chunks, long items) {
+
+    /**
+     * Returns a BatchCheckpoint to start a run from the beginning.
+     *
+     * @return A BatchCheckpoint before the first Entity.
+     */
+    public static BatchCheckpoint start() {
+        return new BatchCheckpoint(null, 0, 0);
+    }
+
+    /**
+     * Returns a new BatchCheckpoint, advanced past a chunk of the
+     * given size that ended with the given identifier.
+     *
+     * @param lastKey The identifier of the last Entity in the chunk.
+     * @param size The number of Entities in the chunk.
+     * @return A new BatchCheckpoint after the chunk.
+     */
+    BatchCheckpoint advance(final Object lastKey, final int size) {
+        return new BatchCheckpoint(lastKey, chunks + 1, items + size);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import java.time.Duration;
+
+/**
+ * Metrics of one chunk processed by a {@link SpecificationBatchRunner},
+ * reported after the chunk's transaction has been committed.
+ *
+ * @param chunk The number of the chunk within the run, starting at 1
+ *              (or after the chunks of the checkpoint restarted from).
+ * @param size The number of Entities in the chunk.
+ * @param readTime The time taken to read the chunk.
+ * @param processTime The time taken to process and commit the chunk.
+ * @param checkpoint The checkpoint after the chunk.
+ *
+ * @author Quinn Andrews
+ */
+public record BatchChunkMetrics(long chunk,
+                                int size,
+                                Duration readTime,
+                                Duration processTime,
+                                BatchCheckpoint checkpoint) {
+
+    /**
+     * Returns the throughput of the chunk, including both reading
+     * and processing.
+     *
+     * @return The number of Entities handled per second.
+     */
+    public double itemsPerSecond() {
+        final long nanos = readTime.plus(processTime).toNanos();
+        return nanos == 0 ? size : size * 1_000_000_000d / nanos;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+/**
+ * A range of numeric identifiers, one partition of the Entities
+ * read by a {@link SpecificationPartitionExecutor}.
+ *
+ * @param from The inclusive lower bound of the range.
+ * @param to The upper bound of the range.
+ * @param inclusive Whether the upper bound is inclusive, which is
+ *                  only the case for the last range.
+ *
+ * @author Quinn Andrews
+ */
+public record IdRange(long from, long to, boolean inclusive) {
+}
@@ -0,0 +1,191 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Adapts the streaming of Specification results to Project Reactor, for
+ * pushing large results to clients as they are read rather than once
+ * they have all been read. Requires {@code reactor-core}, an optional
+ * dependency of this project.
+ * <p>
+ * Every subscription opens an EntityManager and a read-only, resource
+ * local transaction of its own and reads rows from a cursor, in batches,
+ * on the given Scheduler, so that the blocking JDBC calls never run on
+ * an event loop. Rows are only read as they are requested, so slow
+ * subscribers apply backpressure all the way to the database, and the
+ * cursor, transaction and EntityManager are closed as soon as the Flux
+ * completes, fails or is cancelled, on the given Scheduler too, whichever
+ * thread cancels. The transaction is read-only the way Spring makes it
+ * read-only: Entities are loaded read-only and the session never flushes,
+ * and it is always rolled back.
+ *
+ * @author Quinn Andrews
+ */
+public class ReactiveSpecificationExecutor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Scheduler scheduler;
+
+    /**
+     * Creates a new ReactiveSpecificationExecutor that reads on the
+     * bounded elastic Scheduler.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to create
+     *                             the EntityManager of each subscription
+     *                             with.
+     * @throws NullPointerException if the given entityManagerFactory
+     *                              is null.
+     */
+    public ReactiveSpecificationExecutor(final EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Creates a new ReactiveSpecificationExecutor.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to create
+     *                             the EntityManager of each subscription
+     *                             with.
+     * @param scheduler The Scheduler to read on, which should bound the
+     *                  number of threads, and so connections, in use.
+     * @throws NullPointerException if any argument is null.
+     */
+    public ReactiveSpecificationExecutor(final EntityManagerFactory entityManagerFactory,
+                                         final Scheduler scheduler) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory,
+                "Argument 'entityManagerFactory' cannot be null.");
+        this.scheduler = Objects.requireNonNull(scheduler, "Argument 'scheduler' cannot be null.");
+    }
+
+    /**
+     * Returns a Flux of the Entities matching the given Specification.
+     * The Entities are detached once their batch has been read.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @param batchSize The number of rows to read, and to request from
+     *                  upstream, at a time.
+     * @return A Flux of the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or sort is
+     *                              null.
+     * @throws IllegalArgumentException if the given batchSize is less
+     *                                  than one.
+     */
+    public <T> Flux<T> findAll(final Class<T> domainClass,
+                               final Specification<T> specification,
+                               final Sort sort,
+                               final int batchSize) {
+        return findAll(domainClass, specification, sort, batchSize, Function.identity());
+    }
+
+    /**
+     * Returns a Flux of the Entities matching the given Specification,
+     * each mapped with the given function while it is still managed, so
+     * that the function may read lazy associations, for example to map
+     * each Entity to a projection.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @param batchSize The number of rows to read, and to request from
+     *                  upstream, at a time.
+     * @param mapper The function to map each Entity with.
+     * @return A Flux of the mapped Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @param <R> The type the Entities are mapped to.
+     * @throws NullPointerException if the given domainClass, sort or
+     *                              mapper is null.
+     * @throws IllegalArgumentException if the given batchSize is less
+     *                                  than one.
+     */
+    public <T, R> Flux<R> findAll(final Class<T> domainClass,
+                                  final Specification<T> specification,
+                                  final Sort sort,
+                                  final int batchSize,
+                                  final Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        Objects.requireNonNull(mapper, "Argument 'mapper' cannot be null.");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Argument 'batchSize' must be greater than zero.");
+        }
+        return Flux.<R, Cursor<T>>generate(
+                        () -> Cursor.open(entityManagerFactory, entityManager ->
+                                SpecificationQueries.createStream(entityManager, domainClass, specification, sort, batchSize)),
+                        (cursor, sink) -> {
+                            if (cursor.iterator().hasNext()) {
+                                sink.next(mapper.apply(cursor.iterator().next()));
+                            } else {
+                                sink.complete();
+                            }
+                            return cursor;
+                        },
+                        Cursor::close)
+                .subscribeOn(scheduler)
+                .cancelOn(scheduler)
+                .limitRate(batchSize);
+    }
+
+    /**
+     * An open database cursor, along with the transaction and the
+     * EntityManager it was opened with.
+     */
+    private record Cursor<T>(EntityManager entityManager,
+                             EntityTransaction transaction,
+                             Stream<T> stream,
+                             Iterator<T> iterator) {
+
+        static <T> Cursor<T> open(final EntityManagerFactory entityManagerFactory,
+                                  final Function<EntityManager, Stream<T>> query) {
+            final EntityManager entityManager = entityManagerFactory.createEntityManager();
+            final EntityTransaction transaction = entityManager.getTransaction();
+            try {
+                transaction.begin();
+                final Session session = entityManager.unwrap(Session.class);
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+                final Stream<T> stream = query.apply(entityManager);
+                return new Cursor<>(entityManager, transaction, stream, stream.iterator());
+            } catch (final RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                entityManager.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            try {
+                stream.close();
+            } finally {
+                try {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                } finally {
+                    entityManager.close();
+                }
+            }
+        }
+    }
+}
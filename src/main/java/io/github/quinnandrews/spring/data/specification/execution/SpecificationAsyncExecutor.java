@@ -0,0 +1,183 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Executes independent Specification queries concurrently, so that the
+ * counts, facets and page of a single request can be read at once rather
+ * than one after another. Each query runs on the given Executor in a
+ * read-only transaction of its own, and so with an EntityManager and a
+ * connection of its own.
+ * <p>
+ * At most the given number of queries hold a transaction at any time,
+ * however many are submitted and however many threads the Executor has,
+ * so that fanning out cannot exhaust the connection pool. The others wait
+ * for a permit on their own thread, which costs next to nothing with a
+ * virtual thread per task Executor on Java 21 or later.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationAsyncExecutor {
+
+    private static final String DOMAIN_CLASS_CANNOT_BE_NULL = "Argument 'domainClass' cannot be null.";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    /**
+     * Creates a new SpecificationAsyncExecutor.
+     *
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction of each query.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction of each query
+     *                           with.
+     * @param executor The Executor to run the queries on.
+     * @param maxConcurrency The maximum number of queries holding a
+     *                       transaction, and so a connection, at once.
+     *                       Should be less than the connection pool size.
+     * @throws NullPointerException if the given entityManager,
+     *                              transactionManager or executor is null.
+     * @throws IllegalArgumentException if the given maxConcurrency is
+     *                                  less than one.
+     */
+    public SpecificationAsyncExecutor(final EntityManager entityManager,
+                                      final PlatformTransactionManager transactionManager,
+                                      final Executor executor,
+                                      final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Argument 'maxConcurrency' must be greater than zero.");
+        }
+        this.entityManager = Objects.requireNonNull(entityManager, "Argument 'entityManager' cannot be null.");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "Argument 'transactionManager' cannot be null."));
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = Objects.requireNonNull(executor, "Argument 'executor' cannot be null.");
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Reads the Entities matching the given Specification.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return A CompletableFuture of the matching Entities, detached.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or sort
+     *                              is null.
+     */
+    public <T> CompletableFuture<List<T>> findAll(final Class<T> domainClass,
+                                                  final Specification<T> specification,
+                                                  final Sort sort) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        return supply(entityManager ->
+                SpecificationQueries.createQuery(entityManager, domainClass, specification, sort).getResultList());
+    }
+
+    /**
+     * Reads a Slice of the Entities matching the given Specification,
+     * without a count query.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @param pageable The page to read, including its Sort.
+     * @return A CompletableFuture of the Slice, with detached Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass or pageable
+     *                              is null.
+     */
+    public <T> CompletableFuture<Slice<T>> findSlice(final Class<T> domainClass,
+                                                     final Specification<T> specification,
+                                                     final Pageable pageable) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(pageable, "Argument 'pageable' cannot be null.");
+        return supply(entityManager ->
+                SpecificationQueries.readSlice(entityManager, domainClass, specification, pageable));
+    }
+
+    /**
+     * Counts the Entities matching the given Specification.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @return A CompletableFuture of the number of matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass is null.
+     */
+    public <T> CompletableFuture<Long> count(final Class<T> domainClass,
+                                             final Specification<T> specification) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        return supply(entityManager ->
+                SpecificationQueries.createCountQuery(entityManager, domainClass, specification).getSingleResult());
+    }
+
+    /**
+     * Checks whether any Entity matches the given Specification.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to match, can be null.
+     * @return A CompletableFuture of whether any Entity matches.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given domainClass is null.
+     */
+    public <T> CompletableFuture<Boolean> exists(final Class<T> domainClass,
+                                                 final Specification<T> specification) {
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        return supply(entityManager ->
+                !SpecificationQueries.createExistsQuery(entityManager, domainClass, specification)
+                        .getResultList()
+                        .isEmpty());
+    }
+
+    /**
+     * Runs the given query, for example one that reads facets with a
+     * group by, under the same rules as the other methods: on the
+     * Executor, in a read-only transaction of its own and within the
+     * maximum concurrency.
+     *
+     * @param query The query to run with the EntityManager bound to
+     *              its transaction.
+     * @return A CompletableFuture of the result of the query.
+     * @param <R> The result type of the query.
+     * @throws NullPointerException if the given query is null.
+     */
+    public <R> CompletableFuture<R> supply(final Function<EntityManager, R> query) {
+        Objects.requireNonNull(query, "Argument 'query' cannot be null.");
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return transactionTemplate.execute(status -> query.apply(entityManager));
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+}
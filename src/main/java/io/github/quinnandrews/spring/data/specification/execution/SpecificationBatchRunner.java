@@ -0,0 +1,190 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Processes the Entities matching a Specification in chunks, each in
+ * its own transaction. Chunks are read by keyset on the identifier,
+ * so reading the last chunk costs as much as reading the first, and
+ * each chunk ends with a {@link BatchCheckpoint} that a failed run can
+ * be restarted from.
+ * <p>
+ * Each chunk is read with two queries: the first selects the next
+ * identifiers in order, which a Specification can restrict without
+ * any fetch, and the second loads the Entities with those identifiers,
+ * fetching associations as defined by the Specification. Unlike
+ * limiting a query that fetches a collection, neither query has to
+ * be paginated in memory.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationBatchRunner<T> {
+
+    private final Class<T> domainClass;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates a new SpecificationBatchRunner.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction of each chunk.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction of each chunk
+     *                           with.
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationBatchRunner(final Class<T> domainClass,
+                                    final EntityManager entityManager,
+                                    final PlatformTransactionManager transactionManager) {
+        this.domainClass = Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        this.entityManager = Objects.requireNonNull(entityManager, "Argument 'entityManager' cannot be null.");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "Argument 'transactionManager' cannot be null."));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Processes all Entities matching the given Specification, from
+     * the beginning, in chunks of the given size.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param chunkSize The maximum number of Entities per chunk.
+     * @param processor Called with each chunk, within its transaction.
+     * @return The checkpoint after the last chunk.
+     * @throws NullPointerException if the given processor is null.
+     * @throws IllegalArgumentException if the given chunkSize is less
+     *                                  than one.
+     */
+    public BatchCheckpoint run(final Specification<T> specification,
+                               final int chunkSize,
+                               final Consumer<List<T>> processor) {
+        return run(specification, chunkSize, BatchCheckpoint.start(), processor, metrics -> {});
+    }
+
+    /**
+     * Processes the Entities matching the given Specification in chunks
+     * of the given size, starting after the given checkpoint. Each chunk
+     * is processed in a new transaction, which is committed before the
+     * listener is called. If processing a chunk fails, its transaction is
+     * rolled back and the exception is thrown, while the checkpoint last
+     * reported to the listener remains valid to restart from.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param chunkSize The maximum number of Entities per chunk.
+     * @param checkpoint The checkpoint to start after.
+     * @param processor Called with each chunk, within its transaction.
+     * @param listener Called with the metrics of each committed chunk.
+     * @return The checkpoint after the last chunk.
+     * @throws NullPointerException if the given checkpoint, processor
+     *                              or listener is null.
+     * @throws IllegalArgumentException if the given chunkSize is less
+     *                                  than one.
+     */
+    public BatchCheckpoint run(final Specification<T> specification,
+                               final int chunkSize,
+                               final BatchCheckpoint checkpoint,
+                               final Consumer<List<T>> processor,
+                               final Consumer<BatchChunkMetrics> listener) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Argument 'chunkSize' must be greater than zero.");
+        }
+        Objects.requireNonNull(checkpoint, "Argument 'checkpoint' cannot be null.");
+        Objects.requireNonNull(processor, "Argument 'processor' cannot be null.");
+        Objects.requireNonNull(listener, "Argument 'listener' cannot be null.");
+        BatchCheckpoint current = checkpoint;
+        while (true) {
+            final Object lastKey = current.lastKey();
+            final long start = System.nanoTime();
+            final long[] readEnd = new long[1];
+            final Chunk chunk = transactionTemplate.execute(status -> {
+                final List<?> keys = readKeys(specification, lastKey, chunkSize);
+                if (keys.isEmpty()) {
+                    return null;
+                }
+                final List<T> entities = readEntities(specification, keys);
+                readEnd[0] = System.nanoTime();
+                processor.accept(entities);
+                entityManager.flush();
+                entityManager.clear();
+                return new Chunk(keys.get(keys.size() - 1), keys.size());
+            });
+            if (chunk == null) {
+                return current;
+            }
+            final long end = System.nanoTime();
+            current = current.advance(chunk.lastKey(), chunk.size());
+            listener.accept(new BatchChunkMetrics(
+                    current.chunks(),
+                    chunk.size(),
+                    Duration.ofNanos(readEnd[0] - start),
+                    Duration.ofNanos(end - readEnd[0]),
+                    current));
+            if (chunk.size() < chunkSize) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Selects, in order, the identifiers of the next Entities matching
+     * the given Specification after the given identifier.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<?> readKeys(final Specification<T> specification,
+                             final Object lastKey,
+                             final int chunkSize) {
+        final SingularAttribute<? super T, ?> identifier = SpecificationQueries.identifierOf(entityManager, domainClass);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object> query = builder.createQuery(Object.class);
+        final Specification<T> after = lastKey == null ? specification :
+                Specification.<T>where((root, q, b) -> b.greaterThan((Path<Comparable>) root.get(identifier),
+                        (Comparable) lastKey)).and(specification);
+        final Root<T> root = SpecificationQueries.applySpecification(after, domainClass, query, builder);
+        query.select(root.get(identifier));
+        query.orderBy(builder.asc(root.get(identifier)));
+        return entityManager.createQuery(query)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+
+    /**
+     * Loads the Entities with the given identifiers, applying the given
+     * Specification so that its fetches are applied, in identifier order.
+     */
+    private List<T> readEntities(final Specification<T> specification,
+                                 final List<?> keys) {
+        final SingularAttribute<? super T, ?> identifier = SpecificationQueries.identifierOf(entityManager, domainClass);
+        final Specification<T> within = Specification.<T>where((root, q, b) -> root.get(identifier).in(keys))
+                .and(specification);
+        return SpecificationQueries.createQuery(entityManager, domainClass, within, Sort.by(identifier.getName()))
+                .getResultList();
+    }
+
+    /**
+     * The identifier of the last Entity in a chunk, along with the
+     * number of Entities in the chunk.
+     */
+    private record Chunk(Object lastKey, int size) {
+    }
+}
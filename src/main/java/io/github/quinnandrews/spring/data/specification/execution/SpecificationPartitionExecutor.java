@@ -0,0 +1,555 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the Entities matching a Specification in parallel, by splitting
+ * the range of their numeric identifiers into partitions and reading
+ * each partition in its own transaction, with its own connection, on
+ * the given Executor. The Executor bounds the parallelism: pass a fixed
+ * thread pool no larger than the connection pool or, on Java 21 or later,
+ * a virtual thread per task Executor. An ordered read needs the first
+ * Entity of every partition before it can return any, so it reads every
+ * partition at once and requires an Executor that can run that many tasks
+ * at once.
+ * <p>
+ * Each partition is streamed into a bounded queue as it is read, and
+ * the partitions are merged from the heads of their queues, so neither
+ * the whole of a partition nor the whole result is ever held in memory.
+ * The Entities are detached as their partition is read, so associations
+ * must be fetched with the Specification to be usable.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationPartitionExecutor<T> {
+
+    private static final String PARTITIONS_MUST_BE_POSITIVE = "Argument 'partitions' must be greater than zero.";
+    private static final long OFFER_INTERVAL_MILLIS = 100;
+
+    private final Class<T> domainClass;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int bufferSize;
+
+    /**
+     * Creates a new SpecificationPartitionExecutor that buffers up to
+     * {@link SpecificationQueries#DEFAULT_FETCH_SIZE} Entities of each
+     * partition.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root, with a numeric identifier.
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction of each partition.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction of each
+     *                           partition with.
+     * @param executor The Executor to read the partitions on.
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationPartitionExecutor(final Class<T> domainClass,
+                                          final EntityManager entityManager,
+                                          final PlatformTransactionManager transactionManager,
+                                          final Executor executor) {
+        this(domainClass, entityManager, transactionManager, executor, SpecificationQueries.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Creates a new SpecificationPartitionExecutor. Each partition is
+     * streamed from the database in batches of the given buffer size,
+     * into a queue that holds at most that many Entities, so memory use
+     * is bounded however many rows each partition has. A partition
+     * waits, with its connection, while its queue is full.
+     *
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root, with a numeric identifier.
+     * @param entityManager The shared EntityManager, bound to the
+     *                      transaction of each partition.
+     * @param transactionManager The PlatformTransactionManager to
+     *                           begin the transaction of each
+     *                           partition with.
+     * @param executor The Executor to read the partitions on.
+     * @param bufferSize The number of Entities of each partition to
+     *                   read ahead of the consumer at most.
+     * @throws NullPointerException if any argument is null.
+     * @throws IllegalArgumentException if the given bufferSize is less
+     *                                  than one.
+     */
+    public SpecificationPartitionExecutor(final Class<T> domainClass,
+                                          final EntityManager entityManager,
+                                          final PlatformTransactionManager transactionManager,
+                                          final Executor executor,
+                                          final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Argument 'bufferSize' must be greater than zero.");
+        }
+        this.domainClass = Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        this.entityManager = Objects.requireNonNull(entityManager, "Argument 'entityManager' cannot be null.");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "Argument 'transactionManager' cannot be null."));
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = Objects.requireNonNull(executor, "Argument 'executor' cannot be null.");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Splits the identifiers of the Entities matching the given
+     * Specification into at most the given number of ranges of
+     * (nearly) equal width. Returns no ranges if none match.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param partitions The number of ranges to split into.
+     * @return The ranges, in ascending order.
+     * @throws IllegalArgumentException if the given partitions is less
+     *                                  than one, or if the identifier
+     *                                  of the Entity is not numeric.
+     */
+    public List<IdRange> partition(final Specification<T> specification,
+                                   final int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException(PARTITIONS_MUST_BE_POSITIVE);
+        }
+        final Tuple bounds = transactionTemplate.execute(status -> readBounds(specification));
+        if (bounds == null || bounds.get(0) == null) {
+            return Collections.emptyList();
+        }
+        final long min = ((Number) bounds.get(0)).longValue();
+        final long max = ((Number) bounds.get(1)).longValue();
+        final long width = ((max - min) / partitions) + 1;
+        final List<IdRange> ranges = new ArrayList<>();
+        for (long from = min; from <= max; from += width) {
+            ranges.add(max - from < width ? new IdRange(from, max, true) : new IdRange(from, from + width, false));
+        }
+        return ranges;
+    }
+
+    /**
+     * Reads the Entities matching the given Specification in the given
+     * number of partitions at once. Returns them in no particular order,
+     * each as soon as it has been read. The Stream must be closed if not
+     * consumed entirely, to release the connections of the partitions
+     * still being read.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param partitions The number of partitions to read.
+     * @return A Stream of the matching Entities.
+     * @throws IllegalArgumentException if the given partitions is less
+     *                                  than one, or if the identifier
+     *                                  of the Entity is not numeric.
+     */
+    public Stream<T> findAll(final Specification<T> specification,
+                             final int partitions) {
+        final List<IdRange> ranges = partition(specification, partitions);
+        final PartitionQueue<T> queue = new PartitionQueue<>(bufferSize, ranges.size());
+        ranges.forEach(range -> executor.execute(() -> read(specification, range, Sort.unsorted(), queue)));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Iterator<T>() {
+
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = queue.take();
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final T value = next;
+                next = null;
+                return value;
+            }
+        }, Spliterator.NONNULL), false).onClose(queue::cancel);
+    }
+
+    /**
+     * Reads the Entities matching the given Specification in the given
+     * number of partitions at once, each ordered by the given Sort, and
+     * returns them merged in that order. The given Comparator must order
+     * Entities the same way the database orders them by the given Sort.
+     * Merging starts as soon as each partition has read its first
+     * Entity, so every partition is read at once: the Executor must be
+     * able to run the given number of partitions at once, and must have
+     * a thread free for each. A fixed thread pool, a ForkJoinPool or a
+     * ThreadPoolTaskExecutor with fewer threads than partitions is
+     * rejected; other Executors are assumed to start a thread for each
+     * task. The Stream must be closed if not consumed entirely, to
+     * release the connections of the partitions still being read.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to order each partition by.
+     * @param comparator The Comparator to merge the partitions with.
+     * @param partitions The number of partitions to read.
+     * @return A Stream of the matching Entities, in order.
+     * @throws NullPointerException if the given sort or comparator is
+     *                              null.
+     * @throws IllegalArgumentException if the given partitions is less
+     *                                  than one or more than the
+     *                                  Executor can run at once, or if
+     *                                  the identifier of the Entity is
+     *                                  not numeric.
+     */
+    public Stream<T> findAll(final Specification<T> specification,
+                             final Sort sort,
+                             final Comparator<? super T> comparator,
+                             final int partitions) {
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        Objects.requireNonNull(comparator, "Argument 'comparator' cannot be null.");
+        final int parallelism = parallelismOf(executor);
+        if (partitions > parallelism) {
+            throw new IllegalArgumentException("Argument 'partitions' cannot be more than the " + parallelism
+                    + " partitions the Executor can read at once when merging in order.");
+        }
+        final List<OrderedPartition> ordered = new ArrayList<>();
+        try {
+            for (final IdRange range : partition(specification, partitions)) {
+                final OrderedPartition partition = new OrderedPartition(specification, range, sort);
+                ordered.add(partition);
+                executor.execute(partition);
+            }
+        } catch (final RuntimeException e) {
+            ordered.forEach(OrderedPartition::cancel);
+            throw e;
+        }
+        final MergingIterator iterator = new MergingIterator(ordered, comparator);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::cancel);
+    }
+
+    /**
+     * Returns the number of tasks the given Executor runs at once, as
+     * far as it can be told, or Integer.MAX_VALUE if it cannot be told.
+     * A ThreadPoolExecutor only grows past its core size once its queue
+     * is full, which a SynchronousQueue always is.
+     */
+    private static int parallelismOf(final Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            return parallelismOf(taskExecutor.getThreadPoolExecutor());
+        }
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return pool.getQueue() instanceof SynchronousQueue<?>
+                    ? pool.getMaximumPoolSize()
+                    : Math.max(1, pool.getCorePoolSize());
+        }
+        if (executor instanceof ForkJoinPool pool) {
+            return pool.getParallelism();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Selects the lowest and highest identifiers of the Entities
+     * matching the given Specification.
+     */
+    @SuppressWarnings("unchecked")
+    private Tuple readBounds(final Specification<T> specification) {
+        final SingularAttribute<? super T, ?> identifier = numericIdentifier();
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        final Root<T> root = SpecificationQueries.applySpecification(specification, domainClass, query, builder);
+        final Path<Number> id = (Path<Number>) root.get(identifier);
+        query.multiselect(builder.min(id), builder.max(id));
+        query.distinct(false);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Streams the Entities matching the given Specification within the
+     * given range into the given queue, in a transaction of their own
+     * that stays open until the last Entity has been queued. Blocks
+     * while the queue is full, and stops once it has been cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    private void read(final Specification<T> specification,
+                      final IdRange range,
+                      final Sort sort,
+                      final PartitionQueue<T> queue) {
+        try {
+            final SingularAttribute<? super T, ?> identifier = numericIdentifier();
+            final Specification<T> within = Specification.<T>where((root, query, builder) -> {
+                final Path<Long> id = (Path<Long>) root.get(identifier);
+                return builder.and(
+                        builder.greaterThanOrEqualTo(id, range.from()),
+                        range.inclusive() ? builder.lessThanOrEqualTo(id, range.to()) : builder.lessThan(id, range.to()));
+            }).and(specification);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<T> stream = SpecificationQueries.createStream(
+                        entityManager, domainClass, within, sort, bufferSize)) {
+                    final Iterator<T> iterator = stream.iterator();
+                    while (iterator.hasNext() && queue.put(iterator.next())) {
+                        // keep queueing until read or cancelled
+                    }
+                }
+            });
+            queue.complete();
+        } catch (final RuntimeException | Error e) {
+            queue.fail(e);
+        }
+    }
+
+    /**
+     * Returns the identifier attribute of the Entity, which must be
+     * numeric to be split into ranges.
+     */
+    private SingularAttribute<? super T, ?> numericIdentifier() {
+        final SingularAttribute<? super T, ?> identifier = SpecificationQueries.identifierOf(entityManager, domainClass);
+        final Class<?> type = identifier.getJavaType();
+        if (!(Long.class.equals(type) || Integer.class.equals(type) || Short.class.equals(type)
+                || long.class.equals(type) || int.class.equals(type) || short.class.equals(type))) {
+            throw new IllegalArgumentException("Entity '" + domainClass.getName() + "' does not have a numeric identifier.");
+        }
+        return identifier;
+    }
+
+    /**
+     * Merges ordered partitions with a priority queue holding the
+     * next Entity of each partition, taking the following Entity of
+     * a partition from its queue once the previous one is returned.
+     */
+    private class MergingIterator implements Iterator<T> {
+
+        private final List<OrderedPartition> partitions;
+        private final PriorityQueue<Head<T>> heads;
+        private boolean started;
+
+        MergingIterator(final List<OrderedPartition> partitions,
+                        final Comparator<? super T> comparator) {
+            this.partitions = partitions;
+            this.heads = new PriorityQueue<>(Math.max(1, partitions.size()),
+                    (left, right) -> comparator.compare(left.value(), right.value()));
+        }
+
+        @Override
+        public boolean hasNext() {
+            start();
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Head<T> head = heads.poll();
+            advance(head.partition());
+            return head.value();
+        }
+
+        /**
+         * Cancels the partitions still being read.
+         */
+        void cancel() {
+            partitions.forEach(OrderedPartition::cancel);
+        }
+
+        private void start() {
+            if (started) {
+                return;
+            }
+            started = true;
+            partitions.forEach(this::advance);
+        }
+
+        private void advance(final OrderedPartition partition) {
+            final T value;
+            try {
+                value = partition.take();
+            } catch (final RuntimeException | Error e) {
+                cancel();
+                throw e;
+            }
+            if (value != null) {
+                heads.add(new Head<>(value, partition));
+            }
+        }
+    }
+
+    /**
+     * The next Entity of a partition, along with the partition.
+     */
+    private record Head<E>(E value, SpecificationPartitionExecutor<E>.OrderedPartition partition) {
+    }
+
+    /**
+     * A partition of an ordered read, which is streamed into a bounded
+     * queue of its own on the Executor.
+     */
+    private class OrderedPartition implements Runnable {
+
+        private final Specification<T> specification;
+        private final IdRange range;
+        private final Sort sort;
+        private final PartitionQueue<T> queue;
+
+        OrderedPartition(final Specification<T> specification,
+                         final IdRange range,
+                         final Sort sort) {
+            this.specification = specification;
+            this.range = range;
+            this.sort = sort;
+            this.queue = new PartitionQueue<>(bufferSize, 1);
+        }
+
+        @Override
+        public void run() {
+            read(specification, range, sort, queue);
+        }
+
+        /**
+         * Returns the next Entity of the partition, or null once it
+         * has been read entirely.
+         */
+        T take() {
+            return queue.take();
+        }
+
+        void cancel() {
+            queue.cancel();
+        }
+    }
+
+    /**
+     * A bounded queue the given number of partitions stream their
+     * Entities into, followed by a signal that they have completed
+     * or failed. Partitions block while the queue is full, until it
+     * is either consumed or cancelled.
+     */
+    private static class PartitionQueue<T> {
+
+        private static final Object COMPLETED = new Object();
+
+        private final BlockingQueue<Object> queue;
+        private int remaining;
+        private volatile boolean cancelled;
+
+        PartitionQueue(final int capacity,
+                       final int partitions) {
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.remaining = partitions;
+        }
+
+        /**
+         * Queues the given Entity, blocking while the queue is full.
+         * Returns false if the queue has been cancelled, in which case
+         * the partition should stop reading.
+         */
+        boolean put(final T value) {
+            return offer(value);
+        }
+
+        /**
+         * Signals that a partition has been read entirely.
+         */
+        void complete() {
+            offer(COMPLETED);
+        }
+
+        /**
+         * Signals that a partition has failed to be read.
+         */
+        void fail(final Throwable cause) {
+            offer(new Failure(cause));
+        }
+
+        /**
+         * Returns the next Entity, blocking until one has been queued,
+         * or null once every partition has completed. Rethrows the
+         * failure of a partition, cancelling the others.
+         */
+        @SuppressWarnings("unchecked")
+        T take() {
+            while (remaining > 0) {
+                final Object item;
+                try {
+                    item = queue.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new CompletionException(e);
+                }
+                if (item == COMPLETED) {
+                    remaining--;
+                } else if (item instanceof Failure failure) {
+                    cancel();
+                    if (failure.cause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    if (failure.cause() instanceof Error error) {
+                        throw error;
+                    }
+                    throw new CompletionException(failure.cause());
+                } else {
+                    return (T) item;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Discards what has been queued and stops the partitions
+         * that are still being read.
+         */
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+
+        private boolean offer(final Object item) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(item, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The failure of a partition.
+     */
+    private record Failure(Throwable cause) {
+    }
+}
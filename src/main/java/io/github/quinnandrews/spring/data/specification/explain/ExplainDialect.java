@@ -0,0 +1,42 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Explains SQL with the EXPLAIN statement of one database, and reads how
+ * tables are accessed from the plan it reports.
+ *
+ * @author Quinn Andrews
+ */
+public interface ExplainDialect {
+
+    /**
+     * Returns true if this dialect explains SQL for the database of the
+     * given product name, as reported by the JDBC driver.
+     *
+     * @param databaseProductName The product name of the database.
+     * @return True if the database is supported.
+     */
+    boolean supports(String databaseProductName);
+
+    /**
+     * Returns the plan of the given SQL, which may have JDBC parameters
+     * that are not bound.
+     *
+     * @param connection The Connection to explain with.
+     * @param sql The SQL to explain.
+     * @return The plan reported by the database.
+     * @throws SQLException if the SQL cannot be explained.
+     */
+    String explain(Connection connection, String sql) throws SQLException;
+
+    /**
+     * Returns how each table is accessed in the given plan.
+     *
+     * @param plan A plan returned by explain().
+     * @return How each table is accessed.
+     */
+    List<SpecificationPlan.TableAccess> accessesOf(String plan);
+}
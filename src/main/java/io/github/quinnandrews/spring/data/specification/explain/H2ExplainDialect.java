@@ -0,0 +1,66 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Explains SQL with H2's EXPLAIN, which plans statements with unbound
+ * parameters, and reads the index H2 chose for each table from the
+ * comments of the plan, such as {@code PUBLIC.GUITAR_PEDAL.tableScan} or
+ * {@code PUBLIC.GUITAR_PEDAL_NAME: NAME = ?1}.
+ *
+ * @author Quinn Andrews
+ */
+public class H2ExplainDialect implements ExplainDialect {
+
+    private static final Pattern ACCESS = Pattern.compile(
+            "(?:FROM|JOIN)\\s+\"?\\w+\"?\\.\"?(\\w+)\"?\\s+\"?(\\w+)\"?\\s*/\\*\\s*\\w+\\.([\\w.]+?)(?::\\s*(.*?))?\\s*\\*/",
+            Pattern.DOTALL);
+    private static final String TABLE_SCAN = ".tableScan";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(final String databaseProductName) {
+        return "H2".equalsIgnoreCase(databaseProductName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String explain(final Connection connection,
+                          final String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            final StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SpecificationPlan.TableAccess> accessesOf(final String plan) {
+        final List<SpecificationPlan.TableAccess> accesses = new ArrayList<>();
+        final Matcher matcher = ACCESS.matcher(plan);
+        while (matcher.find()) {
+            final String index = matcher.group(3);
+            accesses.add(index.endsWith(TABLE_SCAN) ?
+                    new SpecificationPlan.TableAccess(matcher.group(1), matcher.group(2), null, null) :
+                    new SpecificationPlan.TableAccess(matcher.group(1), matcher.group(2), index, matcher.group(4)));
+        }
+        return accesses;
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Supplies a sample value for each parameter of a method returning a
+ * Specification, so that the method can be called to explain the
+ * Specification it returns. Values are never null, so that no filter is
+ * skipped as a ghost: a parameter of a type there is no sample value of
+ * fails instead, rather than explaining a different query.
+ *
+ * @author Quinn Andrews
+ */
+final class SampleArguments {
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private SampleArguments() {
+        // no-op
+    }
+
+    /**
+     * Returns a sample value of the type of the given parameter.
+     *
+     * @param parameter The parameter to return a value for.
+     * @return A sample value.
+     * @throws IllegalStateException if there is no sample value of the
+     *                               type of the given parameter.
+     */
+    static Object of(final MethodParameter parameter) {
+        final ResolvableType type = ResolvableType.forMethodParameter(parameter);
+        final Object value = of(type);
+        if (value == null) {
+            throw new IllegalStateException("No sample value of type '" + type + "' for parameter "
+                    + parameter.getParameterIndex() + " of '" + parameter.getDeclaringClass().getSimpleName() + "."
+                    + parameter.getExecutable().getName() + "', pass the arguments to explainSpecificationsBeans().");
+        }
+        return value;
+    }
+
+    /**
+     * Returns a sample value of the given type, or null if there is none.
+     */
+
+    private static Object of(final ResolvableType type) {
+        final Class<?> rawType = type.toClass();
+        if (rawType == String.class) {
+            return "sample";
+        }
+        if (rawType == Integer.class || rawType == int.class) {
+            return 1;
+        }
+        if (rawType == Long.class || rawType == long.class) {
+            return 1L;
+        }
+        if (rawType == Short.class || rawType == short.class) {
+            return (short) 1;
+        }
+        if (rawType == Byte.class || rawType == byte.class) {
+            return (byte) 1;
+        }
+        if (rawType == Double.class || rawType == double.class) {
+            return 1.0;
+        }
+        if (rawType == Float.class || rawType == float.class) {
+            return 1.0f;
+        }
+        if (rawType == Boolean.class || rawType == boolean.class) {
+            return true;
+        }
+        if (rawType == Character.class || rawType == char.class) {
+            return 's';
+        }
+        if (rawType == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (rawType == BigInteger.class) {
+            return BigInteger.ONE;
+        }
+        if (rawType == LocalDate.class) {
+            return LocalDate.of(2020, 1, 1);
+        }
+        if (rawType == LocalDateTime.class) {
+            return LocalDateTime.of(2020, 1, 1, 0, 0);
+        }
+        if (rawType == Instant.class) {
+            return Instant.EPOCH;
+        }
+        if (rawType.isEnum() && rawType.getEnumConstants().length > 0) {
+            return rawType.getEnumConstants()[0];
+        }
+        if (Collection.class.isAssignableFrom(rawType)) {
+            final Object element = of(type.asCollection().getGeneric(0));
+            if (element == null) {
+                return null;
+            }
+            return Set.class.isAssignableFrom(rawType) ? Set.of(element) : List.of(element);
+        }
+        return null;
+    }
+}
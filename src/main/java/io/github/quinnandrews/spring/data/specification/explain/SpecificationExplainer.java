@@ -0,0 +1,319 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import io.github.quinnandrews.spring.data.specification.annotations.Specifications;
+import io.github.quinnandrews.spring.data.specification.builder.AttributeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.CompositeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.HintedSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationOperator;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Explains the SQL Hibernate renders from Specifications, to find queries
+ * that cannot use an index before they reach production: the
+ * SpecificationPlan of a Specification reports how the database accesses
+ * each table, and flags full table scans, columns wrapped in functions or
+ * casts, such as the {@code lower(cast(name as varchar)) like ?} rendered
+ * for case-insensitive LIKEs, and LIKE patterns starting with a wildcard.
+ * <p>
+ * The SQL is captured as Hibernate prepares the query, which is then
+ * abandoned, so no rows are read, and is explained with its parameters
+ * unbound, by an {@link ExplainDialect}; {@link H2ExplainDialect} is
+ * built in. To run in CI, explainSpecificationsBeans() explains the
+ * Specifications returned by every method of the
+ * {@link Specifications @Specifications} beans of an ApplicationContext.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationExplainer {
+
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|join)\\s+(\\w+)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CAST = Pattern.compile("\\bcast\\(\\s*(\\w+)\\.(\\w+)\\s+as\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FUNCTION = Pattern.compile(
+            "\\b(lower|upper|trim|ltrim|rtrim|substring|substr|coalesce|abs|length|char_length|extract|year|month|day)"
+                    + "\\(\\s*(?:cast\\(\\s*)?(\\w+)\\.(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern LEADING_WILDCARD = Pattern.compile(
+            "(?:(\\w+)\\.(\\w+)\\)*\\s+)?like\\s+'([%_][^']*)'", Pattern.CASE_INSENSITIVE);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExplainDialect dialect;
+
+    /**
+     * Creates a new SpecificationExplainer, explaining with the built-in
+     * ExplainDialect of the database.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to render SQL with.
+     * @throws NullPointerException if the given entityManagerFactory is null.
+     */
+    public SpecificationExplainer(final EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, null);
+    }
+
+    /**
+     * Creates a new SpecificationExplainer, explaining with the given
+     * ExplainDialect.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to render SQL with.
+     * @param dialect The ExplainDialect to explain with, or null to use
+     *                the built-in ExplainDialect of the database.
+     * @throws NullPointerException if the given entityManagerFactory is null.
+     */
+    public SpecificationExplainer(final EntityManagerFactory entityManagerFactory,
+                                  final ExplainDialect dialect) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory,
+                "Argument 'entityManagerFactory' cannot be null.");
+        this.dialect = dialect;
+    }
+
+    /**
+     * Returns the plan of the query that selects the given Entities by the
+     * given Specification.
+     *
+     * @param domainClass The Entity Class to query.
+     * @param specification The Specification to explain, can be null.
+     * @return The plan of the query.
+     * @param <T> The Entity Type.
+     * @throws NullPointerException if the given domainClass is null.
+     * @throws IllegalStateException if no ExplainDialect supports the
+     *                               database, or the SQL cannot be captured.
+     */
+    public <T> SpecificationPlan explain(final Class<T> domainClass,
+                                         final Specification<T> specification) {
+        Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        final List<String> statements = new ArrayList<>(1);
+        try (Session session = entityManagerFactory.unwrap(SessionFactory.class).withOptions()
+                .statementInspector(sql -> {
+                    statements.add(sql);
+                    throw new CapturedException();
+                })
+                .openSession()) {
+            final CriteriaBuilder builder = session.getCriteriaBuilder();
+            final CriteriaQuery<T> query = builder.createQuery(domainClass);
+            final Root<T> root = query.from(domainClass);
+            final Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            try {
+                session.createQuery(query).getResultList();
+            } catch (final CapturedException e) {
+                // the query is abandoned once its SQL is captured
+            }
+            if (statements.isEmpty()) {
+                throw new IllegalStateException("No SQL was rendered for the Specification.");
+            }
+            final String sql = statements.get(0);
+            return session.doReturningWork(connection -> {
+                final ExplainDialect explainDialect = dialect != null ? dialect :
+                        dialectOf(connection.getMetaData().getDatabaseProductName());
+                final String plan = explainDialect.explain(connection, sql);
+                final List<SpecificationPlan.TableAccess> accesses = explainDialect.accessesOf(plan);
+                return new SpecificationPlan(sql, plan, accesses, findingsOf(sql, accesses, specification));
+            });
+        }
+    }
+
+    /**
+     * Returns the plans of the Specifications returned by every public
+     * method of the {@link Specifications @Specifications} beans of the
+     * given ApplicationContext, keyed by the simple name of the bean's
+     * Class and the name of the method. Methods are called with sample
+     * values, never null, so that no filter is skipped: Strings, numbers,
+     * Booleans, Characters, dates, enums and Collections of those.
+     *
+     * @param context The ApplicationContext to find the beans in.
+     * @return The plans keyed by {@code "Class.method"}.
+     * @throws NullPointerException if the given context is null.
+     * @throws IllegalStateException if a method fails, or has a parameter
+     *                               of a type there is no sample value of,
+     *                               in which case pass the arguments.
+     */
+    public SortedMap<String, SpecificationPlan> explainSpecificationsBeans(final ApplicationContext context) {
+        return explainSpecificationsBeans(context, SampleArguments::of);
+    }
+
+    /**
+     * Returns the plans of the Specifications returned by every public
+     * method of the {@link Specifications @Specifications} beans of the
+     * given ApplicationContext, keyed by the simple name of the bean's
+     * Class and the name of the method, called with the given arguments.
+     *
+     * @param context The ApplicationContext to find the beans in.
+     * @param arguments Returns the argument of each parameter of the methods.
+     * @return The plans keyed by {@code "Class.method"}.
+     * @throws NullPointerException if either argument is null.
+     * @throws IllegalStateException if a method fails.
+     */
+    @SuppressWarnings("unchecked")
+    public SortedMap<String, SpecificationPlan> explainSpecificationsBeans(final ApplicationContext context,
+                                                                           final Function<MethodParameter, Object> arguments) {
+        Objects.requireNonNull(context, "Argument 'context' cannot be null.");
+        Objects.requireNonNull(arguments, "Argument 'arguments' cannot be null.");
+        final SortedMap<String, SpecificationPlan> plans = new TreeMap<>();
+        for (final Object bean : context.getBeansWithAnnotation(Specifications.class).values()) {
+            final Class<?> beanClass = AopUtils.getTargetClass(bean);
+            for (final Method method : beanClass.getMethods()) {
+                final Class<?> domainClass = domainClassOf(method);
+                if (domainClass == null) {
+                    continue;
+                }
+                final Object[] values = new Object[method.getParameterCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = arguments.apply(new MethodParameter(method, i));
+                }
+                final Specification<Object> specification;
+                try {
+                    specification = (Specification<Object>) method.invoke(bean, values);
+                } catch (final IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Failed to call '" + beanClass.getSimpleName() + "."
+                            + method.getName() + "'.", e);
+                }
+                plans.put(beanClass.getSimpleName() + "." + method.getName(),
+                        explain((Class<Object>) domainClass, specification));
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Returns the Entity Class of the Specification the given method
+     * returns, or null if it is not a public instance method returning a
+     * Specification of a known Entity Class.
+     */
+    private static Class<?> domainClassOf(final Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || !Specification.class.isAssignableFrom(method.getReturnType())) {
+            return null;
+        }
+        return ResolvableType.forMethodReturnType(method).as(Specification.class).resolveGeneric(0);
+    }
+
+    /**
+     * Returns the built-in ExplainDialect of the database of the given
+     * product name.
+     */
+    private static ExplainDialect dialectOf(final String databaseProductName) {
+        final ExplainDialect h2 = new H2ExplainDialect();
+        if (h2.supports(databaseProductName)) {
+            return h2;
+        }
+        throw new IllegalStateException("No ExplainDialect supports '" + databaseProductName
+                + "', pass one to the SpecificationExplainer.");
+    }
+
+    /**
+     * Returns what keeps the given SQL from using an index, from the given
+     * accesses of its plan, its text, and the LIKE patterns of the given
+     * Specification.
+     */
+    private static List<SpecificationPlan.Finding> findingsOf(final String sql,
+                                                              final List<SpecificationPlan.TableAccess> accesses,
+                                                              final Specification<?> specification) {
+        final Set<SpecificationPlan.Finding> findings = new LinkedHashSet<>();
+        for (final SpecificationPlan.TableAccess access : accesses) {
+            if (access.isTableScan()) {
+                findings.add(new SpecificationPlan.Finding(
+                        SpecificationPlan.FindingType.FULL_TABLE_SCAN, access.table(), access.alias()));
+            }
+        }
+        final Map<String, String> tables = new HashMap<>();
+        final Matcher tableMatcher = TABLE.matcher(sql);
+        while (tableMatcher.find()) {
+            tables.put(tableMatcher.group(2), tableMatcher.group(1));
+        }
+        final int from = Math.max(0, sql.toLowerCase().indexOf(" from "));
+        final String conditions = sql.substring(from);
+        final Matcher functionMatcher = FUNCTION.matcher(conditions);
+        while (functionMatcher.find()) {
+            findings.add(new SpecificationPlan.Finding(SpecificationPlan.FindingType.FUNCTION_ON_COLUMN,
+                    columnOf(tables, functionMatcher.group(2), functionMatcher.group(3)), functionMatcher.group()));
+        }
+        final Matcher castMatcher = CAST.matcher(conditions);
+        while (castMatcher.find()) {
+            findings.add(new SpecificationPlan.Finding(SpecificationPlan.FindingType.CAST_ON_COLUMN,
+                    columnOf(tables, castMatcher.group(1), castMatcher.group(2)), castMatcher.group()));
+        }
+        final Matcher wildcardMatcher = LEADING_WILDCARD.matcher(conditions);
+        while (wildcardMatcher.find()) {
+            findings.add(new SpecificationPlan.Finding(SpecificationPlan.FindingType.LEADING_WILDCARD,
+                    wildcardMatcher.group(1) == null ? "?" :
+                            columnOf(tables, wildcardMatcher.group(1), wildcardMatcher.group(2)),
+                    "'" + wildcardMatcher.group(3) + "'"));
+        }
+        addLeadingWildcards(specification, findings);
+        return new ArrayList<>(findings);
+    }
+
+    /**
+     * Adds a finding for each LIKE of the given Specification whose
+     * pattern, bound as a parameter, starts with a wildcard.
+     */
+    private static void addLeadingWildcards(final Specification<?> specification,
+                                            final Set<SpecificationPlan.Finding> findings) {
+        if (specification instanceof HintedSpecification<?> hinted) {
+            addLeadingWildcards(hinted.getDelegate(), findings);
+        } else if (specification instanceof CompositeSpecification<?> composite) {
+            addLeadingWildcards(composite.getLeft(), findings);
+            addLeadingWildcards(composite.getRight(), findings);
+        } else if (specification instanceof AttributeSpecification<?> leaf
+                && (leaf.getOperator() == SpecificationOperator.LIKE || leaf.getOperator() == SpecificationOperator.NOT_LIKE)) {
+            for (final Object value : leaf.getValues()) {
+                if (value instanceof String pattern && (pattern.startsWith("%") || pattern.startsWith("_"))) {
+                    findings.add(new SpecificationPlan.Finding(SpecificationPlan.FindingType.LEADING_WILDCARD,
+                            leaf.getAttribute().getDeclaringType().getJavaType().getSimpleName() + "."
+                                    + leaf.getAttribute().getName(),
+                            "'" + pattern + "'"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the given column of the table of the given alias.
+     */
+    private static String columnOf(final Map<String, String> tables,
+                                   final String alias,
+                                   final String column) {
+        return tables.getOrDefault(alias, alias) + "." + column;
+    }
+
+    /**
+     * Abandons a query once its SQL is captured.
+     */
+    private static final class CapturedException extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private CapturedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The execution plan of the SQL rendered from a Specification, as
+ * summarized by {@link SpecificationExplainer}: how each table is accessed,
+ * and what keeps the query from using an index.
+ *
+ * @param sql The SQL rendered from the Specification.
+ * @param plan The plan as reported by the database.
+ * @param accesses How each table in the plan is accessed.
+ * @param findings What keeps the query from using an index.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationPlan(String sql,
+                                String plan,
+                                List<TableAccess> accesses,
+                                List<Finding> findings) {
+
+    /**
+     * Creates a new SpecificationPlan.
+     *
+     * @throws NullPointerException if any argument is null.
+     */
+    public SpecificationPlan {
+        Objects.requireNonNull(sql, "Argument 'sql' cannot be null.");
+        Objects.requireNonNull(plan, "Argument 'plan' cannot be null.");
+        accesses = List.copyOf(Objects.requireNonNull(accesses, "Argument 'accesses' cannot be null."));
+        findings = List.copyOf(Objects.requireNonNull(findings, "Argument 'findings' cannot be null."));
+    }
+
+    /**
+     * Returns true if anything keeps the query from using an index.
+     *
+     * @return True if there are any findings.
+     */
+    public boolean hasFindings() {
+        return !findings.isEmpty();
+    }
+
+    /**
+     * Returns the findings of the given type.
+     *
+     * @param type The type of findings to return.
+     * @return The findings of the given type.
+     */
+    public List<Finding> findingsOf(final FindingType type) {
+        return findings.stream().filter(finding -> finding.type() == type).toList();
+    }
+
+    /**
+     * How one table is accessed in the plan.
+     *
+     * @param table The name of the table.
+     * @param alias The alias of the table in the SQL.
+     * @param index The name of the index used, or null for a table scan.
+     * @param condition The condition the index is searched by, or null.
+     */
+    public record TableAccess(String table,
+                              String alias,
+                              String index,
+                              String condition) {
+
+        /**
+         * Returns true if every row of the table is read.
+         *
+         * @return True if no index is used.
+         */
+        public boolean isTableScan() {
+            return index == null;
+        }
+    }
+
+    /**
+     * Something that keeps the query from using an index.
+     *
+     * @param type The type of the finding.
+     * @param subject The table, column or attribute concerned.
+     * @param detail The part of the SQL or plan found.
+     */
+    public record Finding(FindingType type,
+                          String subject,
+                          String detail) {
+    }
+
+    /**
+     * The types of findings.
+     */
+    public enum FindingType {
+
+        /**
+         * The plan reads every row of a table.
+         */
+        FULL_TABLE_SCAN,
+
+        /**
+         * A column is wrapped in a function, such as {@code lower(name)},
+         * so an index of the column cannot be searched.
+         */
+        FUNCTION_ON_COLUMN,
+
+        /**
+         * A column is cast, so an index of the column cannot be searched.
+         */
+        CAST_ON_COLUMN,
+
+        /**
+         * A LIKE pattern starts with a wildcard, so an index cannot be
+         * searched by prefix.
+         */
+        LEADING_WILDCARD
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.quinnandrews.spring.data.specification.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of building a Specification with
+ * SpecificationBuilder, lasting from {@code SpecificationBuilder.from()}
+ * to the first {@code toSpecification()}.
+ *
+ * @author Quinn Andrews
+ */
+@Name(SpecificationBuildEvent.NAME)
+@Label("Specification Build")
+@Description("Building a Specification with SpecificationBuilder")
+@Category({"Spring Data", "Specification"})
+@StackTrace(false)
+public final class SpecificationBuildEvent extends Event {
+
+    public static final String NAME = "io.github.quinnandrews.specification.Build";
+
+    @Label("Domain Class")
+    public Class<?> domainClass;
+
+    @Label("Shape")
+    @Description("The fingerprint of the Specification without its values")
+    public String shape;
+
+    @Label("Predicate Count")
+    public int predicateCount;
+
+    @Label("Ghost Count")
+    @Description("Filters skipped for want of a value")
+    public int ghostCount;
+
+    @Label("Fetch Count")
+    public int fetchCount;
+}
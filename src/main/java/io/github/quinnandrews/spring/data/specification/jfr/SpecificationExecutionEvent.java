@@ -0,0 +1,52 @@
+package io.github.quinnandrews.spring.data.specification.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of executing a Repository method that queries
+ * by Specification. The stack trace is recorded, to find the caller of
+ * slow or large queries.
+ *
+ * @author Quinn Andrews
+ */
+@Name(SpecificationExecutionEvent.NAME)
+@Label("Specification Execution")
+@Description("Executing a Repository method that queries by Specification")
+@Category({"Spring Data", "Specification"})
+@StackTrace(true)
+public final class SpecificationExecutionEvent extends Event {
+
+    public static final String NAME = "io.github.quinnandrews.specification.Execution";
+
+    @Label("Domain Class")
+    public Class<?> domainClass;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Shape")
+    @Description("The fingerprint of the Specification without its values")
+    public String shape;
+
+    @Label("Predicate Count")
+    public int predicateCount;
+
+    @Label("Ghost Count")
+    @Description("Filters skipped for want of a value")
+    public int ghostCount;
+
+    @Label("Fetch Count")
+    public int fetchCount;
+
+    @Label("Row Count")
+    @Description("The rows returned, or -1 if the method does not return rows")
+    public long rowCount;
+
+    @Label("Successful")
+    public boolean successful;
+}
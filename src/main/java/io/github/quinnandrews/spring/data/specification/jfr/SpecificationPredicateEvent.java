@@ -0,0 +1,39 @@
+package io.github.quinnandrews.spring.data.specification.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of rendering a Specification built with
+ * SpecificationBuilder or SpecificationFactory as a JPA Predicate with
+ * {@code toPredicate()}. Only the outermost Specification rendered is
+ * recorded, not each of the Specifications it is composed of.
+ *
+ * @author Quinn Andrews
+ */
+@Name(SpecificationPredicateEvent.NAME)
+@Label("Specification Predicate")
+@Description("Rendering a Specification as a JPA Predicate")
+@Category({"Spring Data", "Specification"})
+@StackTrace(false)
+public final class SpecificationPredicateEvent extends Event {
+
+    public static final String NAME = "io.github.quinnandrews.specification.Predicate";
+
+    @Label("Domain Class")
+    public Class<?> domainClass;
+
+    @Label("Shape")
+    @Description("The fingerprint of the Specification without its values")
+    public String shape;
+
+    @Label("Predicate Count")
+    public int predicateCount;
+
+    @Label("Fetch Count")
+    public int fetchCount;
+}
@@ -0,0 +1,57 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.jfr.SpecificationExecutionEvent;
+import jdk.jfr.EventType;
+
+/**
+ * Records a JDK Flight Recorder {@link SpecificationExecutionEvent} of each
+ * Specification execution, so that GC pauses and allocation spikes in a
+ * recording can be correlated with the queries running at the time. While
+ * the event is not enabled, nothing is recorded or computed, and the
+ * execution is not touched.
+ *
+ * @author Quinn Andrews
+ */
+public class JfrSpecificationExecutionListener implements SpecificationExecutionListener {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(SpecificationExecutionEvent.class);
+    private static final Object EVENT = new Object();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeExecution(final SpecificationExecution execution) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return;
+        }
+        final SpecificationExecutionEvent event = new SpecificationExecutionEvent();
+        event.begin();
+        execution.setAttribute(EVENT, event);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterExecution(final SpecificationExecution execution) {
+        final SpecificationExecutionEvent event = execution.getAttribute(EVENT);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            final SpecificationShape shape = execution.getShape();
+            event.domainClass = execution.getDomainClass();
+            event.method = execution.getMethodName();
+            event.shape = shape.fingerprint();
+            event.predicateCount = shape.predicateCount();
+            event.ghostCount = shape.ghostCount();
+            event.fetchCount = shape.fetchCount();
+            event.rowCount = execution.getRowCount().orElse(-1);
+            event.successful = execution.isSuccessful();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records Micrometer metrics of each Specification execution, tagged by
+ * Entity Class, Repository method, the shape of the Specification's
+ * fingerprint, whether it fetches associations, and outcome:
+ * <ul>
+ *     <li>{@value #EXECUTION_TIMER}, a Timer of the executions.</li>
+ *     <li>{@value #PREDICATES_SUMMARY}, the filtering predicates per
+ *     execution.</li>
+ *     <li>{@value #GHOSTS_SUMMARY}, the filters skipped per execution
+ *     for want of a value.</li>
+ *     <li>{@value #ROWS_SUMMARY}, the rows returned per execution, where
+ *     rows are returned.</li>
+ * </ul>
+ * Shapes carry no values, so their number is bounded by the code building
+ * Specifications. To bound the cardinality of the tags regardless, only
+ * the first shapes seen, up to a maximum, are tagged as themselves, and
+ * any others as {@value #OTHER_SHAPE}.
+ *
+ * @author Quinn Andrews
+ */
+public class MicrometerSpecificationExecutionListener implements SpecificationExecutionListener {
+
+    /**
+     * The name of the Timer of the executions.
+     */
+    public static final String EXECUTION_TIMER = "specification.execution";
+
+    /**
+     * The name of the summary of the filtering predicates per execution.
+     */
+    public static final String PREDICATES_SUMMARY = "specification.predicates";
+
+    /**
+     * The name of the summary of the filters skipped per execution for
+     * want of a value.
+     */
+    public static final String GHOSTS_SUMMARY = "specification.ghosts";
+
+    /**
+     * The name of the summary of the rows returned per execution.
+     */
+    public static final String ROWS_SUMMARY = "specification.rows";
+
+    /**
+     * The tag of shapes seen beyond the maximum.
+     */
+    public static final String OTHER_SHAPE = "OTHER";
+
+    /**
+     * The number of distinct shapes tagged as themselves by default.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 100;
+
+    private final MeterRegistry registry;
+    private final int maxShapes;
+    private final Set<String> shapes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new MicrometerSpecificationExecutionListener tagging up to
+     * {@value #DEFAULT_MAX_SHAPES} distinct shapes.
+     *
+     * @param registry The MeterRegistry to record metrics in.
+     * @throws NullPointerException if the given registry is null.
+     */
+    public MicrometerSpecificationExecutionListener(final MeterRegistry registry) {
+        this(registry, DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Creates a new MicrometerSpecificationExecutionListener tagging up to
+     * the given number of distinct shapes.
+     *
+     * @param registry The MeterRegistry to record metrics in.
+     * @param maxShapes The number of distinct shapes to tag as themselves.
+     * @throws NullPointerException if the given registry is null.
+     * @throws IllegalArgumentException if the given maxShapes is negative.
+     */
+    public MicrometerSpecificationExecutionListener(final MeterRegistry registry,
+                                                    final int maxShapes) {
+        this.registry = Objects.requireNonNull(registry, "Argument 'registry' cannot be null.");
+        if (maxShapes < 0) {
+            throw new IllegalArgumentException("Argument 'maxShapes' cannot be negative.");
+        }
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterExecution(final SpecificationExecution execution) {
+        final SpecificationShape shape = execution.getShape();
+        final Tags tags = Tags.of(
+                "domain", execution.getDomainClass().getSimpleName(),
+                "method", execution.getMethodName(),
+                "shape", boundedShapeOf(shape),
+                "fetch", String.valueOf(shape.hasFetches()),
+                "outcome", execution.isSuccessful() ? "SUCCESS" : "ERROR"
+        );
+        Timer.builder(EXECUTION_TIMER)
+                .description("Executions of Repository methods querying by Specification")
+                .tags(tags)
+                .register(registry)
+                .record(execution.getDuration());
+        DistributionSummary.builder(PREDICATES_SUMMARY)
+                .description("Filtering predicates per Specification execution")
+                .tags(tags)
+                .register(registry)
+                .record(shape.predicateCount());
+        DistributionSummary.builder(GHOSTS_SUMMARY)
+                .description("Filters skipped for want of a value per Specification execution")
+                .tags(tags)
+                .register(registry)
+                .record(shape.ghostCount());
+        execution.getRowCount().ifPresent(rows -> DistributionSummary.builder(ROWS_SUMMARY)
+                .description("Rows returned per Specification execution")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(registry)
+                .record(rows));
+    }
+
+    /**
+     * Returns the fingerprint of the given shape if it is among the
+     * shapes tagged as themselves, or {@value #OTHER_SHAPE}.
+     */
+    private String boundedShapeOf(final SpecificationShape shape) {
+        final String fingerprint = shape.fingerprint();
+        if (shapes.contains(fingerprint)) {
+            return fingerprint;
+        }
+        synchronized (shapes) {
+            if (shapes.size() < maxShapes) {
+                shapes.add(fingerprint);
+                return fingerprint;
+            }
+        }
+        return shapes.contains(fingerprint) ? fingerprint : OTHER_SHAPE;
+    }
+}
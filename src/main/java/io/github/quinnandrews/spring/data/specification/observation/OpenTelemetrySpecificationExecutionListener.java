@@ -0,0 +1,156 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationOperator;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Wraps each Specification execution in an OpenTelemetry span, current
+ * while the Repository method runs so that the JDBC spans of the query are
+ * its children, and named after the Entity and method, as in
+ * {@code "GuitarPedal findAll"}. The span carries:
+ * <ul>
+ *     <li>{@code specification.domain}, the Entity Class queried.</li>
+ *     <li>{@code specification.method}, the Repository method.</li>
+ *     <li>{@code specification.shape}, the fingerprint without values.</li>
+ *     <li>{@code specification.predicates}, each filtering predicate, as
+ *     in {@code "LIKE(GuitarPedal.name)"}.</li>
+ *     <li>{@code specification.fetches}, each association fetched.</li>
+ *     <li>{@code specification.ghosts}, the filters skipped for want of a
+ *     value.</li>
+ *     <li>{@code specification.rows}, the rows returned, if any.</li>
+ * </ul>
+ * No filter values are recorded. The span of a Stream stops being current
+ * once the Stream is returned, and ends once it is closed.
+ *
+ * @author Quinn Andrews
+ */
+public class OpenTelemetrySpecificationExecutionListener implements SpecificationExecutionListener {
+
+    /**
+     * The name of the instrumentation scope of the spans.
+     */
+    public static final String INSTRUMENTATION_SCOPE = "io.github.quinnandrews.spring-data-specification-builder";
+
+    /**
+     * The attribute of the fully qualified name of the Entity Class queried.
+     */
+    public static final AttributeKey<String> DOMAIN = AttributeKey.stringKey("specification.domain");
+
+    /**
+     * The attribute of the name of the Repository method called.
+     */
+    public static final AttributeKey<String> METHOD = AttributeKey.stringKey("specification.method");
+
+    /**
+     * The attribute of the fingerprint of the Specification, without
+     * its values.
+     */
+    public static final AttributeKey<String> SHAPE = AttributeKey.stringKey("specification.shape");
+
+    /**
+     * The attribute of each filtering predicate, as the operator and the
+     * attribute it applies to.
+     */
+    public static final AttributeKey<List<String>> PREDICATES = AttributeKey.stringArrayKey("specification.predicates");
+
+    /**
+     * The attribute of each association fetched.
+     */
+    public static final AttributeKey<List<String>> FETCHES = AttributeKey.stringArrayKey("specification.fetches");
+
+    /**
+     * The attribute of the number of filters skipped for want of a value.
+     */
+    public static final AttributeKey<Long> GHOSTS = AttributeKey.longKey("specification.ghosts");
+
+    /**
+     * The attribute of the number of rows returned, set only once the
+     * execution has returned rows.
+     */
+    public static final AttributeKey<Long> ROWS = AttributeKey.longKey("specification.rows");
+
+    private static final Object SPAN = new Object();
+    private static final Object SCOPE = new Object();
+
+    private final Tracer tracer;
+
+    /**
+     * Creates a new OpenTelemetrySpecificationExecutionListener.
+     *
+     * @param openTelemetry The OpenTelemetry to create spans with.
+     * @throws NullPointerException if the given openTelemetry is null.
+     */
+    public OpenTelemetrySpecificationExecutionListener(final OpenTelemetry openTelemetry) {
+        this.tracer = Objects.requireNonNull(openTelemetry, "Argument 'openTelemetry' cannot be null.")
+                .getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeExecution(final SpecificationExecution execution) {
+        final Span span = tracer.spanBuilder(execution.getDomainClass().getSimpleName() + " " + execution.getMethodName())
+                .setSpanKind(SpanKind.INTERNAL)
+                .startSpan();
+        if (span.isRecording()) {
+            final SpecificationShape shape = execution.getShape();
+            final List<String> predicates = new ArrayList<>();
+            final List<String> fetches = new ArrayList<>();
+            execution.getSpecification().ifPresent(specification -> SpecificationLeaves.forEach(specification, leaf -> {
+                if (leaf.getOperator() == SpecificationOperator.FETCH) {
+                    fetches.add(SpecificationLeaves.attributeNameOf(leaf));
+                } else if (leaf.getOperator() != SpecificationOperator.GHOST) {
+                    predicates.add(leaf.getOperator() + "(" + SpecificationLeaves.attributeNameOf(leaf) + ")");
+                }
+            }, () -> predicates.add(SpecificationShape.OPAQUE)));
+            span.setAttribute(DOMAIN, execution.getDomainClass().getName());
+            span.setAttribute(METHOD, execution.getMethodName());
+            span.setAttribute(SHAPE, shape.fingerprint());
+            span.setAttribute(PREDICATES, predicates);
+            span.setAttribute(FETCHES, fetches);
+            span.setAttribute(GHOSTS, (long) shape.ghostCount());
+        }
+        execution.setAttribute(SPAN, span);
+        execution.setAttribute(SCOPE, span.makeCurrent());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterInvocation(final SpecificationExecution execution) {
+        final Scope scope = execution.getAttribute(SCOPE);
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterExecution(final SpecificationExecution execution) {
+        final Span span = execution.getAttribute(SPAN);
+        if (span == null) {
+            return;
+        }
+        execution.getRowCount().ifPresent(rows -> span.setAttribute(ROWS, rows));
+        execution.getError().ifPresent(error -> {
+            span.recordException(error);
+            span.setStatus(StatusCode.ERROR);
+        });
+        span.end();
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationOperator;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Writes a single structured line to the log, at WARN level, for each
+ * Specification execution that takes at least a threshold: its Entity,
+ * method, duration, rows, outcome and shape, the SQL executed and the
+ * values bound, as decided by a {@link SpecificationValueRedactor}.
+ * <p>
+ * To capture the SQL, register the SlowSpecificationLog as Hibernate's
+ * {@code hibernate.session_factory.statement_inspector}, as done by
+ * {@link SpecificationObservationAutoConfiguration}. While the Repository
+ * method runs, the SQL Hibernate renders on its thread is only kept by
+ * reference, so for a Stream, SQL rendered while it is consumed is not
+ * captured. The log line, and redaction, is only built once an execution
+ * turns out to be slow. Bound values are read from the Specification, so
+ * they are only known for Specifications built with SpecificationBuilder
+ * or SpecificationFactory, and SQL with values inlined by Hibernate is
+ * logged as is.
+ * <p>
+ * Serializable only because StatementInspector is; it is not meant to be
+ * serialized.
+ *
+ * @author Quinn Andrews
+ */
+public class SlowSpecificationLog implements SpecificationExecutionListener, StatementInspector {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Log LOG = LogFactory.getLog(SlowSpecificationLog.class);
+
+    /**
+     * The most statements captured per execution.
+     */
+    static final int MAX_STATEMENTS = 8;
+
+    /**
+     * The key of the statements captured in each execution's attributes.
+     */
+    static final Object STATEMENTS = new Object();
+    private static final Object PREVIOUS_STATEMENTS = new Object();
+
+    private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+    private final Duration threshold;
+    private final SpecificationValueRedactor redactor;
+
+    /**
+     * Creates a new SlowSpecificationLog.
+     *
+     * @param threshold The duration from which executions are logged.
+     * @param redactor Decides how bound values are logged.
+     * @throws NullPointerException if either argument is null.
+     */
+    public SlowSpecificationLog(final Duration threshold,
+                                final SpecificationValueRedactor redactor) {
+        this.threshold = Objects.requireNonNull(threshold, "Argument 'threshold' cannot be null.");
+        this.redactor = Objects.requireNonNull(redactor, "Argument 'redactor' cannot be null.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeExecution(final SpecificationExecution execution) {
+        final List<String> previous = statements.get();
+        if (previous != null) {
+            execution.setAttribute(PREVIOUS_STATEMENTS, previous);
+        }
+        final List<String> current = new ArrayList<>(2);
+        execution.setAttribute(STATEMENTS, current);
+        statements.set(current);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String inspect(final String sql) {
+        final List<String> current = statements.get();
+        if (current != null && current.size() < MAX_STATEMENTS) {
+            current.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterInvocation(final SpecificationExecution execution) {
+        final List<String> current = execution.getAttribute(STATEMENTS);
+        if (current == statements.get()) {
+            final List<String> previous = execution.getAttribute(PREVIOUS_STATEMENTS);
+            if (previous == null) {
+                statements.remove();
+            } else {
+                statements.set(previous);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterExecution(final SpecificationExecution execution) {
+        final List<String> current = execution.getAttribute(STATEMENTS);
+        if (current != null && execution.getDuration().compareTo(threshold) >= 0 && LOG.isWarnEnabled()) {
+            LOG.warn(format(execution, current));
+        }
+    }
+
+    /**
+     * Returns the log line of the given execution.
+     *
+     * @param execution The slow execution.
+     * @param sql The SQL executed.
+     * @return The log line.
+     */
+    String format(final SpecificationExecution execution,
+                  final List<String> sql) {
+        final StringJoiner parameters = new StringJoiner(", ", "[", "]");
+        execution.getSpecification().ifPresent(specification -> appendParameters(specification, parameters));
+        return "Slow Specification query:" +
+                " domain=" + execution.getDomainClass().getSimpleName() +
+                " method=" + execution.getMethodName() +
+                " durationMs=" + execution.getDuration().toMillis() +
+                " rows=" + (execution.getRowCount().isPresent() ? execution.getRowCount().getAsLong() : "") +
+                " outcome=" + (execution.isSuccessful() ? "SUCCESS" : "ERROR") +
+                " shape=" + quote(execution.getShape().fingerprint()) +
+                " sql=" + quote(String.join("; ", sql)) +
+                " parameters=" + quote(parameters.toString());
+    }
+
+    /**
+     * Adds the values bound by the given Specification, redacted, to the
+     * given parameters, in the order of the tree.
+     */
+    private void appendParameters(final Specification<?> specification,
+                                  final StringJoiner parameters) {
+        SpecificationLeaves.forEach(specification, leaf -> {
+            if (leaf.getOperator() == SpecificationOperator.GHOST || leaf.getAttribute() == null) {
+                return;
+            }
+            for (final Object value : leaf.getValues()) {
+                parameters.add(leaf.getAttribute().getName() + "=" + redactor.redact(leaf.getAttribute(), value));
+            }
+        }, () -> parameters.add(SpecificationShape.OPAQUE));
+    }
+
+    /**
+     * Returns the given text in double quotes, with quotes, backslashes
+     * and line breaks escaped, so the log line stays a single line.
+     */
+    private static String quote(final String text) {
+        return '"' + text.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\r", "\\r")
+                .replace("\n", "\\n") + '"';
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configures the {@link SlowSpecificationLog}, which is enabled by setting
+ * a threshold.
+ *
+ * @param threshold The duration from which executions are logged.
+ * @param redactedAttributes The attributes whose values are redacted, see
+ *                           {@link SpecificationValueRedactor#attributes(java.util.Collection)}.
+ * @param redactAll Whether to redact every value.
+ *
+ * @author Quinn Andrews
+ */
+@ConfigurationProperties(prefix = "specification.observation.slow-query")
+public record SlowSpecificationLogProperties(Duration threshold,
+                                             List<String> redactedAttributes,
+                                             boolean redactAll) {
+
+    /**
+     * Returns the SpecificationValueRedactor configured.
+     *
+     * @return The SpecificationValueRedactor configured.
+     */
+    public SpecificationValueRedactor toRedactor() {
+        if (redactAll) {
+            return SpecificationValueRedactor.all();
+        }
+        return redactedAttributes == null || redactedAttributes.isEmpty() ?
+                SpecificationValueRedactor.none() : SpecificationValueRedactor.attributes(redactedAttributes);
+    }
+}
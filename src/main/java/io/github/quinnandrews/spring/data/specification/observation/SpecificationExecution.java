@@ -0,0 +1,186 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One execution of a Repository method querying by Specification, as seen
+ * by each {@link SpecificationExecutionListener}: what was queried before
+ * the query runs, and how long it took, how many rows it returned and
+ * whether it failed once it has run.
+ *
+ * @author Quinn Andrews
+ */
+public final class SpecificationExecution {
+
+    private final Class<?> domainClass;
+    private final String methodName;
+    private final Specification<?> specification;
+    private volatile SpecificationShape shape;
+    private final long startNanos;
+    private final Map<Object, Object> attributes = new ConcurrentHashMap<>();
+    private volatile long durationNanos = -1;
+    private volatile long rowCount = -1;
+    private volatile Throwable error;
+
+    /**
+     * Creates a new SpecificationExecution, starting now.
+     *
+     * @param domainClass The Entity Class queried.
+     * @param methodName The name of the Repository method called.
+     * @param specification The Specification queried by, can be null.
+     * @throws NullPointerException if the given domainClass or
+     *                              methodName is null.
+     */
+    SpecificationExecution(final Class<?> domainClass,
+                           final String methodName,
+                           final Specification<?> specification) {
+        this.domainClass = Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        this.methodName = Objects.requireNonNull(methodName, "Argument 'methodName' cannot be null.");
+        this.specification = specification;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records that the execution finished, with the given number of rows,
+     * or -1 if not known, and the given error, if any.
+     */
+    void finish(final long rowCount,
+                final Throwable error) {
+        this.durationNanos = System.nanoTime() - startNanos;
+        this.rowCount = rowCount;
+        this.error = error;
+    }
+
+    /**
+     * Returns the Entity Class queried, the one the Repository manages.
+     *
+     * @return The Entity Class.
+     */
+    public Class<?> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * Returns the name of the Repository method called, such as
+     * {@code findAll} or {@code count}.
+     *
+     * @return The method name.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns the Specification queried by, which may be null to query
+     * every row. Its values may be sensitive, so prefer the shape where
+     * values are not needed.
+     *
+     * @return The Specification, if any.
+     */
+    public Optional<Specification<?>> getSpecification() {
+        return Optional.ofNullable(specification);
+    }
+
+    /**
+     * Returns the shape of the Specification queried by, computed on first
+     * call, so that executions no listener inspects never compute it.
+     *
+     * @return The shape of the Specification.
+     */
+    public SpecificationShape getShape() {
+        SpecificationShape current = shape;
+        if (current == null) {
+            current = SpecificationShape.of(specification);
+            shape = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns how long the execution took, or has taken so far if it has
+     * not finished. The execution of a Stream finishes when the Stream is
+     * closed.
+     *
+     * @return The duration of the execution.
+     */
+    public Duration getDuration() {
+        final long duration = durationNanos;
+        return Duration.ofNanos(duration < 0 ? System.nanoTime() - startNanos : duration);
+    }
+
+    /**
+     * Returns the number of rows returned, if the execution has finished
+     * and returned rows: a List, Slice, Page, Optional or Stream. Counts
+     * and other single values have no row count.
+     *
+     * @return The number of rows returned, if known.
+     */
+    public OptionalLong getRowCount() {
+        final long rows = rowCount;
+        return rows < 0 ? OptionalLong.empty() : OptionalLong.of(rows);
+    }
+
+    /**
+     * Returns the error the execution failed with, if any.
+     *
+     * @return The error, if any.
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    /**
+     * Returns true if the execution did not fail.
+     *
+     * @return True if there is no error.
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * Returns the value a listener attached to this execution under the
+     * given key, to carry state from beforeExecution() to
+     * afterExecution().
+     *
+     * @param key The key the value was attached under.
+     * @return The value attached, or null.
+     * @param <V> The type of the value.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V getAttribute(final Object key) {
+        return (V) attributes.get(key);
+    }
+
+    /**
+     * Attaches the given value to this execution under the given key.
+     *
+     * @param key The key to attach the value under.
+     * @param value The value to attach.
+     * @throws NullPointerException if the given key or value is null.
+     */
+    public void setAttribute(final Object key,
+                             final Object value) {
+        attributes.put(key, value);
+    }
+
+    @Override
+    public String toString() {
+        return "SpecificationExecution{" +
+                "domainClass=" + domainClass.getSimpleName() +
+                ", methodName='" + methodName + '\'' +
+                ", shape=" + getShape() +
+                ", duration=" + getDuration() +
+                ", rowCount=" + getRowCount() +
+                ", error=" + error +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Intercepts the methods of a Repository whose first parameter is a
+ * Specification, and notifies each {@link SpecificationExecutionListener}
+ * before they execute, as they return and once they have executed. Added to Repository proxies by
+ * {@link SpecificationObservationPostProcessor}.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationExecutionInterceptor implements MethodInterceptor {
+
+    private static final Log LOG = LogFactory.getLog(SpecificationExecutionInterceptor.class);
+
+    private final Class<?> domainClass;
+    private final Supplier<List<SpecificationExecutionListener>> listeners;
+
+    /**
+     * Creates a new SpecificationExecutionInterceptor.
+     *
+     * @param domainClass The Entity Class managed by the Repository.
+     * @param listeners Supplies the listeners to notify, in order.
+     * @throws NullPointerException if either argument is null.
+     */
+    public SpecificationExecutionInterceptor(final Class<?> domainClass,
+                                             final Supplier<List<SpecificationExecutionListener>> listeners) {
+        this.domainClass = Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        this.listeners = Objects.requireNonNull(listeners, "Argument 'listeners' cannot be null.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final Class<?>[] parameterTypes = invocation.getMethod().getParameterTypes();
+        if (parameterTypes.length == 0 || !Specification.class.isAssignableFrom(parameterTypes[0])) {
+            return invocation.proceed();
+        }
+        final List<SpecificationExecutionListener> current = listeners.get();
+        if (current.isEmpty()) {
+            return invocation.proceed();
+        }
+        final SpecificationExecution execution = new SpecificationExecution(
+                domainClass, invocation.getMethod().getName(), (Specification<?>) invocation.getArguments()[0]);
+        current.forEach(listener -> notify(listener, execution, SpecificationExecutionListener::beforeExecution));
+        final Object result;
+        try {
+            result = invocation.proceed();
+        } catch (final Throwable t) {
+            notifyInReverse(current, execution, SpecificationExecutionListener::afterInvocation);
+            finish(current, execution, -1, t);
+            throw t;
+        }
+        notifyInReverse(current, execution, SpecificationExecutionListener::afterInvocation);
+        if (result instanceof Stream<?> stream) {
+            final AtomicLong rows = new AtomicLong();
+            return stream.peek(element -> rows.incrementAndGet())
+                    .onClose(() -> finish(current, execution, rows.get(), null));
+        }
+        finish(current, execution, rowsOf(result), null);
+        return result;
+    }
+
+    /**
+     * Finishes the given execution and notifies the given listeners of it,
+     * in reverse order.
+     */
+    private static void finish(final List<SpecificationExecutionListener> listeners,
+                               final SpecificationExecution execution,
+                               final long rows,
+                               final Throwable error) {
+        execution.finish(rows, error);
+        notifyInReverse(listeners, execution, SpecificationExecutionListener::afterExecution);
+    }
+
+    /**
+     * Notifies the given listeners, in reverse order, with the given
+     * callback.
+     */
+    private static void notifyInReverse(final List<SpecificationExecutionListener> listeners,
+                                        final SpecificationExecution execution,
+                                        final BiConsumer<SpecificationExecutionListener, SpecificationExecution> callback) {
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            notify(listeners.get(i), execution, callback);
+        }
+    }
+
+    /**
+     * Notifies the given listener with the given callback, logging rather
+     * than throwing any exception it throws.
+     */
+    private static void notify(final SpecificationExecutionListener listener,
+                               final SpecificationExecution execution,
+                               final BiConsumer<SpecificationExecutionListener, SpecificationExecution> callback) {
+        try {
+            callback.accept(listener, execution);
+        } catch (final RuntimeException e) {
+            LOG.warn("SpecificationExecutionListener '" + listener.getClass().getName() + "' failed.", e);
+        }
+    }
+
+    /**
+     * Returns the number of rows in the given result, or -1 if it is not
+     * a result of rows.
+     */
+    private static long rowsOf(final Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+/**
+ * Observes the executions of Repository methods that query by
+ * Specification, such as {@code findAll(Specification)},
+ * {@code count(Specification)} or {@code findSlice(Specification, Pageable)}.
+ * Every listener bean in the ApplicationContext is called, in order,
+ * before each execution, and in reverse order after it, see
+ * {@link SpecificationObservationAutoConfiguration}.
+ * <p>
+ * Listeners run on the thread executing the query and should be quick.
+ * An exception thrown by a listener is logged, and does not fail the
+ * query.
+ *
+ * @author Quinn Andrews
+ */
+public interface SpecificationExecutionListener {
+
+    /**
+     * Called before the query is executed.
+     *
+     * @param execution The execution about to run.
+     */
+    default void beforeExecution(final SpecificationExecution execution) {
+        // no-op
+    }
+
+    /**
+     * Called once the Repository method returns, or throws, on the thread
+     * that called it, so that state bound to that thread can be released.
+     * For Streams, called as the Stream is returned, before it is
+     * consumed, and otherwise just before afterExecution().
+     *
+     * @param execution The execution whose method returned.
+     */
+    default void afterInvocation(final SpecificationExecution execution) {
+        // no-op
+    }
+
+    /**
+     * Called once the query has executed, or failed. For Streams, called
+     * once the Stream is closed, possibly on another thread.
+     *
+     * @param execution The execution that finished.
+     */
+    void afterExecution(SpecificationExecution execution);
+}
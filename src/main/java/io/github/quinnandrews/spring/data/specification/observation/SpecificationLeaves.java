@@ -0,0 +1,64 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.AttributeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.CompositeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.HintedSpecification;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.function.Consumer;
+
+/**
+ * Walks the leaves of Specifications built with SpecificationBuilder or
+ * SpecificationFactory, to describe them to logs and traces.
+ *
+ * @author Quinn Andrews
+ */
+final class SpecificationLeaves {
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private SpecificationLeaves() {
+        // no-op
+    }
+
+    /**
+     * Passes each leaf of the given Specification to the given consumer,
+     * from left to right, and runs the given callback for each part that
+     * was not built from SpecificationFactory.
+     *
+     * @param specification The Specification to walk, can be null.
+     * @param leaves Consumes each leaf.
+     * @param opaque Runs for each part that cannot be walked.
+     */
+    static void forEach(final Specification<?> specification,
+                        final Consumer<AttributeSpecification<?>> leaves,
+                        final Runnable opaque) {
+        if (specification == null) {
+            return;
+        }
+        if (specification instanceof HintedSpecification<?> hinted) {
+            forEach(hinted.getDelegate(), leaves, opaque);
+        } else if (specification instanceof CompositeSpecification<?> composite) {
+            forEach(composite.getLeft(), leaves, opaque);
+            forEach(composite.getRight(), leaves, opaque);
+        } else if (specification instanceof AttributeSpecification<?> leaf) {
+            leaves.accept(leaf);
+        } else {
+            opaque.run();
+        }
+    }
+
+    /**
+     * Returns the name of the attribute of the given leaf, qualified by the
+     * simple name of its declaring Entity Class.
+     *
+     * @param leaf The leaf to name the attribute of.
+     * @return The qualified name, or null if the leaf has no attribute.
+     */
+    static String attributeNameOf(final AttributeSpecification<?> leaf) {
+        return leaf.getAttribute() == null ? null :
+                leaf.getAttribute().getDeclaringType().getJavaType().getSimpleName() + "." + leaf.getAttribute().getName();
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Auto-configures the observation of Specification executions: every
+ * {@link SpecificationExecutionListener} bean is notified of the
+ * executions of Repository methods that query by Specification. Where
+ * Micrometer is on the classpath and a MeterRegistry is configured, as by
+ * the Spring Boot Actuator, a {@link MicrometerSpecificationExecutionListener}
+ * is registered too, and a {@link JfrSpecificationExecutionListener}
+ * records JDK Flight Recorder events where the JDK provides it. Setting
+ * {@code specification.observation.slow-query.threshold} registers a
+ * {@link SlowSpecificationLog}, see {@link SlowSpecificationLogProperties}.
+ * Where the Spring Boot Actuator is on the classpath, a
+ * {@link SpecificationShapeRegistry} keeps the statistics of each shape of
+ * Specification, listed by the {@link SpecificationShapesEndpoint}. With
+ * an OpenTelemetry bean, an {@link OpenTelemetrySpecificationExecutionListener}
+ * wraps each execution in a span. Disable with
+ * {@code specification.observation.enabled=false}.
+ *
+ * @author Quinn Andrews
+ */
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration"
+})
+@ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+@ConditionalOnProperty(prefix = "specification.observation", name = "enabled", matchIfMissing = true)
+public class SpecificationObservationAutoConfiguration {
+
+    /**
+     * Returns the SpecificationObservationPostProcessor that adds the
+     * observation to every Repository.
+     *
+     * @param listeners Provides the listeners to notify.
+     * @return A new SpecificationObservationPostProcessor.
+     */
+    @Bean
+    public static SpecificationObservationPostProcessor specificationObservationPostProcessor(
+            final ObjectProvider<SpecificationExecutionListener> listeners) {
+        return new SpecificationObservationPostProcessor(listeners);
+    }
+
+    /**
+     * Returns a JfrSpecificationExecutionListener recording JDK Flight
+     * Recorder events of the executions.
+     *
+     * @return A new JfrSpecificationExecutionListener.
+     */
+    @Bean
+    @ConditionalOnClass(name = "jdk.jfr.Event")
+    @ConditionalOnMissingBean
+    public JfrSpecificationExecutionListener jfrSpecificationExecutionListener() {
+        return new JfrSpecificationExecutionListener();
+    }
+
+    /**
+     * Registers the Micrometer listener where Micrometer is available.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MicrometerConfiguration {
+
+        /**
+         * Returns a MicrometerSpecificationExecutionListener recording
+         * metrics in the given MeterRegistry.
+         *
+         * @param registry The MeterRegistry to record metrics in.
+         * @return A new MicrometerSpecificationExecutionListener.
+         */
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public MicrometerSpecificationExecutionListener micrometerSpecificationExecutionListener(
+                final MeterRegistry registry) {
+            return new MicrometerSpecificationExecutionListener(registry);
+        }
+    }
+
+    /**
+     * Registers the OpenTelemetry listener where OpenTelemetry is available.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(OpenTelemetry.class)
+    static class OpenTelemetryConfiguration {
+
+        /**
+         * Returns an OpenTelemetrySpecificationExecutionListener creating
+         * spans with the given OpenTelemetry.
+         *
+         * @param openTelemetry The OpenTelemetry to create spans with.
+         * @return A new OpenTelemetrySpecificationExecutionListener.
+         */
+        @Bean
+        @ConditionalOnBean(OpenTelemetry.class)
+        @ConditionalOnMissingBean
+        public OpenTelemetrySpecificationExecutionListener openTelemetrySpecificationExecutionListener(
+                final OpenTelemetry openTelemetry) {
+            return new OpenTelemetrySpecificationExecutionListener(openTelemetry);
+        }
+    }
+
+    /**
+     * Registers the SlowSpecificationLog where a threshold is configured.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "specification.observation.slow-query", name = "threshold")
+    @EnableConfigurationProperties(SlowSpecificationLogProperties.class)
+    static class SlowSpecificationLogConfiguration {
+
+        /**
+         * Returns a SlowSpecificationLog configured by the given
+         * properties, redacting values with the SpecificationValueRedactor
+         * bean, if any, or as configured otherwise.
+         *
+         * @param properties The properties to configure the log with.
+         * @param redactor Provides the SpecificationValueRedactor bean.
+         * @return A new SlowSpecificationLog.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public SlowSpecificationLog slowSpecificationLog(final SlowSpecificationLogProperties properties,
+                                                         final ObjectProvider<SpecificationValueRedactor> redactor) {
+            return new SlowSpecificationLog(properties.threshold(), redactor.getIfAvailable(properties::toRedactor));
+        }
+
+        /**
+         * Returns a HibernatePropertiesCustomizer registering the given
+         * SlowSpecificationLog as the StatementInspector of Hibernate,
+         * unless one is configured already.
+         *
+         * @param slowSpecificationLog The SlowSpecificationLog to register.
+         * @return A new HibernatePropertiesCustomizer.
+         */
+        @Bean
+        public HibernatePropertiesCustomizer slowSpecificationLogStatementInspector(
+                final SlowSpecificationLog slowSpecificationLog) {
+            return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, slowSpecificationLog);
+        }
+    }
+
+    /**
+     * Registers the SpecificationShapeRegistry and its endpoint where the
+     * Spring Boot Actuator is available.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnProperty(prefix = "specification.observation.shapes", name = "enabled", matchIfMissing = true)
+    static class ShapeRegistryConfiguration {
+
+        /**
+         * Returns a SpecificationShapeRegistry keeping up to
+         * {@code specification.observation.shapes.max-shapes} shapes.
+         *
+         * @param environment The Environment to read the maximum from.
+         * @return A new SpecificationShapeRegistry.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public SpecificationShapeRegistry specificationShapeRegistry(final Environment environment) {
+            return new SpecificationShapeRegistry(environment.getProperty(
+                    "specification.observation.shapes.max-shapes", Integer.class,
+                    SpecificationShapeRegistry.DEFAULT_MAX_SHAPES));
+        }
+
+        /**
+         * Returns a SpecificationShapesEndpoint listing the shapes of the
+         * given registry.
+         *
+         * @param registry The registry to list the shapes of.
+         * @return A new SpecificationShapesEndpoint.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public SpecificationShapesEndpoint specificationShapesEndpoint(final SpecificationShapeRegistry registry) {
+            return new SpecificationShapesEndpoint(registry);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Adds a {@link SpecificationExecutionInterceptor} to every Repository
+ * created by Spring Data, so that the executions of its methods that query
+ * by Specification are observed by the {@link SpecificationExecutionListener}
+ * beans of the ApplicationContext. The listeners are looked up on first
+ * use, once the ApplicationContext is running.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationObservationPostProcessor implements BeanPostProcessor {
+
+    private final Supplier<List<SpecificationExecutionListener>> listeners;
+
+    /**
+     * Creates a new SpecificationObservationPostProcessor.
+     *
+     * @param listeners Provides the listeners to notify.
+     * @throws NullPointerException if the given listeners is null.
+     */
+    public SpecificationObservationPostProcessor(final ObjectProvider<SpecificationExecutionListener> listeners) {
+        Objects.requireNonNull(listeners, "Argument 'listeners' cannot be null.");
+        this.listeners = SingletonSupplier.of(() -> listeners.orderedStream().toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean,
+                                                  final String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new SpecificationExecutionInterceptor(repositoryInformation.getDomainType(), listeners))));
+        }
+        return bean;
+    }
+}
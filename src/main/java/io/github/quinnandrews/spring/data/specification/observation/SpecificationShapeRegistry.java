@@ -0,0 +1,245 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the statistics of the executions of each shape of Specification,
+ * to find the shapes that take the most time in total, and so deserve an
+ * index first. Recording takes no locks: shapes are looked up in a
+ * ConcurrentHashMap, counts are kept in LongAdders, and durations in a
+ * histogram of atomic buckets growing exponentially, eight per power of
+ * two, so that percentiles are estimated to within an eighth of their
+ * value in a fixed amount of memory per shape.
+ * <p>
+ * Memory is bounded by the number of shapes kept: once reached, the
+ * executions of any other shape are kept under {@value #OTHER_SHAPE}.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationShapeRegistry implements SpecificationExecutionListener {
+
+    /**
+     * The shape executions are kept under once the maximum is reached.
+     */
+    public static final String OTHER_SHAPE = "OTHER";
+
+    /**
+     * The number of distinct shapes kept by default.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 500;
+
+    private final int maxShapes;
+    private final Map<Key, Statistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new SpecificationShapeRegistry keeping up to
+     * {@value #DEFAULT_MAX_SHAPES} distinct shapes.
+     */
+    public SpecificationShapeRegistry() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Creates a new SpecificationShapeRegistry keeping up to the given
+     * number of distinct shapes.
+     *
+     * @param maxShapes The number of distinct shapes to keep.
+     * @throws IllegalArgumentException if the given maxShapes is less than 1.
+     */
+    public SpecificationShapeRegistry(final int maxShapes) {
+        if (maxShapes < 1) {
+            throw new IllegalArgumentException("Argument 'maxShapes' must be at least 1.");
+        }
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterExecution(final SpecificationExecution execution) {
+        final String domain = execution.getDomainClass().getSimpleName();
+        record(domain, execution.getShape().fingerprint(), execution.getDuration().toNanos(),
+                execution.getRowCount().orElse(-1), execution.isSuccessful());
+    }
+
+    /**
+     * Records an execution of the given shape against the given domain.
+     *
+     * @param domain The simple name of the Entity Class queried.
+     * @param shape The shape of the Specification.
+     * @param nanos The duration of the execution, in nanoseconds.
+     * @param rows The rows returned, or -1 if not known.
+     * @param successful Whether the execution succeeded.
+     * @throws NullPointerException if the given domain or shape is null.
+     */
+    public void record(final String domain,
+                       final String shape,
+                       final long nanos,
+                       final long rows,
+                       final boolean successful) {
+        Objects.requireNonNull(domain, "Argument 'domain' cannot be null.");
+        Objects.requireNonNull(shape, "Argument 'shape' cannot be null.");
+        statisticsOf(new Key(domain, shape)).record(Math.max(0, nanos), rows, successful);
+    }
+
+    /**
+     * Returns the statistics of the given number of shapes that have taken
+     * the most time in total, most first.
+     *
+     * @param limit The number of shapes to return.
+     * @return The statistics of the slowest shapes in total.
+     * @throws IllegalArgumentException if the given limit is negative.
+     */
+    public List<SpecificationShapeStatistics> top(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Argument 'limit' cannot be negative.");
+        }
+        return statistics.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+                .filter(shape -> shape.count() > 0)
+                .sorted(Comparator.comparingDouble(SpecificationShapeStatistics::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Forgets the statistics of every shape.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Returns the statistics of the given key, or of the key of the other
+     * shapes of its domain, if the maximum number of shapes is reached.
+     */
+    private Statistics statisticsOf(final Key key) {
+        final Statistics existing = statistics.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (statistics.size() >= maxShapes) {
+            return statistics.computeIfAbsent(new Key(key.domain(), OTHER_SHAPE), k -> new Statistics());
+        }
+        return statistics.computeIfAbsent(key, k -> new Statistics());
+    }
+
+    /**
+     * The key of the statistics of one shape against one domain.
+     */
+    private record Key(String domain, String shape) {
+    }
+
+    /**
+     * The statistics of one shape, recorded without locks.
+     */
+    private static final class Statistics {
+
+        /**
+         * Durations are recorded in microseconds, exactly up to 8, then in
+         * eight buckets per power of two, up to 2^39 microseconds.
+         */
+        private static final int SUB_BUCKETS = 8;
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rowExecutions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private void record(final long nanos,
+                            final long rowCount,
+                            final boolean successful) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (!successful) {
+                errors.increment();
+            }
+            if (rowCount >= 0) {
+                rowExecutions.increment();
+                rows.add(rowCount);
+            }
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucketOf(nanos / 1_000));
+        }
+
+        private SpecificationShapeStatistics toStatistics(final Key key) {
+            final long executions = count.sum();
+            final long total = totalNanos.sum();
+            final long withRows = rowExecutions.sum();
+            return new SpecificationShapeStatistics(
+                    key.domain(),
+                    key.shape(),
+                    executions,
+                    errors.sum(),
+                    total / 1e6,
+                    executions == 0 ? 0 : total / 1e6 / executions,
+                    percentileMillis(0.50),
+                    percentileMillis(0.99),
+                    maxNanos.get() / 1e6,
+                    withRows == 0 ? null : (double) rows.sum() / withRows
+            );
+        }
+
+        /**
+         * Returns the upper bound of the bucket holding the given
+         * percentile of the durations, in milliseconds.
+         */
+        private double percentileMillis(final double percentile) {
+            long total = 0;
+            final long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundOf(i) / 1e3;
+                }
+            }
+            return upperBoundOf(BUCKETS - 1) / 1e3;
+        }
+
+        /**
+         * Returns the bucket of the given duration in microseconds.
+         */
+        static int bucketOf(final long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) Math.max(0, micros);
+            }
+            final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+        }
+
+        /**
+         * Returns the greatest duration in microseconds in the given bucket.
+         */
+        static long upperBoundOf(final int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final int shift = exponent - SUB_BUCKET_BITS;
+            return ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift) + (1L << shift) - 1;
+        }
+    }
+}
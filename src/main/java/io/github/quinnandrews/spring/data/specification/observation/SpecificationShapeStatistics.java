@@ -0,0 +1,33 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+/**
+ * The statistics of the executions of one shape of Specification against
+ * one Entity, as kept by {@link SpecificationShapeRegistry}. Percentiles
+ * are estimated from a histogram, to within an eighth of their value.
+ *
+ * @param domain The simple name of the Entity Class queried.
+ * @param shape The shape of the Specifications, see
+ *              {@link io.github.quinnandrews.spring.data.specification.builder.SpecificationShape}.
+ * @param count The number of executions.
+ * @param errors The number of executions that failed.
+ * @param totalMillis The total duration of the executions.
+ * @param meanMillis The mean duration of the executions.
+ * @param p50Millis The median duration of the executions.
+ * @param p99Millis The 99th percentile of the durations of the executions.
+ * @param maxMillis The longest duration of the executions.
+ * @param meanRows The mean rows returned, or null if none of the
+ *                 executions returned rows.
+ *
+ * @author Quinn Andrews
+ */
+public record SpecificationShapeStatistics(String domain,
+                                           String shape,
+                                           long count,
+                                           long errors,
+                                           double totalMillis,
+                                           double meanMillis,
+                                           double p50Millis,
+                                           double p99Millis,
+                                           double maxMillis,
+                                           Double meanRows) {
+}
@@ -0,0 +1,59 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Spring Boot Actuator endpoint listing the shapes of Specification that
+ * have taken the most time in total, from a {@link SpecificationShapeRegistry}:
+ * {@code GET /actuator/specificationShapes?limit=20} to read them, and
+ * {@code DELETE /actuator/specificationShapes} to start over.
+ *
+ * @author Quinn Andrews
+ */
+@Endpoint(id = "specificationShapes")
+public class SpecificationShapesEndpoint {
+
+    /**
+     * The number of shapes listed by default.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    private final SpecificationShapeRegistry registry;
+
+    /**
+     * Creates a new SpecificationShapesEndpoint.
+     *
+     * @param registry The registry to read.
+     * @throws NullPointerException if the given registry is null.
+     */
+    public SpecificationShapesEndpoint(final SpecificationShapeRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "Argument 'registry' cannot be null.");
+    }
+
+    /**
+     * Returns the statistics of the shapes that have taken the most time
+     * in total, most first.
+     *
+     * @param limit The number of shapes to list, {@value #DEFAULT_LIMIT}
+     *              if null.
+     * @return The statistics of the slowest shapes in total.
+     */
+    @ReadOperation
+    public List<SpecificationShapeStatistics> shapes(@Nullable final Integer limit) {
+        return registry.top(limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    /**
+     * Forgets the statistics of every shape.
+     */
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
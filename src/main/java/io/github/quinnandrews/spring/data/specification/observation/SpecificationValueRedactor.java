@@ -0,0 +1,67 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import jakarta.persistence.metamodel.Attribute;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Decides how the values a Specification filters by are written to logs,
+ * so that sensitive values, such as names or email addresses, can be
+ * replaced by {@value #REDACTED}.
+ *
+ * @author Quinn Andrews
+ */
+@FunctionalInterface
+public interface SpecificationValueRedactor {
+
+    /**
+     * The replacement of redacted values.
+     */
+    String REDACTED = "[REDACTED]";
+
+    /**
+     * Returns the given value, or its replacement, to write to logs.
+     *
+     * @param attribute The attribute filtered by the value.
+     * @param value The value filtered by.
+     * @return The value to write.
+     */
+    Object redact(Attribute<?, ?> attribute, Object value);
+
+    /**
+     * Returns a SpecificationValueRedactor that writes every value as is.
+     *
+     * @return A SpecificationValueRedactor redacting nothing.
+     */
+    static SpecificationValueRedactor none() {
+        return (attribute, value) -> value;
+    }
+
+    /**
+     * Returns a SpecificationValueRedactor that redacts every value.
+     *
+     * @return A SpecificationValueRedactor redacting everything.
+     */
+    static SpecificationValueRedactor all() {
+        return (attribute, value) -> REDACTED;
+    }
+
+    /**
+     * Returns a SpecificationValueRedactor that redacts the values of the
+     * attributes with the given names, either qualified by the simple name
+     * of the declaring Entity Class, as in {@code "Customer.email"}, or
+     * not, as in {@code "email"}, to redact the attribute of any Entity.
+     *
+     * @param names The names of the attributes to redact.
+     * @return A SpecificationValueRedactor redacting the named attributes.
+     * @throws NullPointerException if the given names is null.
+     */
+    static SpecificationValueRedactor attributes(final Collection<String> names) {
+        final Set<String> redacted = Set.copyOf(Objects.requireNonNull(names, "Argument 'names' cannot be null."));
+        return (attribute, value) -> redacted.contains(attribute.getName())
+                || redacted.contains(attribute.getDeclaringType().getJavaType().getSimpleName() + "." + attribute.getName())
+                ? REDACTED : value;
+    }
+}
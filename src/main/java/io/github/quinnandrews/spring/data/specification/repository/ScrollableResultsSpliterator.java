@@ -0,0 +1,95 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over Hibernate's ScrollableResults that detaches the
+ * Entities it has read each time a given number of them has been
+ * read, before reading the next one, along with the associated
+ * Entities and collection elements loaded with them. Only Entities
+ * loaded read-only since the Stream was opened are detached, so
+ * Entities that were managed before, and any changes made to them,
+ * are left in the persistence context.
+ *
+ * @param <T> The Entity Type.
+ *
+ * @author Quinn Andrews
+ */
+class ScrollableResultsSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final ScrollableResults<T> results;
+    private final SessionImplementor session;
+    private final int batchSize;
+    private final Set<Object> managedBefore;
+    private int read;
+
+    /**
+     * Creates a new ScrollableResultsSpliterator.
+     *
+     * @param results The results to read from.
+     * @param entityManager The EntityManager that reads the results.
+     * @param batchSize The number of Entities to read before
+     *                  detaching them.
+     */
+    ScrollableResultsSpliterator(final ScrollableResults<T> results,
+                                 final EntityManager entityManager,
+                                 final int batchSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.results = results;
+        this.session = entityManager.unwrap(SessionImplementor.class);
+        this.batchSize = batchSize;
+        this.managedBefore = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Map.Entry<Object, EntityEntry> entry : entityEntries()) {
+            managedBefore.add(entry.getKey());
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (read == batchSize) {
+            detachBatch();
+        }
+        if (!results.next()) {
+            return false;
+        }
+        read++;
+        action.accept(results.get());
+        return true;
+    }
+
+    /**
+     * Detaches the Entities loaded read-only since the Stream was
+     * opened: those of the current batch, the Entities they are
+     * associated with and the elements of their collections. A
+     * read-only Entity has no changes to lose, so nothing needs to be
+     * flushed first. Entities still being loaded are left alone.
+     */
+    private void detachBatch() {
+        for (final Map.Entry<Object, EntityEntry> entry : entityEntries()) {
+            if (entry.getValue().getStatus() == Status.READ_ONLY && !managedBefore.contains(entry.getKey())) {
+                session.detach(entry.getKey());
+            }
+        }
+        read = 0;
+    }
+
+    /**
+     * Returns the entries of the Entities in the persistence context,
+     * as a copy that is safe to iterate while detaching.
+     */
+    private Map.Entry<Object, EntityEntry>[] entityEntries() {
+        return session.getPersistenceContextInternal().reentrantSafeEntityEntries();
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pairs a Java Record with the attributes of an Entity to select into
+ * it, so that a query selects only the columns of those attributes and
+ * returns Records that are not managed by the persistence context.
+ * There are no snapshots kept for dirty checking, and no columns read
+ * that are not needed.
+ * <p>
+ * The attributes are passed to the canonical constructor of the Record
+ * in the given order, so their types must match the types of the Record
+ * components in that order.
+ *
+ * @param <T> The Entity Type to select from as the Aggregate Root.
+ * @param <R> The Record Type to select into.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationProjection<T, R extends Record> {
+
+    private final Class<T> domainClass;
+    private final Class<R> recordClass;
+    private final List<SingularAttribute<? super T, ?>> attributes;
+
+    /**
+     * Private Constructor, since this Class is meant to be
+     * instantiated with the of() method.
+     */
+    private SpecificationProjection(final Class<T> domainClass,
+                                    final Class<R> recordClass,
+                                    final List<SingularAttribute<? super T, ?>> attributes) {
+        this.domainClass = domainClass;
+        this.recordClass = recordClass;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Returns a new SpecificationProjection that selects the given
+     * attributes of the given Entity Class into the given Record Class.
+     *
+     * @param domainClass The Entity Class to select from as the
+     *                    Aggregate Root.
+     * @param recordClass The Record Class to select into.
+     * @param attributes The attributes to select, in the order of
+     *                   the Record components.
+     * @return A new SpecificationProjection.
+     * @param <T> The Entity Type.
+     * @param <R> The Record Type.
+     * @throws NullPointerException if the given domainClass, recordClass
+     *                              or any attribute is null.
+     * @throws IllegalArgumentException if the attributes do not match the
+     *                                  components of the Record in number
+     *                                  or type.
+     */
+    @SafeVarargs
+    public static <T, R extends Record> SpecificationProjection<T, R> of(final Class<T> domainClass,
+                                                                        final Class<R> recordClass,
+                                                                        final SingularAttribute<? super T, ?>... attributes) {
+        Objects.requireNonNull(domainClass, "Argument 'domainClass' cannot be null.");
+        Objects.requireNonNull(recordClass, "Argument 'recordClass' cannot be null.");
+        Objects.requireNonNull(attributes, "Argument 'attributes' cannot be null.");
+        final List<SingularAttribute<? super T, ?>> selection = new ArrayList<>(attributes.length);
+        for (final SingularAttribute<? super T, ?> attribute : attributes) {
+            selection.add(Objects.requireNonNull(attribute, "Argument 'attributes' cannot contain null."));
+        }
+        final RecordComponent[] components = recordClass.getRecordComponents();
+        if (components.length != attributes.length) {
+            throw new IllegalArgumentException("Record '" + recordClass.getName() + "' has " + components.length
+                    + " components, but " + attributes.length + " attributes were given.");
+        }
+        for (int i = 0; i < components.length; i++) {
+            if (!ClassUtils.isAssignable(attributes[i].getJavaType(), components[i].getType(), true)) {
+                throw new IllegalArgumentException("Attribute '" + attributes[i].getName() + "' of type '"
+                        + attributes[i].getJavaType().getName() + "' does not match component '"
+                        + components[i].getName() + "' of type '" + components[i].getType().getName() + "'.");
+            }
+        }
+        return new SpecificationProjection<>(domainClass, recordClass, List.copyOf(selection));
+    }
+
+    /**
+     * Returns the Entity Class to select from.
+     *
+     * @return The Entity Class.
+     */
+    public Class<T> getDomainClass() {
+        return domainClass;
+    }
+
+    /**
+     * Returns the Record Class to select into.
+     *
+     * @return The Record Class.
+     */
+    public Class<R> getRecordClass() {
+        return recordClass;
+    }
+
+    /**
+     * Returns the attributes to select, in the order of the Record
+     * components.
+     *
+     * @return An unmodifiable List of the attributes.
+     */
+    public List<SingularAttribute<? super T, ?>> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns a Selection that constructs the Record from the
+     * attributes of the given Root.
+     *
+     * @param root The Root to select the attributes of.
+     * @param builder The CriteriaBuilder to construct with.
+     * @return A Selection of the Record.
+     */
+    Selection<R> toSelection(final Root<T> root,
+                             final CriteriaBuilder builder) {
+        return builder.construct(recordClass, attributes.stream()
+                .map(root::get)
+                .toArray(Selection[]::new));
+    }
+}
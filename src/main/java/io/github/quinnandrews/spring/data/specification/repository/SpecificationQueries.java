@@ -0,0 +1,499 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.AttributeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.CompositeSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.HintedSpecification;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationHints;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationOperator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates the cheapest JPA query for each purpose a Specification
+ * may be executed for: selecting Entities, counting them or simply
+ * checking whether any exist. Any {@link SpecificationHints} the
+ * Specification carries are applied to the query.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationQueries {
+
+    private static final String ENTITY_MANAGER_CANNOT_BE_NULL = "Argument 'entityManager' cannot be null.";
+    private static final String DOMAIN_CLASS_CANNOT_BE_NULL = "Argument 'domainClass' cannot be null.";
+
+    /**
+     * The JDBC fetch size used when streaming, unless another
+     * is given.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * Default Constructor. Private since this Class is not
+     * meant to be instantiated.
+     */
+    private SpecificationQueries() {
+        // no-op
+    }
+
+    /**
+     * Returns a query that selects the Entities matching the given
+     * Specification, ordered by the given Sort.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to apply, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return A query that selects the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given entityManager,
+     *                              domainClass or sort is null.
+     */
+    public static <T> TypedQuery<T> createQuery(final EntityManager entityManager,
+                                                final Class<T> domainClass,
+                                                final Specification<T> specification,
+                                                final Sort sort) {
+        Objects.requireNonNull(entityManager, ENTITY_MANAGER_CANNOT_BE_NULL);
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<T> query = builder.createQuery(domainClass);
+        final Root<T> root = applySpecification(specification, domainClass, query, builder);
+        query.select(root);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return applyHints(entityManager.createQuery(query), specification);
+    }
+
+    /**
+     * Returns a query that selects the attributes of the given projection
+     * from the Entities matching the given Specification, ordered by the
+     * given Sort, into Records that are not managed.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param projection The projection to select.
+     * @param specification The Specification to apply, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return A query that selects the projection of matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @param <R> The Record Type of the projection.
+     * @throws NullPointerException if the given entityManager,
+     *                              projection or sort is null.
+     */
+    public static <T, R extends Record> TypedQuery<R> createQuery(final EntityManager entityManager,
+                                                                 final SpecificationProjection<T, R> projection,
+                                                                 final Specification<T> specification,
+                                                                 final Sort sort) {
+        Objects.requireNonNull(entityManager, ENTITY_MANAGER_CANNOT_BE_NULL);
+        Objects.requireNonNull(projection, "Argument 'projection' cannot be null.");
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<R> query = builder.createQuery(projection.getRecordClass());
+        final Root<T> root = applySpecification(specification, projection.getDomainClass(), query, builder);
+        query.select(projection.toSelection(root, builder));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+        return applyHints(entityManager.createQuery(query), specification);
+    }
+
+    /**
+     * Returns a query that counts the Entities matching the given
+     * Specification. No ordering is applied and, when used with
+     * SpecificationFactory, fetches are rendered as plain joins
+     * or, for collections, exists subqueries.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to apply, can be null.
+     * @return A query that counts the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given entityManager or
+     *                              domainClass is null.
+     */
+    public static <T> TypedQuery<Long> createCountQuery(final EntityManager entityManager,
+                                                        final Class<T> domainClass,
+                                                        final Specification<T> specification) {
+        Objects.requireNonNull(entityManager, ENTITY_MANAGER_CANNOT_BE_NULL);
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<T> root = applySpecification(specification, domainClass, query, builder);
+        query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        query.distinct(false);
+        query.orderBy(Collections.emptyList());
+        return applyHints(entityManager.createQuery(query), specification);
+    }
+
+    /**
+     * Returns a query that selects a constant for at most one row
+     * matching the given Specification, which is all that is needed
+     * to know whether any matching Entity exists. An empty result
+     * means that none exist.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to apply, can be null.
+     * @return A query that selects at most one row.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given entityManager or
+     *                              domainClass is null.
+     */
+    public static <T> TypedQuery<Integer> createExistsQuery(final EntityManager entityManager,
+                                                            final Class<T> domainClass,
+                                                            final Specification<T> specification) {
+        Objects.requireNonNull(entityManager, ENTITY_MANAGER_CANNOT_BE_NULL);
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+        applySpecification(specification, domainClass, query, builder);
+        query.select(builder.literal(1));
+        query.distinct(false);
+        return applyHints(entityManager.createQuery(query), specification).setMaxResults(1);
+    }
+
+    /**
+     * Applies the hints carried by the given Specification to the given
+     * query. Read-only loads the Entities without snapshots for dirty
+     * checking and flushes the persistence context only on commit, not
+     * before the query. A timeout is passed on to the JDBC statement in
+     * whole seconds, rounded up, and the driver cancels the statement
+     * once it expires.
+     *
+     * @param query The query to apply the hints to.
+     * @param specification The Specification to read the hints of,
+     *                      can be null.
+     * @return The given query.
+     * @param <R> The result type of the query.
+     * @throws NullPointerException if the given query is null.
+     */
+    public static <R> TypedQuery<R> applyHints(final TypedQuery<R> query,
+                                               final Specification<?> specification) {
+        Objects.requireNonNull(query, "Argument 'query' cannot be null.");
+        final SpecificationHints hints = SpecificationHints.of(specification);
+        if (hints.isReadOnly()) {
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            query.setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.COMMIT);
+        }
+        hints.getFetchSize().ifPresent(fetchSize -> query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize));
+        hints.getTimeoutSeconds().ifPresent(timeout -> query.setHint(HibernateHints.HINT_TIMEOUT, timeout));
+        if (hints.isCacheable()) {
+            query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        hints.getComment().ifPresent(comment -> query.setHint(HibernateHints.HINT_COMMENT, comment));
+        return query;
+    }
+
+    /**
+     * Reads a Slice of the Entities matching the given Specification.
+     * Reads one row more than the page size to determine whether a next
+     * Slice exists, instead of issuing a count query.
+     * <p>
+     * A page cannot be limited in SQL while a collection is fetched,
+     * since the rows of each Entity are multiplied by its elements, so
+     * when the Specification fetches a collection the identifiers of the
+     * page are selected first, and only the Entities of the page are
+     * then loaded with their fetches.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to apply, can be null.
+     * @param pageable The page to read, including its Sort.
+     * @return A Slice of the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given entityManager,
+     *                              domainClass or pageable is null.
+     */
+    public static <T> Slice<T> readSlice(final EntityManager entityManager,
+                                         final Class<T> domainClass,
+                                         final Specification<T> specification,
+                                         final Pageable pageable) {
+        Objects.requireNonNull(pageable, "Argument 'pageable' cannot be null.");
+        if (pageable.isPaged() && fetchesCollection(specification)) {
+            return readSliceByIdentifiers(entityManager, domainClass, specification, pageable);
+        }
+        return readSlice(createQuery(entityManager, domainClass, specification, pageable.getSort()), pageable);
+    }
+
+    /**
+     * Reads a Slice of the projection of the Entities matching the given
+     * Specification, without a count query.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param projection The projection to select.
+     * @param specification The Specification to apply, can be null.
+     * @param pageable The page to read, including its Sort.
+     * @return A Slice of the projection of the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @param <R> The Record Type of the projection.
+     * @throws NullPointerException if the given entityManager,
+     *                              projection or pageable is null.
+     */
+    public static <T, R extends Record> Slice<R> readSlice(final EntityManager entityManager,
+                                                          final SpecificationProjection<T, R> projection,
+                                                          final Specification<T> specification,
+                                                          final Pageable pageable) {
+        Objects.requireNonNull(pageable, "Argument 'pageable' cannot be null.");
+        return readSlice(createQuery(entityManager, projection, specification, pageable.getSort()), pageable);
+    }
+
+    /**
+     * Reads a Slice from the given query, reading one row more than the
+     * page size to determine whether a next Slice exists.
+     */
+    private static <R> Slice<R> readSlice(final TypedQuery<R> query,
+                                          final Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        if (pageable.getOffset() > 0) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        }
+        query.setMaxResults(pageable.getPageSize() + 1);
+        final List<R> content = query.getResultList();
+        final boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable, hasNext);
+    }
+
+    /**
+     * Reads a Slice of the Entities matching the given Specification by
+     * selecting the identifiers of the page, without fetches, and then
+     * loading the Entities with those identifiers along with the fetches
+     * of the Specification, in the order of the identifiers. Identifiers
+     * repeated by a join are dropped, keeping the first of each.
+     */
+    private static <T> Slice<T> readSliceByIdentifiers(final EntityManager entityManager,
+                                                       final Class<T> domainClass,
+                                                       final Specification<T> specification,
+                                                       final Pageable pageable) {
+        final SingularAttribute<? super T, ?> identifier = identifierOf(entityManager, domainClass);
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object> idQuery = builder.createQuery(Object.class);
+        final Root<T> idRoot = applySpecification(specification, domainClass, idQuery, builder);
+        idQuery.select(idRoot.get(identifier));
+        idQuery.distinct(false);
+        if (pageable.getSort().isSorted()) {
+            idQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), idRoot, builder));
+        }
+        final List<Object> ids;
+        try (Stream<Object> stream = applyHints(entityManager.createQuery(idQuery), specification).getResultStream()) {
+            ids = stream.distinct()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize() + 1L)
+                    .toList();
+        }
+        final boolean hasNext = ids.size() > pageable.getPageSize();
+        final List<Object> page = hasNext ? ids.subList(0, pageable.getPageSize()) : ids;
+        if (page.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList(), pageable, false);
+        }
+        final Specification<T> within = Specification.<T>where((root, query, criteriaBuilder) ->
+                root.get(identifier).in(page)).and(fetchesOf(specification));
+        final Map<Object, T> entities = new HashMap<>();
+        applyHints(createQuery(entityManager, domainClass, within, Sort.unsorted()), specification)
+                .getResultList()
+                .forEach(entity -> entities.put(
+                        entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity),
+                        entity));
+        return new SliceImpl<>(page.stream().map(entities::get).filter(Objects::nonNull).toList(), pageable, hasNext);
+    }
+
+    /**
+     * Returns a Specification that applies only the fetches of the given
+     * Specification, defined with SpecificationFactory, so that its
+     * filter is not run again, or null if it has none.
+     *
+     * @param specification The Specification to read the fetches of,
+     *                      can be null.
+     * @return A Specification of the fetches, or null.
+     * @param <T> The Aggregate Root of the Specification.
+     */
+    public static <T> Specification<T> fetchesOf(final Specification<T> specification) {
+        if (specification instanceof HintedSpecification<T> hinted) {
+            return fetchesOf(hinted.getDelegate());
+        }
+        if (specification instanceof CompositeSpecification<T> composite) {
+            return Specification.where(fetchesOf(composite.getLeft())).and(fetchesOf(composite.getRight()));
+        }
+        if (specification instanceof AttributeSpecification<T> leaf
+                && leaf.getOperator() == SpecificationOperator.FETCH) {
+            return leaf;
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the given Specification fetches a collection with
+     * a fetch defined with SpecificationFactory.
+     */
+    private static boolean fetchesCollection(final Specification<?> specification) {
+        if (specification instanceof HintedSpecification<?> hinted) {
+            return fetchesCollection(hinted.getDelegate());
+        }
+        if (specification instanceof CompositeSpecification<?> composite) {
+            return fetchesCollection(composite.getLeft()) || fetchesCollection(composite.getRight());
+        }
+        return specification instanceof AttributeSpecification<?> leaf
+                && leaf.getOperator() == SpecificationOperator.FETCH
+                && leaf.getAttribute() instanceof PluralAttribute<?, ?, ?>;
+    }
+
+    /**
+     * Returns a Stream of the Entities matching the given Specification,
+     * backed by forward-only scrollable results so that rows are read
+     * from the database as the Stream is consumed, in batches of the
+     * given fetch size. Entities are loaded read-only, so no snapshots
+     * are kept for dirty checking, and the streamed Entities are
+     * detached after each batch so that memory use stays flat however
+     * many rows are read. Entities that were already managed when the
+     * Stream was opened are returned as they are and stay managed,
+     * along with any changes made to them.
+     * <p>
+     * WARNING: Entities that have been consumed must not be used to
+     * lazy load associations. Associated Entities loaded along with
+     * them are not detached, unless detaching cascades to them. The
+     * Stream must be closed once consumed, and consumed while the
+     * underlying connection is open.
+     * <p>
+     * The identifier is appended to the given Sort, unless already
+     * included, so that the rows of each Entity are read consecutively
+     * when collections are fetched.
+     *
+     * @param entityManager The EntityManager to create the query with.
+     * @param domainClass The Entity Class to query from as the
+     *                    Aggregate Root.
+     * @param specification The Specification to apply, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @param fetchSize The number of rows to read from the database at
+     *                  a time, which is also the number of Entities kept
+     *                  in the persistence context at most.
+     * @return A Stream of the matching Entities.
+     * @param <T> The Aggregate Root of the Specification.
+     * @throws NullPointerException if the given entityManager,
+     *                              domainClass or sort is null.
+     * @throws IllegalArgumentException if the given fetchSize is
+     *                                  less than one.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Stream<T> createStream(final EntityManager entityManager,
+                                             final Class<T> domainClass,
+                                             final Specification<T> specification,
+                                             final Sort sort,
+                                             final int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Argument 'fetchSize' must be greater than zero.");
+        }
+        final Query<T> query = createQuery(entityManager, domainClass, specification,
+                withIdentifier(entityManager, domainClass, sort))
+                .unwrap(Query.class);
+        final ScrollableResults<T> results = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return StreamSupport.stream(new ScrollableResultsSpliterator<>(results, entityManager, fetchSize), false)
+                .onClose(results::close);
+    }
+
+    /**
+     * Returns the given Sort with the identifier of the given Entity
+     * Class appended, unless the Sort already includes it or the
+     * Entity Class does not have a single identifier.
+     *
+     * @param entityManager The EntityManager to read the Metamodel from.
+     * @param domainClass The Entity Class to read the identifier of.
+     * @param sort The Sort to append the identifier to.
+     * @return The given Sort with the identifier appended.
+     * @param <T> The Entity Type.
+     */
+    public static <T> Sort withIdentifier(final EntityManager entityManager,
+                                          final Class<T> domainClass,
+                                          final Sort sort) {
+        Objects.requireNonNull(sort, "Argument 'sort' cannot be null.");
+        final EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            return sort;
+        }
+        final String identifier = identifierOf(entityManager, domainClass).getName();
+        return sort.getOrderFor(identifier) == null ? sort.and(Sort.by(identifier)) : sort;
+    }
+
+    /**
+     * Returns the identifier attribute of the given Entity Class.
+     *
+     * @param entityManager The EntityManager to read the Metamodel from.
+     * @param domainClass The Entity Class to read the identifier of.
+     * @return The identifier attribute.
+     * @param <T> The Entity Type.
+     * @throws NullPointerException if the given entityManager or
+     *                              domainClass is null.
+     * @throws IllegalArgumentException if the Entity Class does not
+     *                                  have a single identifier.
+     */
+    public static <T> SingularAttribute<? super T, ?> identifierOf(final EntityManager entityManager,
+                                                                  final Class<T> domainClass) {
+        Objects.requireNonNull(entityManager, ENTITY_MANAGER_CANNOT_BE_NULL);
+        Objects.requireNonNull(domainClass, DOMAIN_CLASS_CANNOT_BE_NULL);
+        final EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            throw new IllegalArgumentException("Entity '" + domainClass.getName() + "' does not have a single identifier.");
+        }
+        return entityType.getId(entityType.getIdType().getJavaType());
+    }
+
+    /**
+     * Creates a Root for the given query and restricts the query
+     * with the Predicate of the given Specification, if any.
+     *
+     * @param specification The Specification to apply, can be null.
+     * @param domainClass The Entity Class to query from.
+     * @param query The query to apply the Specification to.
+     * @param builder The CriteriaBuilder to create Predicates with.
+     * @return The Root of the query.
+     * @param <T> The Aggregate Root of the Specification.
+     * @param <R> The result type of the query.
+     */
+    public static <T, R> Root<T> applySpecification(final Specification<T> specification,
+                                             final Class<T> domainClass,
+                                             final CriteriaQuery<R> query,
+                                             final CriteriaBuilder builder) {
+        final Root<T> root = query.from(domainClass);
+        if (specification != null) {
+            final Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment that executes Specifications with the cheapest
+ * SQL for each purpose. Complements
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor},
+ * whose paged queries always issue a count query.
+ * <p>
+ * Implemented by {@link SpecificationRepositoryImpl}, which must be
+ * configured as the repository base class, for example:
+ * {@code @EnableJpaRepositories(repositoryBaseClass = SpecificationRepositoryImpl.class)}.
+ *
+ * @param <T> The Entity Type to query from as the Aggregate Root.
+ *
+ * @author Quinn Andrews
+ */
+public interface SpecificationQueryExecutor<T> {
+
+    /**
+     * Returns a Slice of the Entities matching the given Specification.
+     * Fetches one row more than the page size to determine whether a
+     * next Slice exists, instead of issuing a count query. When a
+     * collection is fetched, the identifiers of the page are selected
+     * first, so that the page is limited in the database rather than in
+     * memory.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param pageable The page to return, including its Sort.
+     * @return A Slice of the matching Entities.
+     * @throws NullPointerException if the given pageable is null.
+     */
+    Slice<T> findSlice(Specification<T> specification, Pageable pageable);
+
+    /**
+     * Returns true if any Entity matches the given Specification.
+     * Selects a constant from at most one row, and fetches defined
+     * with SpecificationFactory are rendered as plain joins.
+     *
+     * @param specification The Specification to match, can be null.
+     * @return Boolean indicating whether any Entity matches.
+     */
+    boolean exists(Specification<T> specification);
+
+    /**
+     * Returns the number of Entities matching the given Specification.
+     * No ordering is applied, and fetches defined with SpecificationFactory
+     * are rendered as plain joins.
+     *
+     * @param specification The Specification to match, can be null.
+     * @return The number of matching Entities.
+     */
+    long count(Specification<T> specification);
+
+    /**
+     * Returns a Stream of the Entities matching the given Specification,
+     * reading rows in batches of the fetch size hinted by the Specification
+     * or, if none, of {@link SpecificationQueries#DEFAULT_FETCH_SIZE}.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return A Stream of the matching Entities, which must be closed.
+     * @throws NullPointerException if the given sort is null.
+     * @throws org.springframework.transaction.IllegalTransactionStateException
+     *         if there is no surrounding transaction.
+     * @see #stream(Specification, Sort, int)
+     */
+    Stream<T> stream(Specification<T> specification, Sort sort);
+
+    /**
+     * Returns a Stream of the Entities matching the given Specification,
+     * backed by scrollable results so that memory use stays flat however
+     * many Entities match. Rows are read in batches of the given fetch
+     * size and Entities are loaded read-only. After each batch, the
+     * Entities the Stream loaded are detached, along with the associated
+     * Entities and collection elements loaded with them, while Entities
+     * that were already managed, and any changes made to them, are kept.
+     * <p>
+     * Must be called, and the Stream consumed, within a transaction that
+     * keeps the connection open, for example a method annotated with
+     * {@code @Transactional(readOnly = true)}.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param sort The Sort to apply, can be unsorted.
+     * @param fetchSize The number of rows to read at a time.
+     * @return A Stream of the matching Entities, which must be closed.
+     * @throws NullPointerException if the given sort is null.
+     * @throws IllegalArgumentException if the given fetchSize is less
+     *                                  than one.
+     * @throws org.springframework.transaction.IllegalTransactionStateException
+     *         if there is no surrounding transaction.
+     */
+    Stream<T> stream(Specification<T> specification, Sort sort, int fetchSize);
+
+    /**
+     * Returns the given projection of the Entities matching the given
+     * Specification. Only the columns of the projected attributes are
+     * selected, and the Records returned are not managed.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param projection The projection to select.
+     * @param sort The Sort to apply, can be unsorted.
+     * @return The projection of the matching Entities.
+     * @param <R> The Record Type of the projection.
+     * @throws NullPointerException if the given projection or sort
+     *                              is null.
+     */
+    <R extends Record> List<R> findAll(Specification<T> specification,
+                                       SpecificationProjection<T, R> projection,
+                                       Sort sort);
+
+    /**
+     * Returns a Slice of the given projection of the Entities matching
+     * the given Specification, without a count query.
+     *
+     * @param specification The Specification to match, can be null.
+     * @param projection The projection to select.
+     * @param pageable The page to return, including its Sort.
+     * @return A Slice of the projection of the matching Entities.
+     * @param <R> The Record Type of the projection.
+     * @throws NullPointerException if the given projection or pageable
+     *                              is null.
+     */
+    <R extends Record> Slice<R> findSlice(Specification<T> specification,
+                                          SpecificationProjection<T, R> projection,
+                                          Pageable pageable);
+}
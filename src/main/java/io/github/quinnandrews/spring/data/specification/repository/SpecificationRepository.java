@@ -0,0 +1,21 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Convenience Repository Interface combining {@link JpaRepository},
+ * {@link JpaSpecificationExecutor} and {@link SpecificationQueryExecutor}.
+ *
+ * @param <T> The Entity Type managed by the Repository.
+ * @param <ID> The type of the Entity's identifier.
+ *
+ * @author Quinn Andrews
+ * @see SpecificationRepositoryImpl
+ */
+@NoRepositoryBean
+public interface SpecificationRepository<T, ID> extends JpaRepository<T, ID>,
+                                                        JpaSpecificationExecutor<T>,
+                                                        SpecificationQueryExecutor<T> {
+}
@@ -0,0 +1,173 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationHints;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.CrudMethodMetadata;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.QueryHints;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository base class implementing {@link SpecificationQueryExecutor}
+ * on top of {@link SimpleJpaRepository}. Configure it with
+ * {@code @EnableJpaRepositories(repositoryBaseClass = SpecificationRepositoryImpl.class)}.
+ * Also applies any {@link SpecificationHints}
+ * carried by the Specifications passed to the methods of
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor}.
+ *
+ * @param <T> The Entity Type managed by the Repository.
+ * @param <ID> The type of the Entity's identifier.
+ *
+ * @author Quinn Andrews
+ */
+public class SpecificationRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID>
+                                                implements SpecificationRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Creates a new SpecificationRepositoryImpl. Called by
+     * Spring Data when creating Repository instances.
+     *
+     * @param entityInformation Metadata of the Entity managed
+     *                          by the Repository.
+     * @param entityManager The EntityManager to query with.
+     */
+    public SpecificationRepositoryImpl(final JpaEntityInformation<T, ?> entityInformation,
+                                       final EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<T> findSlice(final Specification<T> specification,
+                              final Pageable pageable) {
+        return SpecificationQueries.readSlice(entityManager, getDomainClass(), specification, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(final Specification<T> specification) {
+        final TypedQuery<Integer> query = SpecificationQueries.createExistsQuery(
+                entityManager, getDomainClass(), specification);
+        final CrudMethodMetadata metadata = getRepositoryMethodMetadata();
+        if (metadata != null && metadata.getLockModeType() != null) {
+            query.setLockMode(metadata.getLockModeType());
+        }
+        return !applyRepositoryMethodMetadata(query, getQueryHints(), specification)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(final Specification<T> specification) {
+        final TypedQuery<Long> query = SpecificationQueries.createCountQuery(
+                entityManager, getDomainClass(), specification);
+        return applyRepositoryMethodMetadata(query, getQueryHintsForCount(), specification)
+                .getSingleResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<T> stream(final Specification<T> specification,
+                            final Sort sort) {
+        return stream(specification, sort, SpecificationHints.of(specification)
+                .getFetchSize()
+                .orElse(SpecificationQueries.DEFAULT_FETCH_SIZE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<T> stream(final Specification<T> specification,
+                            final Sort sort,
+                            final int fetchSize) {
+        return SpecificationQueries.createStream(entityManager, getDomainClass(), specification, sort, fetchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <R extends Record> List<R> findAll(final Specification<T> specification,
+                                              final SpecificationProjection<T, R> projection,
+                                              final Sort sort) {
+        return SpecificationQueries.createQuery(entityManager, projection, specification, sort)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <R extends Record> Slice<R> findSlice(final Specification<T> specification,
+                                                 final SpecificationProjection<T, R> projection,
+                                                 final Pageable pageable) {
+        return SpecificationQueries.readSlice(entityManager, projection, specification, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <S extends T> TypedQuery<S> getQuery(final Specification<S> specification,
+                                                   final Class<S> domainClass,
+                                                   final Sort sort) {
+        return SpecificationQueries.applyHints(super.getQuery(specification, domainClass, sort), specification);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected <S extends T> TypedQuery<Long> getCountQuery(final Specification<S> specification,
+                                                           final Class<S> domainClass) {
+        return SpecificationQueries.applyHints(super.getCountQuery(specification, domainClass), specification);
+    }
+
+    /**
+     * Applies the given query hints and the comment declared on the
+     * Repository method being invoked, as SimpleJpaRepository does for
+     * the queries it creates itself, then re-applies the hints of the
+     * given Specification so that those take precedence. Fetch graphs
+     * are not applied, since the fast-path queries do not select the
+     * Entities.
+     */
+    private <R> TypedQuery<R> applyRepositoryMethodMetadata(final TypedQuery<R> query,
+                                                            final QueryHints hints,
+                                                            final Specification<T> specification) {
+        final CrudMethodMetadata metadata = getRepositoryMethodMetadata();
+        if (metadata == null) {
+            return query;
+        }
+        hints.forEach(query::setHint);
+        if (metadata.getComment() != null) {
+            query.setHint(HibernateHints.HINT_COMMENT, metadata.getComment());
+        }
+        return SpecificationQueries.applyHints(query, specification);
+    }
+}
@@ -3,6 +3,9 @@ package io.github.quinnandrews.spring.data.specification.builder;
 import io.github.quinnandrews.spring.data.specification.builder.application.Application;
 import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedalTag;
 import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.data.specification.statistics.QueryStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.specifications.GuitarPedalSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +26,16 @@ public class GuitarPedalSpecificationsIntegrationTest {
     @Autowired
     private GuitarPedalRepository guitarPedalRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = QueryStatistics.of(entityManagerFactory);
+    }
+
     @Test
     void search_example_01() {
         // when passing in a value of 75
@@ -369,12 +382,16 @@ public class GuitarPedalSpecificationsIntegrationTest {
     void fetch_example_01() {
         // when executing a query that defines a fetch
         // and has no filters
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_01(),
                 Sort.by("name")
-        );
+        ));
         // then all four pedals are returned
         assertEquals(4, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(8)
+                .assertNoLazyLoads();
 
         assertEquals(1L, pedals.get(0).getId());
         assertEquals("Big Muff Fuzz", pedals.get(0).getName());
@@ -401,13 +418,17 @@ public class GuitarPedalSpecificationsIntegrationTest {
     void fetch_example_02() {
         // when pedals are filtered by the name of an associated manufacturer
         // with a value of 'Strymon'
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_02("Strymon"),
                 Sort.by("name")
-        );
+        ));
         // then 1 pedal is returned
         // and the pedal has a manufacturer named 'Strymon'
         assertEquals(1, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(2)
+                .assertNoLazyLoads();
 
         assertEquals(2L, pedals.get(0).getId());
         assertEquals("Deco: Tape Saturation and Double Tracker", pedals.get(0).getName());
@@ -418,16 +439,20 @@ public class GuitarPedalSpecificationsIntegrationTest {
     void fetch_example_03() {
         // when pedals are filtered by the tag of an associated collection of guitarPedalTags
         // with a value of 'shoegaze'
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_03(List.of("shoegaze")),
                 Sort.by("name")
-        );
+        ));
         // then 2 pedals are returned
         // and the first pedal has two tags
         // and one of them is 'shoegaze'
         // and the second pedal has four tags
         // and one of them is 'shoegaze'
         assertEquals(2, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(10)
+                .assertNoLazyLoads();
 
         assertEquals(1L, pedals.get(0).getId());
         assertEquals("Big Muff Fuzz", pedals.get(0).getName());
@@ -452,16 +477,20 @@ public class GuitarPedalSpecificationsIntegrationTest {
     void fetch_example_04() {
         // when pedals are filtered by the tag of an associated collection of guitarPedalTags
         // with a value of 'shoegaze'
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_04(List.of("shoegaze")),
                 Sort.by("name")
-        );
+        ));
         // then 2 pedals are returned
         // and the first pedal has two tags
         // and one of them is 'shoegaze'
         // and the second pedal has four tags
         // and one of them is 'shoegaze'
         assertEquals(2, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(10)
+                .assertNoLazyLoads();
 
         assertEquals(1L, pedals.get(0).getId());
         assertEquals("Big Muff Fuzz", pedals.get(0).getName());
@@ -490,14 +519,18 @@ public class GuitarPedalSpecificationsIntegrationTest {
         // but the query is malformed with too many joins
         // and one join is for the fetch
         // and there is one join for each filter
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_05(300L, List.of("shoegaze"))
-        );
+        ));
         // then 1 pedal is returned
         // and the pedal has a tag named 'shoegaze'
         // and the pedal has tags with ids greater than or equal to 300
         // but the pedal is returned with 16 tags instead of the expected 4
         assertEquals(1, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(6)
+                .assertNoLazyLoads();
 
         assertEquals(3L, pedals.get(0).getId());
         assertEquals("Soft Focus Reverb", pedals.get(0).getName());
@@ -531,14 +564,18 @@ public class GuitarPedalSpecificationsIntegrationTest {
         // and the query is well-formed with two joins
         // and one join is for the fetch
         // and the other join is for both filters
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_06(300L, List.of("shoegaze"))
-        );
+        ));
         // then 1 pedal is returned
         // and the pedal has a tag named 'shoegaze'
         // and the pedal has tags with ids greater than or equal to 300
         // and the pedal is returned with 4 tags
         assertEquals(1, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(6)
+                .assertNoLazyLoads();
 
         assertEquals(3L, pedals.get(0).getId());
         assertEquals("Soft Focus Reverb", pedals.get(0).getName());
@@ -559,14 +596,18 @@ public class GuitarPedalSpecificationsIntegrationTest {
         // and where the id is greater than or equal to 300
         // and the query is well-formed,
         // but it only has one join for both the fetch and the filtering
-        var pedals = guitarPedalRepository.findAll(
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
                 guitarPedalSpecifications.fetch_example_07(300L, List.of("shoegaze"))
-        );
+        ));
         // then 1 pedal is returned
         // and the pedal has a tag named 'shoegaze'
         // and the pedal has tags with ids greater than or equal to 300
         // but the pedal is returned with only 1 tag
         assertEquals(1, pedals.size());
+        // and the pedals and their associations are fetched in a single statement
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(3)
+                .assertNoLazyLoads();
 
         assertEquals(3L, pedals.get(0).getId());
         assertEquals("Soft Focus Reverb", pedals.get(0).getName());
@@ -8,6 +8,11 @@ import org.junit.jupiter.api.Test;
 import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -532,4 +537,118 @@ class SpecificationBuilderTest {
                         .with().fetchOf((ListAttribute<GuitarPedal, Object>) null)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void readOnly_returnsHintedSpecification() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 0L)
+                .readOnly()
+                .toSpecification();
+        var hinted = assertInstanceOf(HintedSpecification.class, specification);
+        assertTrue(hinted.getHints().isReadOnly());
+        assertNotNull(hinted.getDelegate());
+    }
+
+    @Test
+    void readOnly_returnsHintedSpecification_whenNoSpecificationsDefined() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .readOnly()
+                .toSpecification();
+        var hinted = assertInstanceOf(HintedSpecification.class, specification);
+        assertNull(hinted.getDelegate());
+    }
+
+    @Test
+    void readOnly_returnsSerializableSpecification_whenNoSpecificationsDefined() throws Exception {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .readOnly()
+                .comment("pedal search")
+                .toSpecification();
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(specification);
+        }
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var hinted = assertInstanceOf(HintedSpecification.class, input.readObject());
+            assertEquals(SpecificationHints.of(specification), hinted.getHints());
+        }
+    }
+
+    @Test
+    void where_mergesHints_ofHintedSpecification() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 0L)
+                .and(SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNotNull(GuitarPedal_.name)
+                        .readOnly()
+                        .toSpecification())
+                .toSpecification();
+        assertTrue(SpecificationHints.of(specification).isReadOnly());
+    }
+
+    @Test
+    void toSpecification_returnsPlainSpecification_whenNoHintsSet() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 0L)
+                .toSpecification();
+        assertFalse(specification instanceof HintedSpecification);
+        assertTrue(SpecificationHints.of(specification).isEmpty());
+    }
+
+    @Test
+    void hints_returnsHintedSpecification_withEveryHint() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 0L)
+                .with().fetchSize(100)
+                .timeout(Duration.ofSeconds(3))
+                .cacheable()
+                .comment("pedal search")
+                .toSpecification();
+        var hints = SpecificationHints.of(specification);
+        assertEquals(100, hints.getFetchSize().orElseThrow());
+        assertEquals(Duration.ofSeconds(3), hints.getTimeout().orElseThrow());
+        assertTrue(hints.isCacheable());
+        assertEquals("pedal search", hints.getComment().orElseThrow());
+        assertFalse(hints.isReadOnly());
+    }
+
+    @Test
+    void hints_roundsTimeoutUpToWholeSeconds() {
+        assertEquals(1, SpecificationHints.none().withTimeout(Duration.ofMillis(1)).getTimeoutSeconds().orElseThrow());
+        assertEquals(1, SpecificationHints.none().withTimeout(Duration.ofMillis(1000)).getTimeoutSeconds().orElseThrow());
+        assertEquals(2, SpecificationHints.none().withTimeout(Duration.ofMillis(1001)).getTimeoutSeconds().orElseThrow());
+        assertTrue(SpecificationHints.none().getTimeoutSeconds().isEmpty());
+    }
+
+    @Test
+    void fetchSize_throwsException_whenLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> SpecificationBuilder.from(GuitarPedal.class).fetchSize(0)
+        );
+    }
+
+    @Test
+    void timeout_throwsException_whenShorterThanOneMillisecond() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> SpecificationBuilder.from(GuitarPedal.class).timeout(Duration.ZERO)
+        );
+    }
+
+    @Test
+    void timeout_throwsException_whenNull() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpecificationBuilder.from(GuitarPedal.class).timeout(null)
+        );
+    }
+
+    @Test
+    void comment_throwsException_whenNull() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpecificationBuilder.from(GuitarPedal.class).comment(null)
+        );
+    }
+}
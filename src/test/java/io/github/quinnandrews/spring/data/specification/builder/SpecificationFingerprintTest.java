@@ -0,0 +1,96 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationFingerprintTest {
+
+    @Test
+    void of_returnsEqualFingerprints_forEqualSpecifications() {
+        assertEquals(
+                SpecificationFingerprint.of(search("fuzz", 100)),
+                SpecificationFingerprint.of(search("fuzz", 100))
+        );
+    }
+
+    @Test
+    void of_returnsSameShapeButOtherValues_forOtherValues() {
+        var fuzz = SpecificationFingerprint.of(search("fuzz", 100)).orElseThrow();
+        var reverb = SpecificationFingerprint.of(search("reverb", 150)).orElseThrow();
+        assertEquals(fuzz.shape(), reverb.shape());
+        assertNotEquals(fuzz, reverb);
+        assertEquals(List.of("%fuzz%", 100), fuzz.values());
+    }
+
+    @Test
+    void of_describesOperatorsAttributesAndComposition() {
+        var fingerprint = SpecificationFingerprint.of(search("fuzz", 100)).orElseThrow();
+        assertEquals(
+                "AND(AND(LIKE(GuitarPedal.name), GREATER_THAN(GuitarPedal.usedValue)), FETCH(GuitarPedal.tags))",
+                fingerprint.shape()
+        );
+        assertEquals(Set.of(GuitarPedal_.name, GuitarPedal_.usedValue, GuitarPedal_.tags), fingerprint.attributes());
+    }
+
+    @Test
+    void of_distinguishesConjunctionFromDisjunction() {
+        var and = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .and().isTrue(GuitarPedal_.hasStereoOutput)
+                .toSpecification();
+        var or = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .or(SpecificationFactory.isTrue(GuitarPedal_.hasStereoOutput))
+                .toSpecification();
+        assertNotEquals(
+                SpecificationFingerprint.of(and).orElseThrow().shape(),
+                SpecificationFingerprint.of(or).orElseThrow().shape()
+        );
+    }
+
+    @Test
+    void of_ignoresHints() {
+        var plain = search("fuzz", 100);
+        var hinted = SpecificationBuilder.from(GuitarPedal.class)
+                .where(plain)
+                .readOnly()
+                .toSpecification();
+        assertEquals(SpecificationFingerprint.of(plain), SpecificationFingerprint.of(hinted));
+    }
+
+    @Test
+    void of_returnsEveryRow_whenSpecificationIsNull() {
+        var fingerprint = SpecificationFingerprint.of(null).orElseThrow();
+        assertEquals(SpecificationFingerprint.EVERY_ROW, fingerprint.shape());
+        assertTrue(fingerprint.values().isEmpty());
+    }
+
+    @Test
+    void of_returnsEmpty_whenAnyPartIsOpaque() {
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.conjunction();
+        assertTrue(SpecificationFingerprint.of(opaque).isEmpty());
+        assertTrue(SpecificationFingerprint.of(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .and(opaque)
+                .toSpecification()).isEmpty());
+    }
+
+    private static Specification<GuitarPedal> search(final String name,
+                                                     final Integer usedValue) {
+        return SpecificationBuilder.from(GuitarPedal.class)
+                .where().isLike(GuitarPedal_.name, "%" + name + "%")
+                .and().isGreaterThan(GuitarPedal_.usedValue, usedValue)
+                .with().fetchOf(GuitarPedal_.tags)
+                .toSpecification();
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.Manufacturer;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.github.quinnandrews.spring.data.specification.builder.SpecificationFactory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+@Transactional
+class SpecificationPredicatesIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    static Stream<Arguments> specifications() {
+        return Stream.<Supplier<Specification<GuitarPedal>>>of(
+                () -> null,
+                () -> isEqualTo(GuitarPedal_.name, "Big Muff Fuzz"),
+                () -> isEqualTo(GuitarPedal_.usedValue, 150),
+                () -> isNotEqualTo(GuitarPedal_.usedValue, 150),
+                () -> isLike(GuitarPedal_.name, "%REVERB%"),
+                () -> isLike(GuitarPedal_.name, "%: %"),
+                () -> isLike(GuitarPedal_.name, "_ig Muff%"),
+                () -> isLike(GuitarPedal_.name, "%\\_%"),
+                () -> isNotLike(GuitarPedal_.name, "%fuzz%"),
+                () -> isNull(GuitarPedal_.dateSold),
+                () -> isNotNull(GuitarPedal_.dateSold),
+                () -> isTrue(GuitarPedal_.hasStereoOutput),
+                () -> isFalse(GuitarPedal_.hasStereoOutput),
+                () -> isGreaterThan(GuitarPedal_.usedValue, 150),
+                () -> isGreaterThanOrEqualTo(GuitarPedal_.usedValue, 150),
+                () -> isLessThan(GuitarPedal_.usedValue, 200),
+                () -> isLessThanOrEqualTo(GuitarPedal_.usedValue, 200),
+                () -> isBetween(GuitarPedal_.usedValue, 75, 200),
+                () -> isGreaterThan(GuitarPedal_.dateSold, LocalDate.of(2000, 1, 1)),
+                () -> isIn(GuitarPedal_.usedValue, 75, 250, 999),
+                () -> isEqualTo(GuitarPedal_.purchasePrice, new BigDecimal("99.0")),
+                () -> isNotEqualTo(GuitarPedal_.purchasePrice, new BigDecimal("199")),
+                () -> isIn(GuitarPedal_.purchasePrice, new BigDecimal("279.5"), new BigDecimal("349.000")),
+                () -> isLessThanOrEqualTo(GuitarPedal_.purchasePrice, new BigDecimal("199.0")),
+                () -> isEqualTo(GuitarPedal_.manufacturer, manufacturer(2L)),
+                () -> isIn(GuitarPedal_.manufacturer, manufacturer(1L), manufacturer(2L)),
+                () -> fetchOf(GuitarPedal_.tags),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .and().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .toSpecification(),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, "%fuzz%")
+                        .or(isGreaterThan(GuitarPedal_.usedValue, 225))
+                        .toSpecification(),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, "%fuzz%")
+                        .or(ghost())
+                        .toSpecification(),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, null)
+                        .and().isNull(GuitarPedal_.dateSold)
+                        .readOnly()
+                        .toSpecification()
+        ).map(supplier -> Arguments.of(supplier));
+    }
+
+    @ParameterizedTest
+    @MethodSource("specifications")
+    void compile_matchesSameEntitiesAsDatabase(final Supplier<Specification<GuitarPedal>> supplier) {
+        var specification = supplier.get();
+        var expected = guitarPedalRepository.findAll(specification).stream()
+                .map(GuitarPedal::getId)
+                .sorted()
+                .toList();
+        var actual = guitarPedalRepository.findAll().stream()
+                .filter(SpecificationPredicates.compile(specification))
+                .map(GuitarPedal::getId)
+                .sorted()
+                .toList();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void compile_treatsNullAttributeAsUnknown() {
+        var predicate = SpecificationPredicates.compile(isNotEqualTo(GuitarPedal_.dateSold, LocalDate.of(2000, 1, 1)));
+        var pedal = new GuitarPedal();
+        assertFalse(predicate.test(pedal));
+        ReflectionTestUtils.setField(pedal, "dateSold", LocalDate.of(2001, 1, 1));
+        assertTrue(predicate.test(pedal));
+    }
+
+    @Test
+    void compile_comparesNumbersByValue() {
+        var predicate = SpecificationPredicates.<GuitarPedal>compile(isIn(GuitarPedal_.usedValue, Set.of(75L)));
+        var pedal = new GuitarPedal();
+        ReflectionTestUtils.setField(pedal, "usedValue", 75);
+        assertTrue(predicate.test(pedal));
+    }
+
+    @Test
+    void compile_matchesInList_ofManyValues_whateverTheirType() {
+        var values = IntStream.range(0, 10_000).map(i -> i * 2 + 1).boxed().collect(Collectors.toSet());
+        var predicate = SpecificationPredicates.<GuitarPedal>compile(isIn(GuitarPedal_.usedValue, values));
+        var mixed = SpecificationPredicates.<GuitarPedal>compile(isIn(GuitarPedal_.usedValue, Set.of(1, 75L)));
+        var pedal = new GuitarPedal();
+        ReflectionTestUtils.setField(pedal, "usedValue", 75);
+        assertTrue(predicate.test(pedal));
+        assertTrue(mixed.test(pedal));
+        ReflectionTestUtils.setField(pedal, "usedValue", 76);
+        assertFalse(predicate.test(pedal));
+        assertFalse(mixed.test(pedal));
+    }
+
+    @Test
+    void compile_comparesBigDecimalsByValue() {
+        var predicate = SpecificationPredicates.compile(isEqualTo(GuitarPedal_.purchasePrice, new BigDecimal("1.0")));
+        var pedal = new GuitarPedal();
+        ReflectionTestUtils.setField(pedal, "purchasePrice", new BigDecimal("1.00"));
+        assertTrue(predicate.test(pedal));
+        ReflectionTestUtils.setField(pedal, "purchasePrice", new BigDecimal("1.01"));
+        assertFalse(predicate.test(pedal));
+    }
+
+    @Test
+    void compile_throwsIllegalArgumentException_whenSpecificationIsOpaque() {
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.conjunction();
+        assertThrows(IllegalArgumentException.class, () -> SpecificationPredicates.compile(opaque));
+        assertThrows(IllegalArgumentException.class, () -> SpecificationPredicates.compile(
+                isNull(GuitarPedal_.dateSold).and(opaque)));
+    }
+
+    private static Manufacturer manufacturer(final Long id) {
+        var manufacturer = new Manufacturer();
+        ReflectionTestUtils.setField(manufacturer, "id", id);
+        return manufacturer;
+    }
+}
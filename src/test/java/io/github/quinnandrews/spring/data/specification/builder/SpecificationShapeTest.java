@@ -0,0 +1,61 @@
+package io.github.quinnandrews.spring.data.specification.builder;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationShapeTest {
+
+    @Test
+    void of_countsPredicatesGhostsAndFetches() {
+        var shape = SpecificationShape.of(search("fuzz", null));
+        assertEquals(
+                SpecificationFingerprint.of(search("fuzz", null)).orElseThrow().shape(),
+                shape.fingerprint()
+        );
+        assertEquals(1, shape.predicateCount());
+        assertEquals(1, shape.ghostCount());
+        assertEquals(1, shape.fetchCount());
+        assertEquals(0, shape.opaqueCount());
+        assertTrue(shape.hasFetches());
+    }
+
+    @Test
+    void of_returnsEqualShapes_forOtherValues() {
+        assertEquals(SpecificationShape.of(search("fuzz", 100)), SpecificationShape.of(search("reverb", 150)));
+        assertNotEquals(SpecificationShape.of(search("fuzz", 100)), SpecificationShape.of(search("fuzz", null)));
+    }
+
+    @Test
+    void of_returnsOpaqueShape_forSpecificationsNotBuiltFromFactory() {
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.isNull(root.get(GuitarPedal_.dateSold));
+        var shape = SpecificationShape.of(SpecificationBuilder.from(GuitarPedal.class)
+                .where(opaque)
+                .and().isTrue(GuitarPedal_.hasStereoOutput)
+                .toSpecification());
+        assertEquals(SpecificationShape.OPAQUE, shape.fingerprint());
+        assertEquals(1, shape.predicateCount());
+        assertEquals(1, shape.opaqueCount());
+        assertFalse(shape.hasFetches());
+    }
+
+    @Test
+    void of_returnsEmptyShape_forNull() {
+        assertEquals(new SpecificationShape("*", 0, 0, 0, 0), SpecificationShape.of(null));
+    }
+
+    private static Specification<GuitarPedal> search(final String name,
+                                                     final Integer usedValue) {
+        return SpecificationBuilder.from(GuitarPedal.class)
+                .where().isLike(GuitarPedal_.name, name)
+                .and().isGreaterThan(GuitarPedal_.usedValue, usedValue)
+                .with().fetchOf(GuitarPedal_.tags)
+                .toSpecification();
+    }
+}
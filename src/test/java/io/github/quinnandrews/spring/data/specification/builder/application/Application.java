@@ -1,9 +1,12 @@
 package io.github.quinnandrews.spring.data.specification.builder.application;
 
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = SpecificationRepositoryImpl.class)
 public class Application {
 
     public static void main(final String[] args) {
@@ -2,6 +2,7 @@ package io.github.quinnandrews.spring.data.specification.builder.application.dat
 
 import jakarta.persistence.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -40,6 +41,10 @@ public class GuitarPedal {
             nullable = false)
     private Integer usedValue;
 
+    @Column(name = "purchase_price",
+            columnDefinition = "DECIMAL(10,2)")
+    private BigDecimal purchasePrice;
+
     @ManyToOne
     @JoinColumn(name="manufacturer_id",
                 nullable=false,
@@ -78,6 +83,10 @@ public class GuitarPedal {
         return usedValue;
     }
 
+    public BigDecimal getPurchasePrice() {
+        return purchasePrice;
+    }
+
     public Manufacturer getManufacturer() {
         return manufacturer;
     }
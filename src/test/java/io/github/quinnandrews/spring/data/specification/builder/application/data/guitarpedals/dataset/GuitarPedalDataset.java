@@ -0,0 +1,256 @@
+package io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.dataset;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * <p> Generates a deterministic dataset of manufacturers, guitar pedals and
+ * their tags, of any size from a thousand to tens of millions of pedals,
+ * so that suites can show how fetch joins, IN lists and LIKE scans scale.
+ * The same size and seed always generate the same rows.
+ *
+ * <p> Rows are appended with batched inserts after the highest identifier
+ * already in each table, so the dataset can be added to the database of
+ * the test Application, next to the rows of data.sql, or to a database of
+ * its own. Suites select the size and seed with the system properties
+ * {@value #SIZE_PROPERTY} and {@value #SEED_PROPERTY}, see
+ * fromSystemProperties().
+ *
+ * @author Quinn Andrews
+ */
+public class GuitarPedalDataset {
+
+    /**
+     * The system property that selects the number of pedals to generate.
+     */
+    public static final String SIZE_PROPERTY = "specification.dataset.size";
+
+    /**
+     * The system property that selects the seed of the generated values.
+     */
+    public static final String SEED_PROPERTY = "specification.dataset.seed";
+
+    /**
+     * The number of pedals generated where {@value #SIZE_PROPERTY} is not set.
+     */
+    public static final int DEFAULT_SIZE = 1_000;
+
+    /**
+     * The seed used where {@value #SEED_PROPERTY} is not set.
+     */
+    public static final long DEFAULT_SEED = 20201031L;
+
+    /**
+     * The number of rows inserted per batch, and per commit.
+     */
+    public static final int BATCH_SIZE = 1_000;
+
+    /**
+     * The number of pedals per manufacturer, on average.
+     */
+    public static final int PEDALS_PER_MANUFACTURER = 100;
+
+    /**
+     * The most tags a pedal is generated with.
+     */
+    public static final int MAX_TAGS_PER_PEDAL = 6;
+
+    private static final LocalDate FIRST_PURCHASE = LocalDate.of(2015, 1, 1);
+
+    private static final String[] MAKERS = {
+            "Electro", "Tone", "Fuzz", "Echo", "Analog", "Signal", "Valve", "Circuit"
+    };
+    private static final String[] WORKS = {
+            "Works", "Labs", "Audio", "Effects", "Devices", "Electronics"
+    };
+    private static final String[] ADJECTIVES = {
+            "Big", "Soft", "Deep", "Vintage", "Cosmic", "Tiny", "Wild", "Golden", "Hollow", "Sneaky"
+    };
+    private static final String[] EFFECTS = {
+            "Fuzz", "Overdrive", "Distortion", "Reverb", "Delay", "Chorus",
+            "Flanger", "Phaser", "Tremolo", "Compressor", "Octave", "Looper"
+    };
+    private static final String[] TAGS = {
+            "fuzz", "shoegaze", "tape", "saturation", "chorus", "flanger", "delay", "reverb",
+            "lo-fi", "90s", "tremolo", "boost", "octave", "ambient", "vintage", "stereo"
+    };
+
+    private final int size;
+    private final long seed;
+
+    /**
+     * Creates a new GuitarPedalDataset.
+     *
+     * @param size The number of pedals to generate.
+     * @param seed The seed of the generated values.
+     * @throws IllegalArgumentException if the given size is less than 1.
+     */
+    public GuitarPedalDataset(final int size,
+                              final long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Argument 'size' must be at least 1.");
+        }
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns a GuitarPedalDataset of the size and seed given by the system
+     * properties {@value #SIZE_PROPERTY} and {@value #SEED_PROPERTY}, or of
+     * the default size and seed where they are not set.
+     *
+     * @return A GuitarPedalDataset of the size and seed selected.
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public static GuitarPedalDataset fromSystemProperties() {
+        return new GuitarPedalDataset(
+                Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE),
+                Long.getLong(SEED_PROPERTY, DEFAULT_SEED)
+        );
+    }
+
+    /**
+     * Returns the number of pedals this dataset generates.
+     *
+     * @return The number of pedals.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the seed of the values this dataset generates.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of manufacturers generated with the pedals.
+     *
+     * @return The number of manufacturers.
+     */
+    public int getManufacturerCount() {
+        return Math.max(4, size / PEDALS_PER_MANUFACTURER);
+    }
+
+    /**
+     * Appends the dataset to the guitar_pedal, manufacturer and
+     * guitar_pedal_tag tables of the given DataSource, committing after
+     * every batch.
+     *
+     * @param dataSource The DataSource of the database to fill.
+     * @return The number of rows inserted into each table.
+     * @throws IllegalStateException if the rows cannot be inserted.
+     */
+    public Counts generate(final DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                return generate(connection);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not generate a dataset of " + size + " guitar pedals.", e);
+        }
+    }
+
+    private Counts generate(final Connection connection) throws SQLException {
+        final SplittableRandom random = new SplittableRandom(seed);
+        // drawn from a stream of their own, so the other columns keep the values they had for each seed
+        final SplittableRandom prices = new SplittableRandom(seed).split();
+        final long manufacturerOffset = maxIdOf(connection, "manufacturer");
+        final long pedalOffset = maxIdOf(connection, "guitar_pedal");
+        final long tagOffset = maxIdOf(connection, "guitar_pedal_tag");
+        final int manufacturers = getManufacturerCount();
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO manufacturer (id, name) VALUES (?, ?)")) {
+            for (int i = 1; i <= manufacturers; i++) {
+                insert.setLong(1, manufacturerOffset + i);
+                insert.setString(2, MAKERS[random.nextInt(MAKERS.length)] + " "
+                        + WORKS[random.nextInt(WORKS.length)] + " " + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+
+        long tags = 0;
+        try (PreparedStatement pedalInsert = connection.prepareStatement(
+                "INSERT INTO guitar_pedal (id, manufacturer_id, name, has_stereo_output, date_purchased, date_sold, "
+                        + "used_value, purchase_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement tagInsert = connection.prepareStatement(
+                     "INSERT INTO guitar_pedal_tag (id, guitar_pedal_id, tag) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= size; i++) {
+                final long pedalId = pedalOffset + i;
+                final LocalDate purchased = FIRST_PURCHASE.plusDays(random.nextInt(3_000));
+                pedalInsert.setLong(1, pedalId);
+                pedalInsert.setLong(2, manufacturerOffset + 1 + random.nextInt(manufacturers));
+                pedalInsert.setString(3, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                        + EFFECTS[random.nextInt(EFFECTS.length)] + " " + i);
+                pedalInsert.setBoolean(4, random.nextInt(10) < 3);
+                pedalInsert.setDate(5, Date.valueOf(purchased));
+                pedalInsert.setDate(6, random.nextInt(4) == 0 ?
+                        Date.valueOf(purchased.plusDays(1 + random.nextInt(700))) : null);
+                final int usedValue = 25 + 5 * random.nextInt(96);
+                pedalInsert.setInt(7, usedValue);
+                pedalInsert.setBigDecimal(8, prices.nextInt(10) == 0 ?
+                        null : BigDecimal.valueOf(100L * usedValue + prices.nextInt(15_000), 2));
+                pedalInsert.addBatch();
+                final int tagCount = random.nextInt(MAX_TAGS_PER_PEDAL + 1);
+                final int firstTag = random.nextInt(TAGS.length);
+                for (int t = 0; t < tagCount; t++) {
+                    tagInsert.setLong(1, tagOffset + ++tags);
+                    tagInsert.setLong(2, pedalId);
+                    tagInsert.setString(3, TAGS[(firstTag + t) % TAGS.length]);
+                    tagInsert.addBatch();
+                }
+                if (i % BATCH_SIZE == 0) {
+                    pedalInsert.executeBatch();
+                    tagInsert.executeBatch();
+                    connection.commit();
+                }
+            }
+            pedalInsert.executeBatch();
+            tagInsert.executeBatch();
+            connection.commit();
+        }
+        return new Counts(manufacturers, size, tags);
+    }
+
+    private static long maxIdOf(final Connection connection,
+                                final String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * The number of rows a dataset inserted into each table.
+     *
+     * @param manufacturers The number of manufacturers inserted.
+     * @param pedals The number of guitar pedals inserted.
+     * @param tags The number of guitar pedal tags inserted.
+     */
+    public record Counts(long manufacturers, long pedals, long tags) {
+    }
+}
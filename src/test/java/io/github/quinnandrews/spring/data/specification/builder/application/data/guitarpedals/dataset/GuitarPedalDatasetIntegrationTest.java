@@ -0,0 +1,56 @@
+package io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.dataset;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a database of its own, filled with a dataset of the size
+ * selected by the system property specification.dataset.size.
+ */
+@SpringBootTest(classes = Application.class, properties = "spring.datasource.url=jdbc:h2:mem:dataset")
+class GuitarPedalDatasetIntegrationTest {
+
+    private static final GuitarPedalDataset DATASET = GuitarPedalDataset.fromSystemProperties();
+
+    private static GuitarPedalDataset.Counts counts;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (counts == null) {
+            counts = DATASET.generate(dataSource);
+        }
+    }
+
+    @Test
+    void findAll_readsGeneratedDataset() {
+        assertEquals(4 + counts.pedals(), guitarPedalRepository.count());
+        var jdbc = new JdbcTemplate(dataSource);
+        var expected = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM guitar_pedal WHERE LOWER(name) LIKE '%fuzz%' AND date_sold IS NULL",
+                Long.class);
+        var fuzz = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isLike(GuitarPedal_.name, "%fuzz%")
+                .and().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        assertEquals(expected, guitarPedalRepository.count(fuzz));
+        assertTrue(expected > 0);
+    }
+}
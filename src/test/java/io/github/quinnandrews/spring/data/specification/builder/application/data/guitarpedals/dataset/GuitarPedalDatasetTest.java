@@ -0,0 +1,113 @@
+package io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.dataset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuitarPedalDatasetTest {
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    void generate_insertsRowsOfEveryTable() {
+        var database = database(false);
+        var counts = new GuitarPedalDataset(2_500, 1L).generate(database);
+        var jdbc = new JdbcTemplate(database);
+        assertEquals(25, counts.manufacturers());
+        assertEquals(2_500, counts.pedals());
+        assertEquals(25L, jdbc.queryForObject("SELECT COUNT(*) FROM manufacturer", Long.class));
+        assertEquals(2_500L, jdbc.queryForObject("SELECT COUNT(*) FROM guitar_pedal", Long.class));
+        assertEquals(counts.tags(), jdbc.queryForObject("SELECT COUNT(*) FROM guitar_pedal_tag", Long.class));
+        assertTrue(counts.tags() > 2_500);
+    }
+
+    @Test
+    void generate_fillsPurchasePrice_withCentsOrNull() {
+        var database = database(false);
+        new GuitarPedalDataset(1_000, 1L).generate(database);
+        var jdbc = new JdbcTemplate(database);
+        var priced = jdbc.queryForObject("SELECT COUNT(purchase_price) FROM guitar_pedal", Long.class);
+        assertTrue(priced > 800 && priced < 1_000);
+        assertTrue(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM guitar_pedal WHERE MOD(purchase_price * 100, 100) <> 0", Long.class) > 0);
+        assertEquals(0L, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM guitar_pedal WHERE purchase_price < used_value", Long.class));
+    }
+
+    @Test
+    void generate_isDeterministic_forSameSeed() {
+        var first = database(false);
+        var second = database(false);
+        new GuitarPedalDataset(1_000, 7L).generate(first);
+        new GuitarPedalDataset(1_000, 7L).generate(second);
+        assertEquals(rowsOf(first), rowsOf(second));
+    }
+
+    @Test
+    void generate_differs_forOtherSeed() {
+        var first = database(false);
+        var second = database(false);
+        new GuitarPedalDataset(1_000, 7L).generate(first);
+        new GuitarPedalDataset(1_000, 8L).generate(second);
+        assertNotEquals(rowsOf(first), rowsOf(second));
+    }
+
+    @Test
+    void generate_appendsAfterExistingRows() {
+        var database = database(true);
+        new GuitarPedalDataset(1_000, 1L).generate(database);
+        var jdbc = new JdbcTemplate(database);
+        assertEquals(1_004L, jdbc.queryForObject("SELECT COUNT(*) FROM guitar_pedal", Long.class));
+        assertEquals("Big Muff Fuzz", jdbc.queryForObject("SELECT name FROM guitar_pedal WHERE id = 1", String.class));
+        assertEquals(5L, jdbc.queryForObject("SELECT MIN(id) FROM guitar_pedal WHERE id > 4", Long.class));
+    }
+
+    @Test
+    void constructor_throwsIllegalArgumentException_whenSizeIsLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> new GuitarPedalDataset(0, 1L));
+    }
+
+    @Test
+    void fromSystemProperties_returnsDefaults_whenPropertiesAreNotSet() {
+        var dataset = GuitarPedalDataset.fromSystemProperties();
+        assertEquals(Integer.getInteger(GuitarPedalDataset.SIZE_PROPERTY, GuitarPedalDataset.DEFAULT_SIZE),
+                dataset.getSize());
+        assertEquals(Long.getLong(GuitarPedalDataset.SEED_PROPERTY, GuitarPedalDataset.DEFAULT_SEED),
+                dataset.getSeed());
+    }
+
+    private EmbeddedDatabase database(final boolean withData) {
+        var builder = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("data/schema.sql");
+        if (withData) {
+            builder.addScript("data/data.sql");
+        }
+        var database = builder.build();
+        databases.add(database);
+        return database;
+    }
+
+    private static List<Map<String, Object>> rowsOf(final EmbeddedDatabase database) {
+        var jdbc = new JdbcTemplate(database);
+        var rows = new ArrayList<>(jdbc.queryForList("SELECT * FROM manufacturer ORDER BY id"));
+        rows.addAll(jdbc.queryForList("SELECT * FROM guitar_pedal ORDER BY id"));
+        rows.addAll(jdbc.queryForList("SELECT * FROM guitar_pedal_tag ORDER BY id"));
+        return rows;
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LockingGuitarPedalRepository extends JpaRepository<GuitarPedal, Long>,
+                                                      JpaSpecificationExecutor<GuitarPedal> {
+
+    @Override
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    boolean exists(Specification<GuitarPedal> specification);
+
+    @Override
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_COMMENT, value = "counting pedals"), forCounting = true)
+    long count(Specification<GuitarPedal> specification);
+}
@@ -0,0 +1,216 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationProjection;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class CachingSpecificationExecutorIntegrationTest {
+
+    record PedalName(String name) {
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CachingSpecificationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new CachingSpecificationExecutor(entityManager, transactionManager,
+                new SpecificationResultCache(Duration.ofMinutes(1), 1000));
+    }
+
+    @Test
+    void findAll_returnsCachedResult_forEqualSpecification() {
+        var first = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        var second = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        assertEquals(3, first.size());
+        assertSame(first, second);
+        assertEquals(1, executor.stats().hits());
+        assertEquals(1, executor.stats().misses());
+    }
+
+    @Test
+    void findAll_returnsDetachedEntities() {
+        var pedals = executor.findAll(GuitarPedal.class, unsold(), Sort.unsorted());
+        pedals.forEach(pedal -> assertFalse(entityManager.contains(pedal)));
+        assertThrows(UnsupportedOperationException.class, () -> pedals.remove(0));
+    }
+
+    @Test
+    void findAll_loadsAgain_forOtherValuesOrSort() {
+        executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.NAME));
+        executor.findAll(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNotNull(GuitarPedal_.dateSold)
+                .toSpecification(), Sort.by(GuitarPedal_.ID));
+        assertEquals(0, executor.stats().hits());
+        assertEquals(3, executor.stats().misses());
+    }
+
+    @Test
+    void findAll_bypassesCache_whenHinted() {
+        var bypassed = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .bypassResultCache()
+                .toSpecification();
+        var first = executor.findAll(GuitarPedal.class, bypassed, Sort.unsorted());
+        var second = executor.findAll(GuitarPedal.class, bypassed, Sort.unsorted());
+        assertNotSame(first, second);
+        assertEquals(2, executor.stats().bypasses());
+        assertEquals(0, executor.stats().size());
+    }
+
+    @Test
+    void findAll_bypassesCache_whenSpecificationIsOpaque() {
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.isNull(root.get(GuitarPedal_.dateSold));
+        assertEquals(3, executor.findAll(GuitarPedal.class, opaque, Sort.unsorted()).size());
+        assertEquals(1, executor.stats().bypasses());
+    }
+
+    @Test
+    void findAll_cachesProjections() {
+        var projection = SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.name);
+        var first = executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME));
+        var second = executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME));
+        assertSame(first, second);
+        assertEquals(new PedalName("Big Muff Fuzz"), first.get(0));
+    }
+
+    @Test
+    void findSlice_cachesPerPage() {
+        var first = executor.findSlice(GuitarPedal.class, null, PageRequest.of(0, 2, Sort.by(GuitarPedal_.ID)));
+        var second = executor.findSlice(GuitarPedal.class, null, PageRequest.of(1, 2, Sort.by(GuitarPedal_.ID)));
+        assertNotSame(first, second);
+        assertSame(second, executor.findSlice(GuitarPedal.class, null, PageRequest.of(1, 2, Sort.by(GuitarPedal_.ID))));
+        assertTrue(first.hasNext());
+    }
+
+    @Test
+    void count_cachesCount() {
+        assertEquals(3, executor.count(GuitarPedal.class, unsold()));
+        assertEquals(3, executor.count(GuitarPedal.class, unsold()));
+        assertEquals(1, executor.stats().hits());
+    }
+
+    @Test
+    void findPage_loadsPagesOfCachedIdentifiers() {
+        var first = executor.findPage(GuitarPedal.class, unsold(), PageRequest.of(0, 2, Sort.by(GuitarPedal_.NAME)));
+        var second = executor.findPage(GuitarPedal.class, unsold(), PageRequest.of(1, 2, Sort.by(GuitarPedal_.NAME)));
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of("Big Muff Fuzz", "Deco: Tape Saturation and Double Tracker"),
+                first.map(GuitarPedal::getName).getContent());
+        assertEquals(List.of("Soft Focus Reverb"), second.map(GuitarPedal::getName).getContent());
+        assertEquals(1, executor.stats().misses());
+        assertEquals(1, executor.stats().hits());
+    }
+
+    @Test
+    void findPage_appliesFetchesWithoutFilter() {
+        var page = executor.findPage(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                PageRequest.of(0, 10, Sort.by(GuitarPedal_.ID)));
+        assertEquals(List.of(1L, 2L, 3L), page.map(GuitarPedal::getId).getContent());
+        page.forEach(pedal -> assertTrue(Hibernate.isInitialized(pedal.getTags())));
+        assertEquals(6, page.getContent().get(1).getTags().size());
+    }
+
+    @Test
+    void findPage_sortsByUnselectedAttribute_whenCollectionIsFetched() {
+        var page = executor.findPage(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                PageRequest.of(0, 3, Sort.by(GuitarPedal_.NAME)));
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(
+                "Big Muff Fuzz",
+                "Deco: Tape Saturation and Double Tracker",
+                "Sneak Attack: Attack/Decay and Tremolo"), page.map(GuitarPedal::getName).getContent());
+        assertEquals(6, page.getContent().get(1).getTags().size());
+    }
+
+    @Test
+    void findPage_keepsFirstOfRepeatedIdentifiers_whenSpecificationJoins() {
+        // an opaque join with the tags repeats the identifier of each pedal once per tag
+        Specification<GuitarPedal> joining = (root, query, builder) -> {
+            root.join(GuitarPedal_.TAGS);
+            query.distinct(true);
+            return null;
+        };
+        var page = executor.findPage(GuitarPedal.class, joining, PageRequest.of(0, 10, Sort.by(GuitarPedal_.NAME)));
+        assertEquals(4, page.getTotalElements());
+        assertEquals("Big Muff Fuzz", page.getContent().get(0).getName());
+    }
+
+    @Test
+    void findPage_returnsEmptyPage_beyondLastPage() {
+        var page = executor.findPage(GuitarPedal.class, null, PageRequest.of(5, 2));
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void findPage_storesIdentifiersOffHeap() {
+        var offHeap = new CachingSpecificationExecutor(entityManager, transactionManager,
+                new SpecificationResultCache(Duration.ofMinutes(1), 1000), SpecificationIds.Storage.OFF_HEAP);
+        var page = offHeap.findPage(GuitarPedal.class, null, Pageable.unpaged());
+        assertEquals(4, page.getNumberOfElements());
+        assertEquals(1, offHeap.stats().weight());
+    }
+
+    @Test
+    void findAll_loadsConcurrentMissesOnce_whenCoalescing() throws Exception {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(10));
+        var coalescing = new CachingSpecificationExecutor(entityManager, transactionManager,
+                new SpecificationResultCache(Duration.ofMinutes(1), 1000), SpecificationIds.Storage.HEAP, coalescer);
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<List<GuitarPedal>>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> coalescing.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID))));
+            }
+            for (var future : futures) {
+                assertEquals(3, future.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        var stats = coalescing.stats();
+        assertEquals(8, stats.hits() + stats.misses());
+        assertEquals(stats.misses(), coalescer.stats().executions() + coalescer.stats().coalesced());
+    }
+
+    private static Specification<GuitarPedal> unsold() {
+        return SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+    }
+}
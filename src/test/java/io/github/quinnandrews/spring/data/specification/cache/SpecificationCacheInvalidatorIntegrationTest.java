@@ -0,0 +1,201 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedalTag;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.Manufacturer;
+import io.github.quinnandrews.spring.data.specification.repository.SpecificationProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationCacheInvalidatorIntegrationTest {
+
+    record PedalName(String name) {
+    }
+
+    private static final SpecificationResultCache CACHE = new SpecificationResultCache(Duration.ofMinutes(1), 1000);
+
+    private static boolean registered;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CachingSpecificationExecutor executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (!registered) {
+            SpecificationCacheInvalidator.register(entityManagerFactory, CACHE);
+            registered = true;
+        }
+        CACHE.invalidateAll();
+        executor = new CachingSpecificationExecutor(entityManager, transactionManager, CACHE);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void update_invalidatesEntityResults() {
+        var cached = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        try {
+            updateUsedValue(1L, 80);
+            var reloaded = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+            assertNotSame(cached, reloaded);
+            assertEquals(80, reloaded.get(0).getUsedValue());
+        } finally {
+            updateUsedValue(1L, 75);
+        }
+    }
+
+    @Test
+    void update_keepsResults_whichDoNotReadAttributesChanged() {
+        var projection = SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.name);
+        var names = executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME));
+        var count = CACHE.stats().size();
+        try {
+            updateUsedValue(1L, 80);
+            assertSame(names, executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME)));
+            assertEquals(count, CACHE.stats().size());
+        } finally {
+            updateUsedValue(1L, 75);
+        }
+    }
+
+    @Test
+    void update_invalidatesCounts_whichReadAttributesChanged() {
+        var expensive = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                .toSpecification();
+        assertEquals(3, executor.count(GuitarPedal.class, expensive));
+        try {
+            updateUsedValue(1L, 101);
+            assertEquals(4, executor.count(GuitarPedal.class, expensive));
+        } finally {
+            updateUsedValue(1L, 75);
+        }
+    }
+
+    @Test
+    void update_invalidatesResults_whichFetchTheEntityChanged_only() {
+        var fetching = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .with().fetchOf(GuitarPedal_.manufacturer)
+                .toSpecification();
+        var fetched = executor.findAll(GuitarPedal.class, fetching, Sort.by(GuitarPedal_.ID));
+        var plain = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        var name = fetched.get(1).getManufacturer().getName();
+        try {
+            updateManufacturerName(2L, "Renamed");
+            var reloaded = executor.findAll(GuitarPedal.class, fetching, Sort.by(GuitarPedal_.ID));
+            assertNotSame(fetched, reloaded);
+            assertEquals("Renamed", reloaded.get(1).getManufacturer().getName());
+            assertSame(plain, executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID)));
+        } finally {
+            updateManufacturerName(2L, name);
+        }
+    }
+
+    @Test
+    void insertAndDelete_invalidateResults() {
+        assertEquals(4, executor.count(Manufacturer.class, null));
+        var manufacturer = new Manufacturer();
+        ReflectionTestUtils.setField(manufacturer, "id", 99L);
+        ReflectionTestUtils.setField(manufacturer, "name", "Temporary");
+        transactionTemplate.executeWithoutResult(status -> entityManager.persist(manufacturer));
+        try {
+            assertEquals(5, executor.count(Manufacturer.class, null));
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                    entityManager.remove(entityManager.find(Manufacturer.class, 99L)));
+        }
+        assertEquals(4, executor.count(Manufacturer.class, null));
+    }
+
+    @Test
+    void collectionChange_invalidatesResults_whichReadTheCollection() {
+        var tagged = SpecificationBuilder.from(GuitarPedal.class)
+                .with().fetchOf(GuitarPedal_.tags)
+                .toSpecification();
+        var projection = SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.name);
+        var names = executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME));
+        assertEquals(4, executor.count(GuitarPedal.class, tagged));
+        var tags = removeTagsOf(4L);
+        try {
+            assertEquals(3, executor.count(GuitarPedal.class, tagged));
+            assertSame(names, executor.findAll(projection, unsold(), Sort.by(GuitarPedal_.NAME)));
+        } finally {
+            addTagsTo(4L, tags);
+        }
+        assertEquals(4, executor.count(GuitarPedal.class, tagged));
+    }
+
+    @Test
+    void rollback_keepsResults() {
+        var cached = executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID));
+        transactionTemplate.executeWithoutResult(status -> {
+            ReflectionTestUtils.setField(entityManager.find(GuitarPedal.class, 1L), "usedValue", 80);
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        assertSame(cached, executor.findAll(GuitarPedal.class, unsold(), Sort.by(GuitarPedal_.ID)));
+    }
+
+    private void updateUsedValue(final Long id,
+                                 final Integer usedValue) {
+        transactionTemplate.executeWithoutResult(status ->
+                ReflectionTestUtils.setField(entityManager.find(GuitarPedal.class, id), "usedValue", usedValue));
+    }
+
+    private List<Long> removeTagsOf(final Long id) {
+        return transactionTemplate.execute(status -> {
+            var tags = entityManager.find(GuitarPedal.class, id).getTags();
+            var ids = tags.stream().map(GuitarPedalTag::getId).toList();
+            tags.clear();
+            return ids;
+        });
+    }
+
+    private void addTagsTo(final Long id,
+                           final List<Long> tagIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var tags = entityManager.find(GuitarPedal.class, id).getTags();
+            tagIds.forEach(tagId -> tags.add(entityManager.find(GuitarPedalTag.class, tagId)));
+        });
+    }
+
+    private void updateManufacturerName(final Long id,
+                                        final String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                ReflectionTestUtils.setField(entityManager.find(Manufacturer.class, id), "name", name));
+    }
+
+    private static Specification<GuitarPedal> unsold() {
+        return SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificationIdsTest {
+
+    @Test
+    void of_storesIdentifiersOnHeap() {
+        var ids = SpecificationIds.of(new long[]{3, 1, 2}, SpecificationIds.Storage.HEAP);
+        assertFalse(ids.isOffHeap());
+        assertEquals(3, ids.size());
+        assertEquals(1, ids.get(1));
+    }
+
+    @Test
+    void of_storesIdentifiersOffHeap() {
+        var ids = SpecificationIds.of(new long[]{3, 1, 2}, SpecificationIds.Storage.OFF_HEAP);
+        assertTrue(ids.isOffHeap());
+        assertEquals(3, ids.size());
+        assertArrayEquals(new long[]{3, 1, 2}, ids.toArray(0, 3));
+    }
+
+    @Test
+    void of_copiesIdentifiers() {
+        var source = new long[]{1, 2};
+        var ids = SpecificationIds.of(source, SpecificationIds.Storage.HEAP);
+        source[0] = 9;
+        assertEquals(1, ids.get(0));
+    }
+
+    @Test
+    void toArray_clampsRangeToSize() {
+        var ids = SpecificationIds.of(new long[]{1, 2, 3}, SpecificationIds.Storage.OFF_HEAP);
+        assertArrayEquals(new long[]{2, 3}, ids.toArray(1, 10));
+        assertArrayEquals(new long[]{}, ids.toArray(5, 10));
+    }
+
+    @Test
+    void toArray_throwsException_whenRangeIsInvalid() {
+        var ids = SpecificationIds.of(new long[]{1, 2, 3}, SpecificationIds.Storage.HEAP);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ids.toArray(2, 1)
+        );
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationFingerprint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificationQueryCoalescerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_sharesResult_betweenConcurrentCallers() throws Exception {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(5));
+        var release = new CountDownLatch(1);
+        var executions = new AtomicInteger();
+        var result = List.of("shared");
+        var futures = new ArrayList<CompletableFuture<List<String>>>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> coalescer.execute(key("a"), () -> {
+                executions.incrementAndGet();
+                await(release);
+                return result;
+            }), executor));
+        }
+        waitUntil(() -> coalescer.stats().coalesced() == 5);
+        release.countDown();
+        for (var future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescer.stats().executions());
+        assertEquals(5.0 / 6, coalescer.stats().savedRatio(), 0.0001);
+    }
+
+    @Test
+    void execute_executesAgain_onceCompleted() {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(5));
+        assertEquals(1, coalescer.execute(key("a"), () -> 1));
+        assertEquals(2, coalescer.execute(key("a"), () -> 2));
+        assertEquals(2, coalescer.stats().executions());
+        assertEquals(0, coalescer.stats().coalesced());
+    }
+
+    @Test
+    void execute_doesNotCoalesce_otherKeys() throws Exception {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(5));
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> coalescer.execute(key("a"), () -> {
+            await(release);
+            return "a";
+        }), executor);
+        waitUntil(() -> coalescer.stats().executions() == 1);
+        assertEquals("b", coalescer.execute(key("b"), () -> "b"));
+        release.countDown();
+        assertEquals("a", first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_throwsException_whenTimeoutExpiresWaiting() throws Exception {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(5));
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.execute(key("a"), () -> {
+            await(release);
+            return "a";
+        }), executor);
+        waitUntil(() -> coalescer.stats().executions() == 1);
+        assertThrows(
+                QueryTimeoutException.class,
+                () -> coalescer.execute(key("a"), Duration.ofMillis(50), () -> "b")
+        );
+        assertEquals(1, coalescer.stats().timeouts());
+        release.countDown();
+        assertEquals("a", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_sharesFailure_betweenConcurrentCallers() throws Exception {
+        var coalescer = new SpecificationQueryCoalescer(Duration.ofSeconds(5));
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> coalescer.execute(key("a"), () -> {
+            await(release);
+            throw new IllegalStateException("failed");
+        }), executor);
+        waitUntil(() -> coalescer.stats().executions() == 1);
+        var follower = CompletableFuture.supplyAsync(() -> coalescer.execute(key("a"), () -> "b"), executor);
+        waitUntil(() -> coalescer.stats().coalesced() == 1);
+        release.countDown();
+        var leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        var followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertSame(leaderFailure.getCause(), followerFailure.getCause());
+    }
+
+    @Test
+    void constructor_throwsException_whenTimeoutIsNotPositive() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SpecificationQueryCoalescer(Duration.ZERO)
+        );
+    }
+
+    private static SpecificationCacheKey key(final String value) {
+        return new SpecificationCacheKey(Object.class,
+                new SpecificationFingerprint("EQUAL_TO(Object.value)", List.of(value), Set.of()),
+                List.of("findAll"), true, Set.of());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(final java.util.function.BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time.");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificationResultCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void get_returnsCachedResult_whenNotExpired() {
+        var cache = new SpecificationResultCache(Duration.ofSeconds(10), 100, clock);
+        var loads = new AtomicInteger();
+        var first = cache.get(key("a"), () -> List.of(loads.incrementAndGet()));
+        clock.advance(Duration.ofSeconds(9));
+        var second = cache.get(key("a"), () -> List.of(loads.incrementAndGet()));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+        assertEquals(0.5, cache.stats().hitRatio());
+    }
+
+    @Test
+    void get_loadsAgain_whenExpired() {
+        var cache = new SpecificationResultCache(Duration.ofSeconds(10), 100, clock);
+        var loads = new AtomicInteger();
+        cache.get(key("a"), () -> List.of(loads.incrementAndGet()));
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(List.of(2), cache.get(key("a"), () -> List.of(loads.incrementAndGet())));
+        assertEquals(2, cache.stats().misses());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsed_whenOverMaxWeight() {
+        var cache = new SpecificationResultCache(Duration.ofMinutes(1), 6, clock);
+        cache.get(key("a"), () -> List.of(1, 2));
+        cache.get(key("b"), () -> List.of(1, 2));
+        cache.get(key("a"), () -> List.of(3));
+        cache.get(key("c"), () -> List.of(1, 2));
+        var stats = cache.stats();
+        assertEquals(2, stats.size());
+        assertEquals(6, stats.weight());
+        assertEquals(1, stats.evictions());
+        assertEquals(List.of(1, 2), cache.get(key("a"), () -> List.of(3)));
+        assertEquals(List.of(4), cache.get(key("b"), () -> List.of(4)));
+    }
+
+    @Test
+    void get_doesNotCache_whenHeavierThanMaxWeight() {
+        var cache = new SpecificationResultCache(Duration.ofMinutes(1), 2, clock);
+        cache.get(key("a"), () -> List.of(1, 2, 3));
+        assertEquals(0, cache.stats().size());
+        assertEquals(0, cache.stats().weight());
+    }
+
+    @Test
+    void invalidateAll_removesEveryResult() {
+        var cache = new SpecificationResultCache(Duration.ofMinutes(1), 100, clock);
+        cache.get(key("a"), () -> 1L);
+        cache.invalidateAll();
+        assertEquals(2L, cache.get(key("a"), () -> 2L));
+    }
+
+    @Test
+    void stats_hitRatioIsZero_whenNoLookups() {
+        assertEquals(0.0, new SpecificationResultCache(Duration.ofMinutes(1), 100, clock).stats().hitRatio());
+    }
+
+    @Test
+    void constructor_throwsException_whenTimeToLiveIsNotPositive() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SpecificationResultCache(Duration.ZERO, 100)
+        );
+    }
+
+    @Test
+    void constructor_throwsException_whenMaxWeightIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SpecificationResultCache(Duration.ofMinutes(1), 0)
+        );
+    }
+
+    @Test
+    void invalidate_removesMatchingResults() {
+        var cache = new SpecificationResultCache(Duration.ofMinutes(1), 100, clock);
+        cache.get(key("a"), () -> 1L);
+        cache.get(key("b"), () -> 1L);
+        assertEquals(1, cache.invalidate(key -> key.fingerprint().values().contains("a")));
+        assertEquals(1, cache.stats().size());
+        assertEquals(1, cache.stats().invalidations());
+        assertEquals(2L, cache.get(key("a"), () -> 2L));
+    }
+
+    @Test
+    void invalidate_keepsResultBeingLoadedFromBeingCached() {
+        var cache = new SpecificationResultCache(Duration.ofMinutes(1), 100, clock);
+        var loaded = cache.get(key("a"), () -> {
+            cache.invalidate(key -> true);
+            return 1L;
+        });
+        assertEquals(1L, loaded);
+        assertEquals(0, cache.stats().size());
+        assertEquals(2L, cache.get(key("a"), () -> 2L));
+    }
+
+    private static SpecificationCacheKey key(final String value) {
+        return new SpecificationCacheKey(Object.class,
+                new SpecificationFingerprint("EQUAL_TO(Object.value)", List.of(value), Set.of()),
+                List.of("findAll"), true, Set.of());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.quinnandrews.spring.data.specification.cache;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedalTag;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.Manufacturer;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static io.github.quinnandrews.spring.data.specification.builder.SpecificationFactory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationSnapshotIntegrationTest {
+
+    private static SpecificationSnapshot<GuitarPedal> snapshot;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (snapshot == null) {
+            snapshot = SpecificationSnapshot.register(entityManagerFactory,
+                    new SpecificationSnapshot<>(entityManager, transactionManager, GuitarPedal.class));
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    static Stream<Arguments> specifications() {
+        return Stream.<Supplier<Specification<GuitarPedal>>>of(
+                () -> null,
+                () -> isEqualTo(GuitarPedal_.name, "Big Muff Fuzz"),
+                () -> isEqualTo(GuitarPedal_.usedValue, 150),
+                () -> isNotEqualTo(GuitarPedal_.usedValue, 150L),
+                () -> isLike(GuitarPedal_.name, "%REVERB%"),
+                () -> isNotLike(GuitarPedal_.name, "%: %"),
+                () -> isNull(GuitarPedal_.dateSold),
+                () -> isNotNull(GuitarPedal_.dateSold),
+                () -> isTrue(GuitarPedal_.hasStereoOutput),
+                () -> isFalse(GuitarPedal_.hasStereoOutput),
+                () -> isGreaterThan(GuitarPedal_.usedValue, 150),
+                () -> isLessThanOrEqualTo(GuitarPedal_.usedValue, 200),
+                () -> isBetween(GuitarPedal_.usedValue, 75, 200),
+                () -> isLessThan(GuitarPedal_.datePurchased, LocalDate.of(2021, 1, 1)),
+                () -> isIn(GuitarPedal_.usedValue, 75, 250, 999),
+                () -> isEqualTo(GuitarPedal_.manufacturer, manufacturer(2L)),
+                () -> fetchOf(GuitarPedal_.manufacturer),
+                () -> fetchOf(GuitarPedal_.tags),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .and().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .toSpecification(),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, "%fuzz%")
+                        .or(isGreaterThan(GuitarPedal_.usedValue, 225))
+                        .toSpecification(),
+                () -> SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, null)
+                        .and().isNull(GuitarPedal_.dateSold)
+                        .toSpecification()
+        ).map(supplier -> Arguments.of(supplier));
+    }
+
+    @ParameterizedTest
+    @MethodSource("specifications")
+    void findAll_matchesSameEntitiesAsDatabase(final Supplier<Specification<GuitarPedal>> supplier) {
+        var specification = supplier.get();
+        var expected = idsOf(guitarPedalRepository.findAll(specification, Sort.by(GuitarPedal_.ID)));
+        assertEquals(expected, idsOf(snapshot.findAll(specification)));
+        assertEquals(expected.size(), snapshot.count(specification));
+        assertEquals(!expected.isEmpty(), snapshot.exists(specification));
+    }
+
+    @Test
+    void findAll_sortsAsDatabase() {
+        var sort = Sort.by(Sort.Order.desc(GuitarPedal_.DATE_SOLD), Sort.Order.asc(GuitarPedal_.NAME));
+        assertEquals(
+                idsOf(guitarPedalRepository.findAll(sort)),
+                idsOf(snapshot.findAll(null, sort))
+        );
+        assertEquals(
+                idsOf(guitarPedalRepository.findAll(Sort.by(GuitarPedal_.USED_VALUE))),
+                idsOf(snapshot.findAll(null, Sort.by(GuitarPedal_.USED_VALUE)))
+        );
+    }
+
+    @Test
+    void findAll_doesNotLoadAgain_withoutChanges() {
+        snapshot.count(null);
+        var loads = snapshot.getLoadCount();
+        snapshot.findAll(isNull(GuitarPedal_.dateSold));
+        snapshot.count(isGreaterThan(GuitarPedal_.usedValue, 100));
+        assertEquals(loads, snapshot.getLoadCount());
+    }
+
+    @Test
+    void findAll_loadsAgain_afterChangeCommits() {
+        var expensive = isGreaterThan(GuitarPedal_.usedValue, 100);
+        assertEquals(3, snapshot.count(expensive));
+        try {
+            updateUsedValue(1L, 101);
+            assertEquals(4, snapshot.count(expensive));
+        } finally {
+            updateUsedValue(1L, 75);
+        }
+        assertEquals(3, snapshot.count(expensive));
+    }
+
+    @Test
+    void findAll_loadsAgain_afterCollectionChangeCommits() {
+        var tagged = fetchOf(GuitarPedal_.tags);
+        assertEquals(4, snapshot.count(tagged));
+        var tagIds = removeTagsOf(4L);
+        try {
+            assertEquals(3, snapshot.count(tagged));
+        } finally {
+            addTagsTo(4L, tagIds);
+        }
+        assertEquals(4, snapshot.count(tagged));
+    }
+
+    @Test
+    void findAll_keepsSnapshot_afterRollback() {
+        snapshot.count(null);
+        var loads = snapshot.getLoadCount();
+        transactionTemplate.executeWithoutResult(status -> {
+            ReflectionTestUtils.setField(entityManager.find(GuitarPedal.class, 1L), "usedValue", 80);
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        snapshot.count(null);
+        assertEquals(loads, snapshot.getLoadCount());
+    }
+
+    @Test
+    void findAll_throwsIllegalArgumentException_whenSpecificationIsOpaque() {
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.conjunction();
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findAll(opaque));
+    }
+
+    @Test
+    void findAll_throwsIllegalArgumentException_whenSortPropertyIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findAll(null, Sort.by("manufacturer.name")));
+    }
+
+    private void updateUsedValue(final Long id,
+                                 final Integer usedValue) {
+        transactionTemplate.executeWithoutResult(status ->
+                ReflectionTestUtils.setField(entityManager.find(GuitarPedal.class, id), "usedValue", usedValue));
+    }
+
+    private List<Long> removeTagsOf(final Long id) {
+        return transactionTemplate.execute(status -> {
+            var tags = entityManager.find(GuitarPedal.class, id).getTags();
+            var ids = tags.stream().map(GuitarPedalTag::getId).toList();
+            tags.clear();
+            return ids;
+        });
+    }
+
+    private void addTagsTo(final Long id,
+                           final List<Long> tagIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var tags = entityManager.find(GuitarPedal.class, id).getTags();
+            tagIds.forEach(tagId -> tags.add(entityManager.find(GuitarPedalTag.class, tagId)));
+        });
+    }
+
+    private static List<Long> idsOf(final List<GuitarPedal> pedals) {
+        return pedals.stream().map(GuitarPedal::getId).toList();
+    }
+
+    private static Manufacturer manufacturer(final Long id) {
+        var manufacturer = new Manufacturer();
+        ReflectionTestUtils.setField(manufacturer, "id", id);
+        return manufacturer;
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class ReactiveSpecificationExecutorIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<EntityManager> entityManagers = new CopyOnWriteArrayList<>();
+
+    private final List<String> closingThreads = new CopyOnWriteArrayList<>();
+
+    private Scheduler scheduler;
+
+    private ReactiveSpecificationExecutor reactiveExecutor;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Schedulers.newBoundedElastic(2, 16, "specifications");
+        reactiveExecutor = new ReactiveSpecificationExecutor(trackingEntityManagers(entityManagerFactory), scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void findAll_emitsMatchingEntities_inOrder() {
+        StepVerifier.create(reactiveExecutor.findAll(
+                        GuitarPedal.class,
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .where().isNull(GuitarPedal_.dateSold)
+                                .toSpecification(),
+                        Sort.by(GuitarPedal_.NAME),
+                        2).map(GuitarPedal::getName))
+                .expectNext("Big Muff Fuzz")
+                .expectNext("Deco: Tape Saturation and Double Tracker")
+                .expectNext("Soft Focus Reverb")
+                .verifyComplete();
+        assertAllClosed();
+    }
+
+    @Test
+    void findAll_readsOnScheduler() {
+        StepVerifier.create(reactiveExecutor.findAll(
+                        GuitarPedal.class, null, Sort.unsorted(), 10,
+                        pedal -> Thread.currentThread().getName()))
+                .thenConsumeWhile(thread -> thread.startsWith("specifications"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_mapsEntities_whileManaged() {
+        // the tags are lazy, so they can only be read while the Entity is managed
+        StepVerifier.create(reactiveExecutor.findAll(
+                        GuitarPedal.class, null, Sort.by(GuitarPedal_.ID), 1,
+                        pedal -> pedal.getTags().size()))
+                .expectNext(2, 6, 4, 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_appliesBackpressure_andClosesCursor_whenCancelled() {
+        StepVerifier.create(reactiveExecutor.findAll(GuitarPedal.class, null, Sort.by(GuitarPedal_.ID), 1), 1)
+                .expectNextMatches(pedal -> pedal.getId() == 1L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(1)
+                .expectNextMatches(pedal -> pedal.getId() == 2L)
+                .thenCancel()
+                .verify();
+        assertAllClosed();
+    }
+
+    @Test
+    void findAll_closesCursorOnScheduler_whenCancelledElsewhere() {
+        StepVerifier.create(reactiveExecutor.findAll(GuitarPedal.class, null, Sort.by(GuitarPedal_.ID), 1), 1)
+                .expectNextMatches(pedal -> pedal.getId() == 1L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+        assertAllClosed();
+        assertTrue(closingThreads.stream().allMatch(thread -> thread.startsWith("specifications")),
+                "closed on " + closingThreads);
+    }
+
+    @Test
+    void findAll_readsInReadOnlySession() {
+        StepVerifier.create(reactiveExecutor.findAll(
+                        GuitarPedal.class, null, Sort.unsorted(), 10,
+                        pedal -> {
+                            var session = entityManagers.get(0).unwrap(Session.class);
+                            return session.isDefaultReadOnly() && session.getHibernateFlushMode() == FlushMode.MANUAL;
+                        }))
+                .thenConsumeWhile(Boolean::booleanValue)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_closesCursor_whenQueryFails() {
+        StepVerifier.create(reactiveExecutor.findAll(
+                        GuitarPedal.class,
+                        (root, query, builder) -> builder.equal(root.get("unknown"), 1),
+                        Sort.unsorted(),
+                        10))
+                .verifyError();
+        assertAllClosed();
+    }
+
+    @Test
+    void findAll_throwsException_whenBatchSizeIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> reactiveExecutor.findAll(GuitarPedal.class, null, Sort.unsorted(), 0)
+        );
+    }
+
+    private void assertAllClosed() {
+        // cleanup may complete just after the terminal signal
+        var deadline = System.currentTimeMillis() + 1000;
+        while (entityManagers.stream().anyMatch(EntityManager::isOpen) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertFalse(entityManagers.isEmpty());
+        assertTrue(entityManagers.stream().noneMatch(EntityManager::isOpen));
+    }
+
+    private EntityManagerFactory trackingEntityManagers(final EntityManagerFactory delegate) {
+        return (EntityManagerFactory) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> {
+                    try {
+                        var result = method.invoke(delegate, args);
+                        if (result instanceof EntityManager entityManager) {
+                            var tracked = trackingClose(entityManager);
+                            entityManagers.add(tracked);
+                            return tracked;
+                        }
+                        return result;
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private EntityManager trackingClose(final EntityManager delegate) {
+        return (EntityManager) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        closingThreads.add(Thread.currentThread().getName());
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationAsyncExecutorIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void executesQueries_concurrently() {
+        var asyncExecutor = new SpecificationAsyncExecutor(entityManager, transactionManager, executorService, 3);
+        var notSold = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        var count = asyncExecutor.count(GuitarPedal.class, notSold);
+        var exists = asyncExecutor.exists(GuitarPedal.class, notSold);
+        var slice = asyncExecutor.findSlice(GuitarPedal.class, notSold, PageRequest.of(0, 2, Sort.by(GuitarPedal_.ID)));
+        var all = asyncExecutor.findAll(GuitarPedal.class, notSold, Sort.by(GuitarPedal_.NAME));
+        CompletableFuture.allOf(count, exists, slice, all).join();
+        assertEquals(3L, count.join());
+        assertTrue(exists.join());
+        assertEquals(List.of(1L, 2L), slice.join().map(GuitarPedal::getId).toList());
+        assertTrue(slice.join().hasNext());
+        assertEquals("Big Muff Fuzz", all.join().get(0).getName());
+    }
+
+    @Test
+    void supply_runsQuery_inTransaction() {
+        var asyncExecutor = new SpecificationAsyncExecutor(entityManager, transactionManager, executorService, 1);
+        var readOnly = asyncExecutor.supply(entityManager ->
+                TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        assertTrue(readOnly.join());
+    }
+
+    @Test
+    void supply_limitsConcurrency() {
+        var asyncExecutor = new SpecificationAsyncExecutor(entityManager, transactionManager, executorService, 2);
+        var running = new AtomicInteger();
+        var maximum = new AtomicInteger();
+        var futures = IntStream.range(0, 8)
+                .mapToObj(i -> asyncExecutor.supply(entityManager -> {
+                    maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        assertTrue(maximum.get() <= 2);
+    }
+
+    @Test
+    void supply_completesExceptionally_whenQueryFails() {
+        var asyncExecutor = new SpecificationAsyncExecutor(entityManager, transactionManager, executorService, 1);
+        var future = asyncExecutor.supply(entityManager -> {
+            throw new IllegalStateException("failed");
+        });
+        var exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void constructor_throwsException_whenMaxConcurrencyIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SpecificationAsyncExecutor(entityManager, transactionManager, executorService, 0)
+        );
+    }
+}
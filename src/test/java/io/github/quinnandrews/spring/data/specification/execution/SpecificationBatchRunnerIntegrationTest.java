@@ -0,0 +1,120 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationBatchRunnerIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SpecificationBatchRunner<GuitarPedal> runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new SpecificationBatchRunner<>(GuitarPedal.class, entityManager, transactionManager);
+    }
+
+    @Test
+    void run_processesAllMatches_inChunks() {
+        var chunks = new ArrayList<List<Long>>();
+        var checkpoint = runner.run(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 50)
+                        .toSpecification(),
+                3,
+                chunk -> chunks.add(chunk.stream().map(GuitarPedal::getId).toList()));
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L)), chunks);
+        assertEquals(4L, checkpoint.lastKey());
+        assertEquals(2L, checkpoint.chunks());
+        assertEquals(4L, checkpoint.items());
+    }
+
+    @Test
+    void run_processesEachChunk_inItsOwnTransaction() {
+        var transactions = new HashSet<Object>();
+        runner.run(null, 1, chunk -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            assertTrue(entityManager.contains(chunk.get(0)));
+            transactions.add(TransactionSynchronizationManager.getResourceMap().values().iterator().next());
+        });
+        assertEquals(4, transactions.size());
+    }
+
+    @Test
+    void run_restartsFromCheckpoint() {
+        var ids = new ArrayList<Long>();
+        var checkpoint = runner.run(
+                null,
+                2,
+                new BatchCheckpoint(2L, 1, 2),
+                chunk -> chunk.forEach(pedal -> ids.add(pedal.getId())),
+                metrics -> {});
+        assertEquals(List.of(3L, 4L), ids);
+        assertEquals(new BatchCheckpoint(4L, 2, 4), checkpoint);
+    }
+
+    @Test
+    void run_reportsMetrics_forEachChunk() {
+        var metrics = new ArrayList<BatchChunkMetrics>();
+        runner.run(null, 3, BatchCheckpoint.start(), chunk -> {}, metrics::add);
+        assertEquals(2, metrics.size());
+        assertEquals(1L, metrics.get(0).chunk());
+        assertEquals(3, metrics.get(0).size());
+        assertEquals(3L, metrics.get(0).checkpoint().lastKey());
+        assertEquals(2L, metrics.get(1).chunk());
+        assertEquals(1, metrics.get(1).size());
+        assertTrue(metrics.get(1).itemsPerSecond() > 0);
+    }
+
+    @Test
+    void run_keepsLastCheckpoint_whenChunkFails() {
+        var metrics = new ArrayList<BatchChunkMetrics>();
+        assertThrows(IllegalStateException.class, () -> runner.run(null, 2, BatchCheckpoint.start(), chunk -> {
+            if (chunk.get(0).getId() == 3L) {
+                throw new IllegalStateException("failed");
+            }
+        }, metrics::add));
+        assertEquals(1, metrics.size());
+        assertEquals(new BatchCheckpoint(2L, 1, 2), metrics.get(0).checkpoint());
+    }
+
+    @Test
+    void run_fetchesCollections_ofEachChunk() {
+        var tagCounts = new ArrayList<Integer>();
+        runner.run(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                3,
+                chunk -> chunk.forEach(pedal -> tagCounts.add(pedal.getTags().size())));
+        assertEquals(List.of(2, 6, 4, 3), tagCounts);
+    }
+
+    @Test
+    void run_throwsException_whenChunkSizeIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> runner.run(null, 0, chunk -> {})
+        );
+    }
+}
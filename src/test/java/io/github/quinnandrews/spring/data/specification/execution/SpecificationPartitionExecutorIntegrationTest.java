@@ -0,0 +1,195 @@
+package io.github.quinnandrews.spring.data.specification.execution;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationPartitionExecutorIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executorService;
+
+    private SpecificationPartitionExecutor<GuitarPedal> partitionExecutor;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(3);
+        partitionExecutor = new SpecificationPartitionExecutor<>(
+                GuitarPedal.class, entityManager, transactionManager, executorService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void partition_splitsIdentifiers_intoRanges() {
+        assertEquals(List.of(
+                new IdRange(1, 2, false),
+                new IdRange(2, 3, false),
+                new IdRange(3, 4, false),
+                new IdRange(4, 4, true)), partitionExecutor.partition(null, 4));
+        assertEquals(List.of(
+                new IdRange(1, 3, false),
+                new IdRange(3, 4, true)), partitionExecutor.partition(null, 2));
+        assertEquals(List.of(
+                new IdRange(1, 4, true)), partitionExecutor.partition(null, 1));
+    }
+
+    @Test
+    void partition_splitsIdentifiers_ofMatchesOnly() {
+        assertEquals(List.of(
+                new IdRange(2, 3, false),
+                new IdRange(3, 3, true)), partitionExecutor.partition(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 150)
+                        .toSpecification(), 4));
+    }
+
+    @Test
+    void partition_returnsNoRanges_whenNoneMatch() {
+        assertTrue(partitionExecutor.partition(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 1000)
+                        .toSpecification(), 4).isEmpty());
+    }
+
+    @Test
+    void partition_throwsException_whenPartitionsIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> partitionExecutor.partition(null, 0)
+        );
+    }
+
+    @Test
+    void findAll_returnsAllMatches_unordered() {
+        var ids = partitionExecutor.findAll(
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .where().isNull(GuitarPedal_.dateSold)
+                                .toSpecification(), 3)
+                .map(GuitarPedal::getId)
+                .sorted()
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    void findAll_returnsAllMatches_mergedInOrder() {
+        var names = partitionExecutor.findAll(
+                        null,
+                        Sort.by(GuitarPedal_.NAME),
+                        Comparator.comparing(GuitarPedal::getName),
+                        3)
+                .map(GuitarPedal::getName)
+                .toList();
+        assertEquals(List.of(
+                "Big Muff Fuzz",
+                "Deco: Tape Saturation and Double Tracker",
+                "Sneak Attack: Attack/Decay and Tremolo",
+                "Soft Focus Reverb"), names);
+    }
+
+    @Test
+    void findAll_mergesInOrder_whenPartitionsBlockOnFullBuffers() {
+        var buffered = new SpecificationPartitionExecutor<>(
+                GuitarPedal.class, entityManager, transactionManager, executorService, 1);
+        var ids = buffered.findAll(null, Sort.by(GuitarPedal_.ID), Comparator.comparing(GuitarPedal::getId), 2)
+                .map(GuitarPedal::getId)
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids);
+    }
+
+    @Test
+    void findAll_releasesPartitions_whenClosedEarly() throws InterruptedException {
+        var buffered = new SpecificationPartitionExecutor<>(
+                GuitarPedal.class, entityManager, transactionManager, executorService, 1);
+        try (var stream = buffered.findAll(null, 2)) {
+            assertTrue(stream.findFirst().isPresent());
+        }
+        try (var stream = buffered.findAll(null, Sort.by(GuitarPedal_.ID),
+                Comparator.comparing(GuitarPedal::getId), 2)) {
+            assertEquals(1L, stream.findFirst().orElseThrow().getId());
+        }
+        // the partitions blocked on their full buffers stop once cancelled
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void findAll_throwsException_whenPartitionsOutnumberThreads_mergingInOrder() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> partitionExecutor.findAll(null, Sort.by(GuitarPedal_.ID), Comparator.comparing(GuitarPedal::getId), 4)
+        );
+    }
+
+    @Test
+    void constructor_throwsException_whenBufferSizeIsLessThanOne() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SpecificationPartitionExecutor<>(
+                        GuitarPedal.class, entityManager, transactionManager, executorService, 0)
+        );
+    }
+
+    @Test
+    void findAll_fetchesAssociations_beforeDetaching() {
+        var pedals = partitionExecutor.findAll(
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .with().fetchOf(GuitarPedal_.manufacturer)
+                                .and().fetchOf(GuitarPedal_.tags)
+                                .toSpecification(),
+                        Sort.by(GuitarPedal_.ID),
+                        Comparator.comparing(GuitarPedal::getId),
+                        2)
+                .toList();
+        assertEquals(4, pedals.size());
+        assertEquals("Strymon", pedals.get(1).getManufacturer().getName());
+        assertEquals(6, pedals.get(1).getTags().size());
+    }
+
+    @Test
+    void findAll_returnsEmptyStream_whenNoneMatch() {
+        assertEquals(0, partitionExecutor.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 1000)
+                        .toSpecification(), 3).count());
+    }
+
+    @Test
+    void findAll_rethrowsFailure_ofPartition() {
+        // fails when reading a partition, but not when reading the bounds
+        var stream = partitionExecutor.findAll((root, query, builder) -> {
+            if (GuitarPedal.class.equals(query.getResultType())) {
+                throw new IllegalStateException("failed");
+            }
+            return null;
+        }, 2);
+        assertThrows(IllegalStateException.class, stream::toList);
+    }
+}
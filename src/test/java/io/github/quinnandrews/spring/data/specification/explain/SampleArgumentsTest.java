@@ -0,0 +1,38 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleArgumentsTest {
+
+    @Test
+    void of_returnsSampleValue_ofKnownTypes() throws NoSuchMethodException {
+        var method = SampleArgumentsTest.class.getDeclaredMethod("known", String.class, LocalDate.class, List.class);
+        assertEquals("sample", SampleArguments.of(new MethodParameter(method, 0)));
+        assertEquals(LocalDate.of(2020, 1, 1), SampleArguments.of(new MethodParameter(method, 1)));
+        assertEquals(List.of(1L), SampleArguments.of(new MethodParameter(method, 2)));
+    }
+
+    @Test
+    void of_throwsException_whenTypeIsUnknown() throws NoSuchMethodException {
+        var method = SampleArgumentsTest.class.getDeclaredMethod("unknown", Optional.class, List.class);
+        assertThrows(IllegalStateException.class, () -> SampleArguments.of(new MethodParameter(method, 0)));
+        assertThrows(IllegalStateException.class, () -> SampleArguments.of(new MethodParameter(method, 1)));
+    }
+
+    @SuppressWarnings("unused")
+    private static void known(final String name, final LocalDate date, final List<Long> ids) {
+        // no-op
+    }
+
+    @SuppressWarnings("unused")
+    private static void unknown(final Optional<String> name, final List<Object> values) {
+        // no-op
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.quinnandrews.spring.data.specification.explain;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.specifications.GuitarPedalSpecifications;
+import io.github.quinnandrews.spring.data.specification.explain.SpecificationPlan.FindingType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationExplainerIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private SpecificationExplainer explainer;
+
+    @BeforeEach
+    void setUp() {
+        explainer = new SpecificationExplainer(entityManagerFactory);
+    }
+
+    @Test
+    void explain_reportsIndexUsed_forEqualityOnIndexedColumn() {
+        var plan = explainer.explain(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.name, "Big Muff")
+                .toSpecification());
+
+        assertTrue(plan.sql().startsWith("select "), plan.sql());
+        assertEquals(1, plan.accesses().size());
+        var access = plan.accesses().get(0);
+        assertEquals("GUITAR_PEDAL", access.table());
+        assertEquals("GUITAR_PEDAL_NAME", access.index());
+        assertEquals("NAME = ?1", access.condition());
+        assertFalse(access.isTableScan());
+        assertFalse(plan.hasFindings(), plan.findings()::toString);
+    }
+
+    @Test
+    void explain_flagsFullTableScan_forUnindexedColumn() {
+        var plan = explainer.explain(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification());
+
+        assertEquals(List.of(new SpecificationPlan.Finding(FindingType.FULL_TABLE_SCAN, "GUITAR_PEDAL", "GP1_0")),
+                plan.findings());
+    }
+
+    @Test
+    void explain_flagsNonSargableLike() {
+        var plan = explainer.explain(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                .where().isLike(GuitarPedal_.name, "%fuzz%")
+                .toSpecification());
+
+        assertEquals(1, plan.findingsOf(FindingType.FULL_TABLE_SCAN).size());
+        assertEquals("guitar_pedal.name", plan.findingsOf(FindingType.FUNCTION_ON_COLUMN).get(0).subject());
+        assertEquals("guitar_pedal.name", plan.findingsOf(FindingType.CAST_ON_COLUMN).get(0).subject());
+        assertEquals(List.of(new SpecificationPlan.Finding(FindingType.LEADING_WILDCARD, "GuitarPedal.name", "'%fuzz%'")),
+                plan.findingsOf(FindingType.LEADING_WILDCARD));
+    }
+
+    @Test
+    void explain_reportsEachTableOfJoins() {
+        var plan = explainer.explain(GuitarPedal.class, SpecificationBuilder.from(GuitarPedal.class)
+                .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                .with().fetchOf(GuitarPedal_.manufacturer)
+                .toSpecification());
+
+        assertEquals(List.of("GUITAR_PEDAL", "MANUFACTURER"),
+                plan.accesses().stream().map(SpecificationPlan.TableAccess::table).toList());
+        assertTrue(plan.accesses().stream().noneMatch(SpecificationPlan.TableAccess::isTableScan), plan.plan());
+        assertFalse(plan.hasFindings(), plan.findings()::toString);
+    }
+
+    @Test
+    void explainSpecificationsBeans_explainsEveryMethodReturningSpecification() {
+        var plans = explainer.explainSpecificationsBeans(applicationContext);
+
+        var methods = Arrays.stream(GuitarPedalSpecifications.class.getMethods())
+                .filter(method -> Specification.class.isAssignableFrom(method.getReturnType()))
+                .count();
+        assertEquals(methods, plans.size());
+        assertTrue(plans.containsKey("GuitarPedalSpecifications.fetch_example_01"));
+        assertTrue(plans.get("GuitarPedalSpecifications.hasNotBeenSold").findingsOf(FindingType.FULL_TABLE_SCAN)
+                .stream().anyMatch(finding -> finding.subject().equals("GUITAR_PEDAL")));
+    }
+
+    @Test
+    void explain_usesGivenDialect() {
+        var dialect = new H2ExplainDialect() {
+            @Override
+            public String explain(final Connection connection, final String sql) {
+                return "FROM \"PUBLIC\".\"GUITAR_PEDAL\" \"GP1_0\" /* PUBLIC.GUITAR_PEDAL.tableScan */";
+            }
+        };
+        var plan = new SpecificationExplainer(entityManagerFactory, dialect).explain(GuitarPedal.class, null);
+        assertEquals(1, plan.findingsOf(FindingType.FULL_TABLE_SCAN).size());
+        assertThrows(NullPointerException.class, () -> new SpecificationExplainer(null));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.quinnandrews.spring.data.specification.jfr;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationEventsIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void toSpecification_recordsBuildEventOnce() throws IOException {
+        var events = record(() -> {
+            var builder = SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isNull(GuitarPedal_.dateSold)
+                    .and().isLike(GuitarPedal_.name, null)
+                    .with().fetchOf(GuitarPedal_.manufacturer);
+            builder.toSpecification();
+            builder.toSpecification();
+        }, SpecificationBuildEvent.NAME);
+
+        assertEquals(1, events.size());
+        var event = events.get(0);
+        assertEquals(GuitarPedal.class.getName(), event.getClass("domainClass").getName());
+        assertEquals("AND(AND(IS_NULL(GuitarPedal.dateSold), GHOST), FETCH(GuitarPedal.manufacturer))",
+                event.getString("shape"));
+        assertEquals(1, event.getInt("predicateCount"));
+        assertEquals(1, event.getInt("ghostCount"));
+        assertEquals(1, event.getInt("fetchCount"));
+    }
+
+    @Test
+    void findAll_recordsOutermostPredicateEventAndExecutionEvent() throws IOException {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .and().isGreaterThan(GuitarPedal_.usedValue, 100)
+                .with().fetchOf(GuitarPedal_.manufacturer)
+                .toSpecification();
+        var shape = SpecificationShape.of(specification).fingerprint();
+        var events = record(() -> assertEquals(2, guitarPedalRepository.findAll(specification).size()),
+                SpecificationPredicateEvent.NAME, SpecificationExecutionEvent.NAME);
+
+        var predicates = ofType(events, SpecificationPredicateEvent.NAME);
+        assertEquals(1, predicates.size());
+        assertEquals(shape, predicates.get(0).getString("shape"));
+        assertEquals(2, predicates.get(0).getInt("predicateCount"));
+        assertEquals(1, predicates.get(0).getInt("fetchCount"));
+
+        var executions = ofType(events, SpecificationExecutionEvent.NAME);
+        assertEquals(1, executions.size());
+        var execution = executions.get(0);
+        assertEquals("findAll", execution.getString("method"));
+        assertEquals(shape, execution.getString("shape"));
+        assertEquals(2, execution.getLong("rowCount"));
+        assertTrue(execution.getBoolean("successful"));
+        assertFalse(execution.getDuration().isNegative());
+    }
+
+    @Test
+    void count_recordsExecutionEventWithoutRowCount() throws IOException {
+        Specification<GuitarPedal> specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        var events = record(() -> assertEquals(3, guitarPedalRepository.count(specification)),
+                SpecificationExecutionEvent.NAME);
+        assertEquals(1, events.size());
+        assertEquals(-1, events.get(0).getLong("rowCount"));
+    }
+
+    private List<RecordedEvent> record(final Runnable runnable,
+                                       final String... eventNames) throws IOException {
+        final Path file = directory.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            for (var eventName : eventNames) {
+                recording.enable(eventName).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        final List<String> names = List.of(eventNames);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> names.contains(event.getEventType().getName()))
+                .toList();
+    }
+
+    private static List<RecordedEvent> ofType(final List<RecordedEvent> events,
+                                              final String eventName) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(eventName)).toList();
+    }
+}
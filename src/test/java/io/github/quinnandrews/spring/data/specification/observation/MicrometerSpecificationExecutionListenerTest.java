@@ -0,0 +1,39 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerSpecificationExecutionListenerTest {
+
+    @Test
+    void afterExecution_tagsShapesBeyondMaximumAsOther() {
+        var registry = new SimpleMeterRegistry();
+        var listener = new MicrometerSpecificationExecutionListener(registry, 1);
+        listener.afterExecution(finished(null));
+        listener.afterExecution(finished((root, query, builder) -> builder.conjunction()));
+        listener.afterExecution(finished(null));
+
+        assertEquals(2, registry.get(MicrometerSpecificationExecutionListener.EXECUTION_TIMER)
+                .tag("shape", "*").timer().count());
+        assertEquals(1, registry.get(MicrometerSpecificationExecutionListener.EXECUTION_TIMER)
+                .tag("shape", MicrometerSpecificationExecutionListener.OTHER_SHAPE).timer().count());
+        assertTrue(registry.find(MicrometerSpecificationExecutionListener.ROWS_SUMMARY).summaries().isEmpty());
+    }
+
+    @Test
+    void constructor_throwsIllegalArgumentException_whenMaxShapesIsNegative() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MicrometerSpecificationExecutionListener(new SimpleMeterRegistry(), -1));
+        assertThrows(NullPointerException.class, () -> new MicrometerSpecificationExecutionListener(null));
+    }
+
+    private static SpecificationExecution finished(final Specification<GuitarPedal> specification) {
+        var execution = new SpecificationExecution(GuitarPedal.class, "count", specification);
+        execution.finish(-1, null);
+        return execution;
+    }
+}
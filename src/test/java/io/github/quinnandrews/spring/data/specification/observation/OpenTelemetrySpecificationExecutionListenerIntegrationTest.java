@@ -0,0 +1,146 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.quinnandrews.spring.data.specification.observation.OpenTelemetrySpecificationExecutionListener.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = "spring.datasource.url=jdbc:h2:mem:tracing")
+@Import(OpenTelemetrySpecificationExecutionListenerIntegrationTest.TracingConfiguration.class)
+class OpenTelemetrySpecificationExecutionListenerIntegrationTest {
+
+    @TestConfiguration
+    static class TracingConfiguration {
+
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        @Bean
+        OpenTelemetry openTelemetry(final InMemorySpanExporter spanExporter) {
+            return OpenTelemetrySdk.builder()
+                    .setTracerProvider(SdkTracerProvider.builder()
+                            .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                            .build())
+                    .build();
+        }
+    }
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    void findAll_createsSpanWithShapePredicatesAndFetches() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .and().isGreaterThan(GuitarPedal_.usedValue, 100)
+                .and().isLike(GuitarPedal_.name, null)
+                .with().fetchOf(GuitarPedal_.manufacturer)
+                .toSpecification();
+        assertEquals(2, guitarPedalRepository.findAll(specification).size());
+
+        var spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        var span = spans.get(0);
+        assertEquals("GuitarPedal findAll", span.getName());
+        assertEquals(SpanKind.INTERNAL, span.getKind());
+        assertEquals(INSTRUMENTATION_SCOPE, span.getInstrumentationScopeInfo().getName());
+        var attributes = span.getAttributes();
+        assertEquals(GuitarPedal.class.getName(), attributes.get(DOMAIN));
+        assertEquals("findAll", attributes.get(METHOD));
+        assertEquals(SpecificationShape.of(specification).fingerprint(), attributes.get(SHAPE));
+        assertEquals(List.of("IS_NULL(GuitarPedal.dateSold)", "GREATER_THAN(GuitarPedal.usedValue)"),
+                attributes.get(PREDICATES));
+        assertEquals(List.of("GuitarPedal.manufacturer"), attributes.get(FETCHES));
+        assertEquals(1L, attributes.get(GHOSTS));
+        assertEquals(2L, attributes.get(ROWS));
+        assertEquals(StatusCode.UNSET, span.getStatus().getStatusCode());
+    }
+
+    @Test
+    void span_isCurrentWhileQueryRuns() {
+        var current = new AtomicReference<SpanContext>();
+        Specification<GuitarPedal> capturing = (root, query, builder) -> {
+            current.set(Span.current().getSpanContext());
+            return null;
+        };
+        assertEquals(4, guitarPedalRepository.count(capturing));
+
+        var span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals(span.getSpanContext(), current.get());
+        assertEquals(List.of(SpecificationShape.OPAQUE), span.getAttributes().get(PREDICATES));
+        assertNull(span.getAttributes().get(ROWS));
+        assertFalse(Span.current().getSpanContext().isValid());
+    }
+
+    @Test
+    void stream_isNotCurrentOnceReturned_andEndsWhenClosed() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (var pedals = guitarPedalRepository.stream(specification, Sort.by("id"))) {
+                assertFalse(Span.current().getSpanContext().isValid());
+                assertEquals(3, pedals.count());
+                assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+            }
+        });
+
+        var spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        assertEquals("GuitarPedal stream", spans.get(0).getName());
+        assertEquals(3L, spans.get(0).getAttributes().get(ROWS));
+    }
+
+    @Test
+    void failures_setErrorStatusAndRecordException() {
+        Specification<GuitarPedal> failing = (root, query, builder) -> {
+            throw new IllegalStateException("failing");
+        };
+        assertThrows(RuntimeException.class, () -> guitarPedalRepository.findAll(failing));
+
+        var span = spanExporter.getFinishedSpanItems().get(0);
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+        assertEquals("exception", span.getEvents().get(0).getName());
+    }
+}
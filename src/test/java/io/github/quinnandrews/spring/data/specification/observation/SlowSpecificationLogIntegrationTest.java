@@ -0,0 +1,62 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:slowquery",
+        "specification.observation.slow-query.threshold=0ms",
+        "specification.observation.slow-query.redacted-attributes=GuitarPedal.name"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class SlowSpecificationLogIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    void findAll_logsShapeSqlRedactedParametersAndRows(final CapturedOutput output) {
+        var pedals = guitarPedalRepository.findAll(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isLike(GuitarPedal_.name, "%a%")
+                .and().isGreaterThan(GuitarPedal_.usedValue, 100)
+                .toSpecification());
+
+        var line = output.getOut().lines()
+                .filter(text -> text.contains("Slow Specification query:"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertTrue(line.contains("domain=GuitarPedal method=findAll"), line);
+        assertTrue(line.contains("rows=" + pedals.size() + " outcome=SUCCESS"), line);
+        assertTrue(line.contains("shape=\"AND(LIKE(GuitarPedal.name), GREATER_THAN(GuitarPedal.usedValue))\""), line);
+        assertTrue(line.contains("sql=\"select"), line);
+        assertTrue(line.contains("from guitar_pedal"), line);
+        assertTrue(line.contains("parameters=\"[name=[REDACTED], usedValue=100]\""), line);
+        assertFalse(line.contains("%a%"), line);
+    }
+
+    @Test
+    void count_logsWithoutRows(final CapturedOutput output) {
+        guitarPedalRepository.count(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification());
+
+        var line = output.getOut().lines()
+                .filter(text -> text.contains("Slow Specification query:"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertTrue(line.contains("method=count"), line);
+        assertTrue(line.contains("rows= outcome=SUCCESS"), line);
+        assertTrue(line.contains("parameters=\"[]\""), line);
+    }
+}
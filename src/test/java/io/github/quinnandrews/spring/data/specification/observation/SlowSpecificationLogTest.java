@@ -0,0 +1,51 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowSpecificationLogTest {
+
+    @Test
+    void inspect_capturesStatementsOnlyDuringExecution() {
+        var log = new SlowSpecificationLog(Duration.ZERO, SpecificationValueRedactor.none());
+        var execution = new SpecificationExecution(GuitarPedal.class, "findAll", null);
+        assertEquals("select 1", log.inspect("select 1"));
+        log.beforeExecution(execution);
+        for (int i = 0; i < SlowSpecificationLog.MAX_STATEMENTS + 2; i++) {
+            log.inspect("select " + i);
+        }
+        List<String> statements = execution.getAttribute(SlowSpecificationLog.STATEMENTS);
+        assertEquals(SlowSpecificationLog.MAX_STATEMENTS, statements.size());
+        execution.finish(0, null);
+        log.afterExecution(execution);
+        log.inspect("select 2");
+        assertEquals(SlowSpecificationLog.MAX_STATEMENTS, statements.size());
+    }
+
+    @Test
+    void format_escapesQuotesAndLineBreaks() {
+        var log = new SlowSpecificationLog(Duration.ZERO, SpecificationValueRedactor.all());
+        Specification<GuitarPedal> opaque = (root, query, builder) -> builder.conjunction();
+        var execution = new SpecificationExecution(GuitarPedal.class, "findAll", opaque);
+        execution.finish(2, null);
+        var line = log.format(execution, List.of("select \"name\"\nfrom guitar_pedal"));
+        assertTrue(line.contains("sql=\"select \\\"name\\\"\\nfrom guitar_pedal\""), line);
+        assertTrue(line.contains("rows=2"), line);
+        assertTrue(line.contains("parameters=\"[OPAQUE]\""), line);
+        assertEquals(1, line.lines().count());
+    }
+
+    @Test
+    void constructor_throwsNullPointerException_whenArgumentsAreNull() {
+        assertThrows(NullPointerException.class,
+                () -> new SlowSpecificationLog(null, SpecificationValueRedactor.none()));
+        assertThrows(NullPointerException.class,
+                () -> new SlowSpecificationLog(Duration.ZERO, null));
+    }
+}
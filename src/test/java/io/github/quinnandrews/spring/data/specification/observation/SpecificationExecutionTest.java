@@ -0,0 +1,34 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static io.github.quinnandrews.spring.data.specification.builder.SpecificationFactory.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificationExecutionTest {
+
+    @Test
+    void getShape_isComputedOnFirstCall_andKept() {
+        var specification = isNull(GuitarPedal_.dateSold);
+        var execution = new SpecificationExecution(GuitarPedal.class, "findAll", specification);
+        assertNull(ReflectionTestUtils.getField(execution, "shape"));
+
+        var shape = execution.getShape();
+        assertEquals(SpecificationShape.of(specification), shape);
+        assertSame(shape, execution.getShape());
+    }
+
+    @Test
+    void jfrListener_doesNotComputeShape_whenEventIsNotEnabled() {
+        var execution = new SpecificationExecution(GuitarPedal.class, "findAll", isNull(GuitarPedal_.dateSold));
+        var listener = new JfrSpecificationExecutionListener();
+        listener.beforeExecution(execution);
+        execution.finish(3, null);
+        listener.afterExecution(execution);
+        assertNull(ReflectionTestUtils.getField(execution, "shape"));
+    }
+}
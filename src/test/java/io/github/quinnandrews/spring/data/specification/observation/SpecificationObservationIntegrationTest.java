@@ -0,0 +1,158 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = "spring.datasource.url=jdbc:h2:mem:observation")
+@Import(SpecificationObservationIntegrationTest.ObservationConfiguration.class)
+class SpecificationObservationIntegrationTest {
+
+    @TestConfiguration
+    static class ObservationConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements SpecificationExecutionListener {
+
+        final List<SpecificationExecution> executions = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void afterExecution(final SpecificationExecution execution) {
+            executions.add(execution);
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.clear();
+        recordingListener.executions.clear();
+    }
+
+    @Test
+    void findAll_recordsTimerAndSummariesTaggedByShape() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .and().isLike(GuitarPedal_.name, null)
+                .with().fetchOf(GuitarPedal_.manufacturer)
+                .toSpecification();
+        assertEquals(3, guitarPedalRepository.findAll(specification).size());
+
+        var shape = SpecificationShape.of(specification).fingerprint();
+        var timer = meterRegistry.get(MicrometerSpecificationExecutionListener.EXECUTION_TIMER)
+                .tag("domain", "GuitarPedal")
+                .tag("method", "findAll")
+                .tag("shape", shape)
+                .tag("fetch", "true")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(3.0, meterRegistry.get(MicrometerSpecificationExecutionListener.ROWS_SUMMARY)
+                .tag("shape", shape).summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get(MicrometerSpecificationExecutionListener.PREDICATES_SUMMARY)
+                .tag("shape", shape).summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get(MicrometerSpecificationExecutionListener.GHOSTS_SUMMARY)
+                .tag("shape", shape).summary().totalAmount());
+    }
+
+    @Test
+    void executions_recordRowCountsByResultType() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        assertEquals(3, guitarPedalRepository.count(specification));
+        assertEquals(2, guitarPedalRepository.findSlice(specification, PageRequest.of(0, 2)).getNumberOfElements());
+        assertTrue(guitarPedalRepository.findOne(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 1L)
+                .toSpecification()).isPresent());
+
+        var executions = recordingListener.executions;
+        assertEquals(List.of("count", "findSlice", "findOne"),
+                executions.stream().map(SpecificationExecution::getMethodName).toList());
+        assertTrue(executions.get(0).getRowCount().isEmpty());
+        assertEquals(2, executions.get(1).getRowCount().orElseThrow());
+        assertEquals(1, executions.get(2).getRowCount().orElseThrow());
+        assertTrue(executions.stream().allMatch(SpecificationExecution::isSuccessful));
+    }
+
+    @Test
+    void stream_isRecordedWhenClosed() {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (var pedals = guitarPedalRepository.stream(specification, Sort.by("id"))) {
+                assertEquals(3, pedals.count());
+                assertTrue(recordingListener.executions.isEmpty());
+            }
+        });
+        assertEquals(1, recordingListener.executions.size());
+        assertEquals(3, recordingListener.executions.get(0).getRowCount().orElseThrow());
+    }
+
+    @Test
+    void failures_areRecordedWithErrorOutcome() {
+        Specification<GuitarPedal> failing = (root, query, builder) -> {
+            throw new IllegalStateException("failing");
+        };
+        assertThrows(RuntimeException.class, () -> guitarPedalRepository.findAll(failing));
+
+        var execution = recordingListener.executions.get(0);
+        assertFalse(execution.isSuccessful());
+        assertEquals(SpecificationShape.OPAQUE, execution.getShape().fingerprint());
+        assertEquals(1, meterRegistry.get(MicrometerSpecificationExecutionListener.EXECUTION_TIMER)
+                .tag("outcome", "ERROR")
+                .tag("shape", SpecificationShape.OPAQUE)
+                .timer().count());
+    }
+
+    @Test
+    void methodsNotQueryingBySpecification_areNotRecorded() {
+        assertEquals(4, guitarPedalRepository.count());
+        assertTrue(guitarPedalRepository.findById(1L).isPresent());
+        assertTrue(recordingListener.executions.isEmpty());
+    }
+}
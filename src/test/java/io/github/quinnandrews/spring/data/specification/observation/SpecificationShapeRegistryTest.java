@@ -0,0 +1,91 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecificationShapeRegistryTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void top_estimatesPercentilesWithinAnEighth() {
+        var registry = new SpecificationShapeRegistry();
+        for (int i = 0; i < 98; i++) {
+            registry.record("GuitarPedal", "IS_NULL(GuitarPedal.dateSold)", MILLIS, 10, true);
+        }
+        registry.record("GuitarPedal", "IS_NULL(GuitarPedal.dateSold)", 100 * MILLIS, 20, true);
+        registry.record("GuitarPedal", "IS_NULL(GuitarPedal.dateSold)", 100 * MILLIS, -1, false);
+
+        var statistics = registry.top(1).get(0);
+        assertEquals(100, statistics.count());
+        assertEquals(1, statistics.errors());
+        assertEquals(298.0, statistics.totalMillis(), 1e-9);
+        assertEquals(2.98, statistics.meanMillis(), 1e-9);
+        assertTrue(statistics.p50Millis() >= 1.0 && statistics.p50Millis() <= 1.125, "p50 " + statistics.p50Millis());
+        assertTrue(statistics.p99Millis() >= 100.0 && statistics.p99Millis() <= 112.5, "p99 " + statistics.p99Millis());
+        assertEquals(100.0, statistics.maxMillis(), 1e-9);
+        assertEquals(1000.0 / 99, statistics.meanRows(), 1e-9);
+    }
+
+    @Test
+    void top_ordersByTotalTime_andLimits() {
+        var registry = new SpecificationShapeRegistry();
+        registry.record("GuitarPedal", "frequent", 2 * MILLIS, -1, true);
+        registry.record("GuitarPedal", "frequent", 2 * MILLIS, -1, true);
+        registry.record("GuitarPedal", "frequent", 2 * MILLIS, -1, true);
+        registry.record("GuitarPedal", "slow", 5 * MILLIS, -1, true);
+        registry.record("Manufacturer", "fast", MILLIS / 10, -1, true);
+
+        var top = registry.top(2);
+        assertEquals(2, top.size());
+        assertEquals("frequent", top.get(0).shape());
+        assertEquals("slow", top.get(1).shape());
+        assertNull(top.get(0).meanRows());
+        assertEquals(3, registry.top(10).size());
+        assertThrows(IllegalArgumentException.class, () -> registry.top(-1));
+
+        registry.reset();
+        assertTrue(registry.top(10).isEmpty());
+    }
+
+    @Test
+    void record_keepsShapesBeyondMaximumAsOther() {
+        var registry = new SpecificationShapeRegistry(2);
+        registry.record("GuitarPedal", "first", MILLIS, -1, true);
+        registry.record("GuitarPedal", "second", MILLIS, -1, true);
+        registry.record("GuitarPedal", "third", MILLIS, -1, true);
+        registry.record("GuitarPedal", "fourth", MILLIS, -1, true);
+        registry.record("GuitarPedal", "first", MILLIS, -1, true);
+
+        var top = registry.top(10);
+        assertEquals(3, top.size());
+        assertEquals(2, top.stream()
+                .filter(shape -> shape.shape().equals(SpecificationShapeRegistry.OTHER_SHAPE))
+                .findFirst().orElseThrow().count());
+        assertThrows(IllegalArgumentException.class, () -> new SpecificationShapeRegistry(0));
+    }
+
+    @Test
+    void record_countsEveryExecution_whenRecordedConcurrently() throws InterruptedException {
+        var registry = new SpecificationShapeRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(thread -> executor.execute(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                registry.record("GuitarPedal", "shape-" + (i % 4), i * 1_000L, 1, true);
+            }
+        }));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        var top = registry.top(10);
+        assertEquals(4, top.size());
+        assertEquals(80_000, top.stream().mapToLong(SpecificationShapeStatistics::count).sum());
+        assertTrue(top.stream().allMatch(shape -> shape.meanRows() == 1.0));
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.quinnandrews.spring.data.specification.observation;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationShape;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationShapesEndpointIntegrationTest {
+
+    @Autowired
+    private SpecificationShapesEndpoint endpoint;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @BeforeEach
+    void setUp() {
+        endpoint.reset();
+    }
+
+    @Test
+    void shapes_listsExecutedShapesByTotalTime() {
+        for (var name : new String[]{"%a%", "%e%", "%o%"}) {
+            guitarPedalRepository.findAll(SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isLike(GuitarPedal_.name, name)
+                    .toSpecification());
+        }
+        var unsold = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification();
+        guitarPedalRepository.count(unsold);
+
+        var shapes = endpoint.shapes(null);
+        assertEquals(2, shapes.size());
+        var search = shapes.stream().filter(shape -> shape.count() == 3).findFirst().orElseThrow();
+        assertEquals("GuitarPedal", search.domain());
+        assertEquals("LIKE(GuitarPedal.name)", search.shape());
+        assertNotNull(search.meanRows());
+        var count = shapes.stream().filter(shape -> shape.count() == 1).findFirst().orElseThrow();
+        assertEquals(SpecificationShape.of(unsold).fingerprint(), count.shape());
+        assertNull(count.meanRows());
+        assertTrue(shapes.get(0).totalMillis() >= shapes.get(1).totalMillis());
+        assertEquals(1, endpoint.shapes(1).size());
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.quinnandrews.spring.data.specification.performance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SQL of every statement Hibernate prepares, so that the
+ * performance scenarios can ask H2 to explain the plans of their queries.
+ * Registered by class name with the property
+ * hibernate.session_factory.statement_inspector.
+ *
+ * @author Quinn Andrews
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> CAPTURED = new ArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String inspect(final String sql) {
+        synchronized (CAPTURED) {
+            CAPTURED.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Returns the statements captured since the last call, and forgets
+     * them.
+     */
+    static List<String> drain() {
+        synchronized (CAPTURED) {
+            final List<String> drained = List.copyOf(CAPTURED);
+            CAPTURED.clear();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.quinnandrews.spring.data.specification.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p> The median timings of the performance scenarios on the reference
+ * machine, read from {@value #LOCATION} on the test classpath, together
+ * with the dataset they were measured against and the tolerance band a
+ * new timing must stay within: the baseline multiplied by
+ * {@code tolerance.factor}, plus {@code tolerance.slack-millis}. Each
+ * scenario also records the tables its queries scan rather than read by
+ * index, which do not depend on the machine.
+ *
+ * <p> New baselines are written to {@value #RECORDED_LOCATION} when the
+ * system property {@value #RECORD_PROPERTY} is true, to be copied over
+ * the checked-in file after a deliberate change, or on a new reference
+ * machine.
+ *
+ * @author Quinn Andrews
+ */
+final class PerformanceBaselines {
+
+    static final String LOCATION = "performance/baselines.properties";
+    static final String RECORDED_LOCATION = "target/performance/baselines.properties";
+    static final String RECORD_PROPERTY = "specification.performance.record";
+
+    private final Properties properties;
+
+    private PerformanceBaselines(final Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the checked-in baselines.
+     */
+    static PerformanceBaselines load() {
+        final Properties properties = new Properties();
+        try (InputStream input = PerformanceBaselines.class.getClassLoader().getResourceAsStream(LOCATION)) {
+            if (input == null) {
+                throw new IllegalStateException("Baselines '" + LOCATION + "' not found on the classpath.");
+            }
+            properties.load(input);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PerformanceBaselines(properties);
+    }
+
+    /**
+     * Returns true if new baselines are to be recorded rather than
+     * compared to.
+     */
+    static boolean isRecording() {
+        return Boolean.getBoolean(RECORD_PROPERTY);
+    }
+
+    int getDatasetSize() {
+        return Integer.parseInt(properties.getProperty("dataset.size"));
+    }
+
+    long getDatasetSeed() {
+        return Long.parseLong(properties.getProperty("dataset.seed"));
+    }
+
+    /**
+     * Returns the baseline of the given scenario, in milliseconds, if one
+     * has been recorded.
+     */
+    OptionalDouble getMillis(final String scenario) {
+        final String millis = properties.getProperty("scenario." + scenario);
+        return millis == null ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(millis));
+    }
+
+    /**
+     * Returns the tables the given scenario scanned, if recorded.
+     */
+    Optional<Set<String>> getTableScans(final String scenario) {
+        final String tables = properties.getProperty("scenario." + scenario + ".table-scans");
+        return tables == null ? Optional.empty() : Optional.of(tables.isBlank() ?
+                Set.of() : Set.of(tables.split(",")));
+    }
+
+    /**
+     * Returns the longest a scenario with the given baseline may take.
+     */
+    double limitOf(final double baselineMillis) {
+        return baselineMillis * Double.parseDouble(properties.getProperty("tolerance.factor"))
+                + Double.parseDouble(properties.getProperty("tolerance.slack-millis"));
+    }
+
+    /**
+     * Writes the given medians, with the dataset and tolerance of these
+     * baselines, to {@value #RECORDED_LOCATION}.
+     */
+    Path record(final Map<String, Double> medians,
+                final Map<String, Set<String>> tableScans,
+                final int datasetSize,
+                final long datasetSeed) {
+        final Path path = Path.of(RECORDED_LOCATION);
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                writer.write("# Median milliseconds of each scenario, see SpecificationPerformanceTest.\n");
+                writer.write("dataset.size=" + datasetSize + "\n");
+                writer.write("dataset.seed=" + datasetSeed + "\n");
+                writer.write("tolerance.factor=" + properties.getProperty("tolerance.factor") + "\n");
+                writer.write("tolerance.slack-millis=" + properties.getProperty("tolerance.slack-millis") + "\n");
+                for (final Map.Entry<String, Double> median : medians.entrySet()) {
+                    writer.write(String.format(Locale.ROOT, "scenario.%s=%.3f%n", median.getKey(), median.getValue()));
+                    writer.write("scenario." + median.getKey() + ".table-scans="
+                            + String.join(",", new TreeSet<>(tableScans.get(median.getKey()))) + "\n");
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path;
+    }
+}
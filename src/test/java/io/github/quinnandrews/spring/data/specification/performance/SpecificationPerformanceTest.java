@@ -0,0 +1,204 @@
+package io.github.quinnandrews.spring.data.specification.performance;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.dataset.GuitarPedalDataset;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.specifications.GuitarPedalSpecifications;
+import io.github.quinnandrews.spring.data.specification.explain.H2ExplainDialect;
+import io.github.quinnandrews.spring.data.specification.explain.SpecificationPlan;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * <p> Times the search and fetch examples of GuitarPedalSpecifications, and
+ * lookups that an index on the columns searched should answer, against a
+ * generated dataset, and fails when the median of a scenario leaves the
+ * tolerance band of its checked-in baseline. The SQL of each scenario is
+ * also captured, with values inlined, and explained by H2, so that a change
+ * that keeps H2 from using an index, making a query non-sargable, fails the
+ * scenario as soon as it scans a table it read by index before, however
+ * small the dataset.
+ *
+ * <p> Tagged "performance" and excluded from the default build. Run with
+ * {@code mvn -P performance test}, and record new baselines with
+ * {@code -Dspecification.performance.record=true}, see PerformanceBaselines.
+ */
+@Tag("performance")
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:performance",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "io.github.quinnandrews.spring.data.specification.performance.CapturingStatementInspector"
+})
+class SpecificationPerformanceTest {
+
+    private static final int WARMUPS = 5;
+    private static final int MEASUREMENTS = 15;
+    private static final int USED_VALUE_GREATER_THAN = 495;
+
+    private static final PerformanceBaselines BASELINES = PerformanceBaselines.load();
+    private static final Map<String, Double> MEDIANS = new TreeMap<>();
+    private static final Map<String, Set<String>> TABLE_SCANS = new TreeMap<>();
+    private static final H2ExplainDialect EXPLAIN_DIALECT = new H2ExplainDialect();
+
+    private static GuitarPedalDataset dataset;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private GuitarPedalSpecifications guitarPedalSpecifications;
+
+    @BeforeEach
+    void setUp() {
+        if (dataset == null) {
+            dataset = new GuitarPedalDataset(
+                    Integer.getInteger(GuitarPedalDataset.SIZE_PROPERTY, BASELINES.getDatasetSize()),
+                    Long.getLong(GuitarPedalDataset.SEED_PROPERTY, BASELINES.getDatasetSeed())
+            );
+            dataset.generate(dataSource);
+            new JdbcTemplate(dataSource).execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void recordBaselines() {
+        if (PerformanceBaselines.isRecording() && !MEDIANS.isEmpty()) {
+            BASELINES.record(MEDIANS, TABLE_SCANS, dataset.getSize(), dataset.getSeed());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "search_example_01",
+            "search_example_02",
+            "search_example_03",
+            "search_example_04",
+            "search_example_05",
+            "search_example_06",
+            "search_example_07",
+            "fetch_example_02",
+            "name_isEqualTo",
+            "name_isIn",
+            "name_isEqualTo_fetchOfTags",
+            "name_isLike",
+            "usedValue_isBetween"
+    })
+    void scenario_staysWithinBaseline(final String scenario) {
+        final Specification<GuitarPedal> specification = specificationOf(scenario);
+        final Set<String> tableScans = tableScansOf(specification);
+        final double median = medianMillisOf(specification);
+        MEDIANS.put(scenario, median);
+        TABLE_SCANS.put(scenario, tableScans);
+        if (PerformanceBaselines.isRecording()) {
+            return;
+        }
+        final Set<String> baselineScans = BASELINES.getTableScans(scenario).orElseThrow(() -> new AssertionFailedError(
+                "No baseline for scenario '" + scenario + "', record one with -D"
+                        + PerformanceBaselines.RECORD_PROPERTY + "=true."));
+        assertTrue(baselineScans.containsAll(tableScans), () -> "Scenario '" + scenario + "' now scans "
+                + tableScans + " rather than " + baselineScans + ", so a Specification may have become non-sargable.");
+        assumeTrue(dataset.getSize() == BASELINES.getDatasetSize() && dataset.getSeed() == BASELINES.getDatasetSeed(),
+                "Baselines were measured against another dataset.");
+        final double baseline = BASELINES.getMillis(scenario).orElseThrow(() -> new AssertionFailedError(
+                "No baseline for scenario '" + scenario + "', record one with -D"
+                        + PerformanceBaselines.RECORD_PROPERTY + "=true."));
+        final double limit = BASELINES.limitOf(baseline);
+        assertTrue(median <= limit, () -> String.format(Locale.ROOT,
+                "Scenario '%s' took %.3f ms, beyond its limit of %.3f ms (baseline %.3f ms).",
+                scenario, median, limit, baseline));
+    }
+
+    private Specification<GuitarPedal> specificationOf(final String scenario) {
+        return switch (scenario) {
+            case "search_example_01" -> guitarPedalSpecifications.search_example_01(USED_VALUE_GREATER_THAN);
+            case "search_example_02" -> guitarPedalSpecifications.search_example_02(USED_VALUE_GREATER_THAN);
+            case "search_example_03" -> guitarPedalSpecifications.search_example_03(USED_VALUE_GREATER_THAN);
+            case "search_example_04" -> guitarPedalSpecifications.search_example_04(USED_VALUE_GREATER_THAN);
+            case "search_example_05" -> guitarPedalSpecifications.search_example_05(USED_VALUE_GREATER_THAN);
+            case "search_example_06" -> guitarPedalSpecifications.search_example_06(USED_VALUE_GREATER_THAN);
+            case "search_example_07" -> guitarPedalSpecifications.search_example_07(USED_VALUE_GREATER_THAN);
+            case "fetch_example_02" -> guitarPedalSpecifications.fetch_example_02("Strymon");
+            case "name_isEqualTo" -> SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isEqualTo(GuitarPedal_.name, "Big Muff Fuzz")
+                    .toSpecification();
+            case "name_isIn" -> SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isIn(GuitarPedal_.name, "Big Muff Fuzz", "Soft Focus Reverb", "Deco")
+                    .toSpecification();
+            case "name_isEqualTo_fetchOfTags" -> SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isEqualTo(GuitarPedal_.name, "Soft Focus Reverb")
+                    .with().fetchOf(GuitarPedal_.tags)
+                    .with().fetchOf(GuitarPedal_.manufacturer)
+                    .toSpecification();
+            case "name_isLike" -> SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isLike(GuitarPedal_.name, "%muff%")
+                    .toSpecification();
+            case "usedValue_isBetween" -> SpecificationBuilder.from(GuitarPedal.class)
+                    .where().isBetween(GuitarPedal_.usedValue, 500, 500)
+                    .with().fetchOf(GuitarPedal_.manufacturer)
+                    .toSpecification();
+            default -> throw new IllegalArgumentException("Unknown scenario '" + scenario + "'.");
+        };
+    }
+
+    /**
+     * Returns the tables that the queries of finding every Entity matching
+     * the given Specification scan, as explained by H2.
+     */
+    private Set<String> tableScansOf(final Specification<GuitarPedal> specification) {
+        CapturingStatementInspector.drain();
+        guitarPedalRepository.findAll(specification);
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        final Set<String> tableScans = new TreeSet<>();
+        for (final String sql : CapturingStatementInspector.drain()) {
+            final String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            EXPLAIN_DIALECT.accessesOf(plan).stream()
+                    .filter(SpecificationPlan.TableAccess::isTableScan)
+                    .forEach(access -> tableScans.add(access.table()));
+        }
+        return tableScans;
+    }
+
+    /**
+     * Returns the median, in milliseconds, of finding every Entity
+     * matching the given Specification, after warming up.
+     */
+    private double medianMillisOf(final Specification<GuitarPedal> specification) {
+        for (int i = 0; i < WARMUPS; i++) {
+            guitarPedalRepository.findAll(specification);
+        }
+        final long[] nanos = new long[MEASUREMENTS];
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            final long start = System.nanoTime();
+            guitarPedalRepository.findAll(specification);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASUREMENTS / 2] / 1_000_000d;
+    }
+}
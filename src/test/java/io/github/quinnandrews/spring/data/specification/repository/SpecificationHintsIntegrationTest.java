@@ -0,0 +1,151 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+@Transactional
+class SpecificationHintsIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findAll_loadsEntitiesReadOnly_whenReadOnly() {
+        var pedals = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .readOnly()
+                        .toSpecification());
+        assertEquals(3, pedals.size());
+        var session = entityManager.unwrap(Session.class);
+        pedals.forEach(pedal -> assertTrue(session.isReadOnly(pedal)));
+    }
+
+    @Test
+    void findAll_doesNotWriteChanges_whenReadOnly() {
+        var pedal = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isEqualTo(GuitarPedal_.id, 1L)
+                        .readOnly()
+                        .toSpecification()).get(0);
+        ReflectionTestUtils.setField(pedal, "usedValue", 1);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(75, guitarPedalRepository.findById(1L).orElseThrow().getUsedValue());
+    }
+
+    @Test
+    void findAll_loadsEntitiesReadOnly_whenPagedAndReadOnly() {
+        var page = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .readOnly()
+                        .toSpecification(),
+                PageRequest.of(0, 2, Sort.by(GuitarPedal_.ID)));
+        assertEquals(4, page.getTotalElements());
+        var session = entityManager.unwrap(Session.class);
+        page.forEach(pedal -> assertTrue(session.isReadOnly(pedal)));
+    }
+
+    @Test
+    void findSlice_loadsEntitiesReadOnly_whenReadOnly() {
+        var slice = guitarPedalRepository.findSlice(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .readOnly()
+                        .toSpecification(),
+                PageRequest.of(0, 10));
+        assertEquals(3, slice.getNumberOfElements());
+        var session = entityManager.unwrap(Session.class);
+        slice.forEach(pedal -> assertTrue(session.isReadOnly(pedal)));
+    }
+
+    @Test
+    void findAll_loadsEntitiesWritable_byDefault() {
+        var pedals = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .toSpecification());
+        var session = entityManager.unwrap(Session.class);
+        pedals.forEach(pedal -> assertFalse(session.isReadOnly(pedal)));
+    }
+
+    @Test
+    void createQuery_appliesQueryHints() {
+        var hints = SpecificationQueries.createQuery(entityManager, GuitarPedal.class,
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .where().isNull(GuitarPedal_.dateSold)
+                                .with().fetchSize(250)
+                                .timeout(Duration.ofSeconds(2))
+                                .cacheable()
+                                .comment("pedal search")
+                                .toSpecification(),
+                        Sort.unsorted())
+                .getHints();
+        assertEquals(250, hints.get(HibernateHints.HINT_FETCH_SIZE));
+        assertEquals(2, hints.get(HibernateHints.HINT_TIMEOUT));
+        assertEquals(true, hints.get(HibernateHints.HINT_CACHEABLE));
+        assertEquals("pedal search", hints.get(HibernateHints.HINT_COMMENT));
+    }
+
+    @Test
+    void createCountQuery_appliesTimeout_roundedUpToSeconds() {
+        assertEquals(2, timeoutOf(Duration.ofMillis(1500)));
+        assertEquals(2, timeoutOf(Duration.ofMillis(1001)));
+        assertEquals(1, timeoutOf(Duration.ofMillis(400)));
+        assertEquals(1, timeoutOf(Duration.ofMillis(1)));
+    }
+
+    @Test
+    void findAll_returnsMatches_withQueryHints() {
+        var pedals = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .with().fetchSize(2)
+                        .timeout(Duration.ofSeconds(5))
+                        .comment("pedal search")
+                        .toSpecification());
+        assertEquals(3, pedals.size());
+    }
+
+    @Test
+    void createQuery_appliesNoHints_whenNoneSet() {
+        var hints = SpecificationQueries.createQuery(entityManager, GuitarPedal.class,
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .where().isNull(GuitarPedal_.dateSold)
+                                .toSpecification(),
+                        Sort.unsorted())
+                .getHints();
+        assertNull(hints.get(HibernateHints.HINT_TIMEOUT));
+        assertNotEquals(true, hints.get(HibernateHints.HINT_CACHEABLE));
+    }
+
+    private Integer timeoutOf(final Duration timeout) {
+        return SpecificationQueries.createCountQuery(entityManager, GuitarPedal.class,
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .timeout(timeout)
+                                .toSpecification())
+                .unwrap(org.hibernate.query.Query.class)
+                .getTimeout();
+    }
+}
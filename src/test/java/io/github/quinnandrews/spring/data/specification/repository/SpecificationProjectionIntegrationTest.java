@@ -0,0 +1,132 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationProjectionIntegrationTest {
+
+    record PedalSummary(Long id, String name, Integer usedValue) {
+    }
+
+    record PedalName(String name) {
+    }
+
+    record PedalStereo(Boolean hasStereoOutput) {
+    }
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void findAll_selectsRecords_withoutManagingEntities() {
+        var summaries = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .toSpecification(),
+                summary(),
+                Sort.by(GuitarPedal_.ID));
+        assertEquals(3, summaries.size());
+        assertEquals(new PedalSummary(2L, "Deco: Tape Saturation and Double Tracker", 250), summaries.get(0));
+        assertEquals(new PedalSummary(3L, "Soft Focus Reverb", 200), summaries.get(1));
+        assertEquals(new PedalSummary(4L, "Sneak Attack: Attack/Decay and Tremolo", 150), summaries.get(2));
+        assertEquals(0, entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities());
+    }
+
+    @Test
+    void findAll_selectsEverything_whenSpecificationIsNull() {
+        var names = guitarPedalRepository.findAll(
+                null,
+                SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.name),
+                Sort.by(GuitarPedal_.NAME));
+        assertEquals(4, names.size());
+        assertEquals(new PedalName("Big Muff Fuzz"), names.get(0));
+    }
+
+    @Test
+    void findAll_keepsRowPerRoot_whenCollectionIsFetched() {
+        var stereo = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                SpecificationProjection.of(GuitarPedal.class, PedalStereo.class, GuitarPedal_.hasStereoOutput),
+                Sort.unsorted());
+        assertEquals(4, stereo.size());
+        assertEquals(1, stereo.stream().filter(PedalStereo::hasStereoOutput).count());
+    }
+
+    @Test
+    void findAll_sortsByUnselectedAttribute_whenCollectionIsFetched() {
+        var names = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 100)
+                        .and().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.name),
+                Sort.by(Sort.Direction.DESC, GuitarPedal_.USED_VALUE));
+        assertEquals(List.of(
+                new PedalName("Deco: Tape Saturation and Double Tracker"),
+                new PedalName("Soft Focus Reverb"),
+                new PedalName("Sneak Attack: Attack/Decay and Tremolo")), names);
+    }
+
+    @Test
+    void findSlice_returnsSliceOfRecords() {
+        var slice = guitarPedalRepository.findSlice(null, summary(),
+                PageRequest.of(1, 3, Sort.by(GuitarPedal_.ID)));
+        assertEquals(1, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+        assertEquals(new PedalSummary(4L, "Sneak Attack: Attack/Decay and Tremolo", 150), slice.getContent().get(0));
+    }
+
+    @Test
+    void of_throwsException_whenComponentCountDoesNotMatch() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> SpecificationProjection.of(GuitarPedal.class, PedalSummary.class,
+                        GuitarPedal_.id, GuitarPedal_.name)
+        );
+    }
+
+    @Test
+    void of_throwsException_whenComponentTypeDoesNotMatch() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> SpecificationProjection.of(GuitarPedal.class, PedalName.class, GuitarPedal_.usedValue)
+        );
+    }
+
+    @Test
+    void findAll_throwsException_whenProjectionIsNull() {
+        assertThrows(
+                NullPointerException.class,
+                () -> guitarPedalRepository.findAll(null, (SpecificationProjection<GuitarPedal, PedalName>) null,
+                        Sort.unsorted())
+        );
+    }
+
+    private static SpecificationProjection<GuitarPedal, PedalSummary> summary() {
+        return SpecificationProjection.of(GuitarPedal.class, PedalSummary.class,
+                GuitarPedal_.id, GuitarPedal_.name, GuitarPedal_.usedValue);
+    }
+}
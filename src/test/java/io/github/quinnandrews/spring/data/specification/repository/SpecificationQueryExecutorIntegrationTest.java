@@ -0,0 +1,167 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationQueryExecutorIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    void findSlice_returnsFirstSlice_withNext() {
+        var slice = guitarPedalRepository.findSlice(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 50)
+                        .toSpecification(),
+                PageRequest.of(0, 3, Sort.by(GuitarPedal_.ID)));
+        assertEquals(3, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertEquals(1L, slice.getContent().get(0).getId());
+        assertEquals(3L, slice.getContent().get(2).getId());
+    }
+
+    @Test
+    void findSlice_returnsLastSlice_withoutNext() {
+        var slice = guitarPedalRepository.findSlice(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 50)
+                        .toSpecification(),
+                PageRequest.of(1, 3, Sort.by(GuitarPedal_.ID)));
+        assertEquals(1, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+        assertEquals(4L, slice.getContent().get(0).getId());
+    }
+
+    @Test
+    void findSlice_returnsEverything_whenUnpaged() {
+        var slice = guitarPedalRepository.findSlice(null, Pageable.unpaged());
+        assertEquals(4, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void findSlice_fetchesAssociations() {
+        var slice = guitarPedalRepository.findSlice(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isEqualTo(GuitarPedal_.id, 2L)
+                        .and().fetchOf(GuitarPedal_.manufacturer)
+                        .toSpecification(),
+                PageRequest.of(0, 10));
+        assertEquals(1, slice.getNumberOfElements());
+        assertEquals("Strymon", slice.getContent().get(0).getManufacturer().getName());
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void findSlice_limitsPageInDatabase_whenCollectionIsFetched(final CapturedOutput output) {
+        var specification = SpecificationBuilder.from(GuitarPedal.class)
+                .where().isGreaterThan(GuitarPedal_.usedValue, 50)
+                .with().fetchOf(GuitarPedal_.tags)
+                .toSpecification();
+        var first = guitarPedalRepository.findSlice(specification,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, GuitarPedal_.USED_VALUE)));
+        assertEquals(List.of(2L, 3L), first.map(GuitarPedal::getId).getContent());
+        assertEquals(List.of(6, 4), first.map(pedal -> pedal.getTags().size()).getContent());
+        assertTrue(first.hasNext());
+
+        var last = guitarPedalRepository.findSlice(specification,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, GuitarPedal_.USED_VALUE)));
+        assertEquals(List.of(4L, 1L), last.map(GuitarPedal::getId).getContent());
+        assertEquals(List.of(3, 2), last.map(pedal -> pedal.getTags().size()).getContent());
+        assertFalse(last.hasNext());
+        // no collection fetch was paged in memory
+        assertFalse(output.getOut().contains("HHH90003004"));
+    }
+
+    @Test
+    void findSlice_throwsException_whenPageableIsNull() {
+        assertThrows(
+                NullPointerException.class,
+                () -> guitarPedalRepository.findSlice(null, null)
+        );
+    }
+
+    @Test
+    void exists_returnsTrue_whenAnyMatch() {
+        assertTrue(guitarPedalRepository.exists(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isLike(GuitarPedal_.name, "%reverb%")
+                        .toSpecification()));
+    }
+
+    @Test
+    void exists_returnsFalse_whenNoneMatch() {
+        assertFalse(guitarPedalRepository.exists(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isGreaterThan(GuitarPedal_.usedValue, 1000)
+                        .toSpecification()));
+    }
+
+    @Test
+    void exists_ignoresFetches() {
+        assertTrue(guitarPedalRepository.exists(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .and().fetchOf(GuitarPedal_.manufacturer)
+                        .and().fetchOf(GuitarPedal_.tags)
+                        .toSpecification()));
+    }
+
+    @Test
+    void count_returnsNumberOfMatches() {
+        assertEquals(3L, guitarPedalRepository.count(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .toSpecification()));
+    }
+
+    @Test
+    void count_returnsNumberOfAllEntities_whenSpecificationIsNull() {
+        assertEquals(4L, guitarPedalRepository.count((Specification<GuitarPedal>) null));
+    }
+
+    @Test
+    void count_countsRootsOnce_whenCollectionIsFetched() {
+        // the tags are joined but each pedal has several tags,
+        // so the count must not be multiplied by the join
+        assertEquals(3L, guitarPedalRepository.count(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .and().fetchOf(GuitarPedal_.manufacturer)
+                        .and().fetchOf(GuitarPedal_.tags)
+                        .toSpecification()));
+    }
+
+    @Test
+    void findAll_withPageable_countsWithFetches() {
+        // the count query issued by JpaSpecificationExecutor is
+        // also executed by the base class and ignores the fetches
+        var page = guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .and().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                PageRequest.of(0, 2, Sort.by(GuitarPedal_.ID)));
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(2, page.getNumberOfElements());
+    }
+}
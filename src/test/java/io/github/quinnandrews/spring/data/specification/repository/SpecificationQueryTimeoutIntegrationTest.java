@@ -0,0 +1,94 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedalTag;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:querytimeout",
+        "spring.datasource.hikari.exception-override-class-name="
+                + "io.github.quinnandrews.spring.data.specification.repository.SpecificationQueryTimeoutIntegrationTest$KeepTimedOutConnections"
+})
+class SpecificationQueryTimeoutIntegrationTest {
+
+    /**
+     * HikariCP evicts a connection once a statement on it times out,
+     * which would fail the rollback of the Repository's transaction.
+     */
+    public static class KeepTimedOutConnections implements SQLExceptionOverride {
+
+        @java.lang.Override
+        public Override adjudicate(final SQLException sqlException) {
+            return sqlException instanceof SQLTimeoutException ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+        }
+    }
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR 'java.lang.Thread.sleep'");
+    }
+
+    @Test
+    void findAll_cancelsStatement_whenTimeoutShorterThanSecondExpires() {
+        var started = System.nanoTime();
+        assertThrows(
+                QueryTimeoutException.class,
+                () -> guitarPedalRepository.findAll(SpecificationBuilder.from(GuitarPedal.class)
+                        .where(slow())
+                        .with().timeout(Duration.ofMillis(400))
+                        .toSpecification())
+        );
+        // rounded up to one second, where it would have run for several otherwise
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(3)) < 0);
+    }
+
+    @Test
+    void count_cancelsStatement_whenTimeoutExpires() {
+        assertThrows(
+                QueryTimeoutException.class,
+                () -> guitarPedalRepository.count(SpecificationBuilder.from(GuitarPedal.class)
+                        .where(slow())
+                        .with().timeout(Duration.ofMillis(1))
+                        .toSpecification())
+        );
+    }
+
+    /**
+     * Sleeps for a millisecond per row of 15 * 15 * 15 tags, several
+     * seconds in all, since H2 checks whether a statement has been
+     * cancelled only every 128 rows.
+     */
+    private static Specification<GuitarPedal> slow() {
+        return (root, query, builder) -> {
+            var subquery = query.subquery(Long.class);
+            var tag = subquery.from(GuitarPedalTag.class);
+            subquery.from(GuitarPedalTag.class);
+            subquery.from(GuitarPedalTag.class);
+            subquery.select(builder.count(tag))
+                    .where(builder.isNull(builder.function("SLEEP", Integer.class, builder.literal(1L))));
+            return builder.greaterThan(subquery, 0L);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.LockingGuitarPedalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:methodmetadata",
+        "spring.jpa.show-sql=true",
+        "spring.jpa.properties.hibernate.use_sql_comments=true"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class SpecificationRepositoryMethodMetadataIntegrationTest {
+
+    @Autowired
+    private LockingGuitarPedalRepository lockingGuitarPedalRepository;
+
+    @Test
+    void exists_appliesLockModeOfRepositoryMethod(final CapturedOutput output) {
+        assertTrue(lockingGuitarPedalRepository.exists(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isEqualTo(GuitarPedal_.id, 1L)
+                .toSpecification()));
+
+        var sql = lastStatementOf(output);
+        assertTrue(sql.contains("for update"), sql);
+    }
+
+    @Test
+    void count_appliesQueryHintsOfRepositoryMethod(final CapturedOutput output) {
+        assertEquals(3L, lockingGuitarPedalRepository.count(SpecificationBuilder.from(GuitarPedal.class)
+                .where().isNull(GuitarPedal_.dateSold)
+                .toSpecification()));
+
+        var sql = lastStatementOf(output);
+        assertTrue(sql.contains("/* counting pedals */"), sql);
+        assertFalse(sql.contains("for update"), sql);
+    }
+
+    private static String lastStatementOf(final CapturedOutput output) {
+        return output.getOut().lines()
+                .filter(line -> line.startsWith("Hibernate:"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+}
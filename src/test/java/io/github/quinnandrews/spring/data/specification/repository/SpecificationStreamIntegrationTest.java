@@ -0,0 +1,143 @@
+package io.github.quinnandrews.spring.data.specification.repository;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class SpecificationStreamIntegrationTest {
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_returnsMatchingEntities_inOrder() {
+        try (var stream = guitarPedalRepository.stream(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .toSpecification(),
+                Sort.by(GuitarPedal_.NAME), 1)) {
+            var names = stream.map(GuitarPedal::getName).toList();
+            assertEquals(List.of(
+                    "Big Muff Fuzz",
+                    "Deco: Tape Saturation and Double Tracker",
+                    "Soft Focus Reverb"), names);
+        }
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_loadsEntitiesReadOnly() {
+        try (var stream = guitarPedalRepository.stream(null, Sort.unsorted())) {
+            var session = entityManager.unwrap(Session.class);
+            stream.forEach(pedal -> assertTrue(session.isReadOnly(pedal)));
+        }
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_detachesStreamedEntities_afterEachBatch() {
+        var pedals = new ArrayList<GuitarPedal>();
+        try (var stream = guitarPedalRepository.stream(null, Sort.by(GuitarPedal_.ID), 2)) {
+            stream.forEach(pedal -> {
+                pedals.add(pedal);
+                // the persistence context never holds more than one batch
+                assertTrue(pedals.stream().filter(entityManager::contains).count() <= 2);
+            });
+        }
+        assertEquals(4, pedals.size());
+        assertFalse(entityManager.contains(pedals.get(0)));
+        assertFalse(entityManager.contains(pedals.get(1)));
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_detachesAssociatedEntities_afterEachBatch() {
+        var persistenceContext = entityManager.unwrap(SessionImplementor.class).getPersistenceContextInternal();
+        var pedals = new ArrayList<GuitarPedal>();
+        try (var stream = guitarPedalRepository.stream(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                Sort.by(GuitarPedal_.ID), 1)) {
+            stream.forEach(pedal -> {
+                pedals.add(pedal);
+                // only the pedal just read, its manufacturer and its tags
+                assertEquals(2 + pedal.getTags().size(), persistenceContext.getNumberOfManagedEntities());
+            });
+        }
+        assertEquals(4, pedals.size());
+        assertFalse(entityManager.contains(pedals.get(1).getManufacturer()));
+        assertFalse(entityManager.contains(pedals.get(1).getTags().get(0)));
+    }
+
+    @Test
+    @Transactional
+    void stream_keepsEntitiesManagedBeforehand() {
+        var managed = entityManager.find(GuitarPedal.class, 1L);
+        var manufacturer = managed.getManufacturer();
+        try (var stream = guitarPedalRepository.stream(null, Sort.by(GuitarPedal_.ID), 1)) {
+            assertEquals(4, stream.count());
+        }
+        assertTrue(entityManager.contains(managed));
+        assertTrue(entityManager.contains(manufacturer));
+        assertFalse(entityManager.unwrap(Session.class).isReadOnly(managed));
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_fetchesCollections_whenSortHasTies() {
+        // most pedals do not have stereo outputs, so the identifier
+        // must break the tie to keep the rows of each pedal together
+        Map<Long, Integer> tagCounts;
+        try (var stream = guitarPedalRepository.stream(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.tags)
+                        .toSpecification(),
+                Sort.by(GuitarPedal_.HAS_STEREO_OUTPUT), 3)) {
+            tagCounts = stream.collect(Collectors.toMap(GuitarPedal::getId, pedal -> pedal.getTags().size()));
+        }
+        assertEquals(Map.of(1L, 2, 2L, 6, 3L, 4, 4L, 3), tagCounts);
+    }
+
+    @Test
+    void stream_throwsException_whenNoTransactionIsActive() {
+        assertThrows(
+                IllegalTransactionStateException.class,
+                () -> guitarPedalRepository.stream(null, Sort.unsorted())
+        );
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void stream_throwsException_whenFetchSizeIsLessThanOne() {
+        // translated by the Repository like any other IllegalArgumentException
+        assertThrows(
+                InvalidDataAccessApiUsageException.class,
+                () -> guitarPedalRepository.stream(null, Sort.unsorted(), 0)
+        );
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.quinnandrews.spring.data.specification.statistics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p> Records how many SQL statements, Entity loads and lazy loads an action
+ * caused, from Hibernate's statistics, and asserts on them, so that tests
+ * can tell when a Specification that should fetch its associations in one
+ * query starts to load them one by one (N+1):
+ *
+ * <pre>{@code
+ * var statistics = QueryStatistics.of(entityManagerFactory);
+ * var pedals = statistics.record(() -> guitarPedalRepository.findAll(specification));
+ * statistics.assertStatementCount(1)
+ *         .assertEntitiesLoadedAtMost(4)
+ *         .assertNoLazyLoads();
+ * }</pre>
+ *
+ * <p> Statistics are enabled on the SessionFactory when first needed, and
+ * counted as the difference between before and after each recording, so
+ * actions running concurrently in other threads are counted too.
+ *
+ * @author Quinn Andrews
+ */
+public final class QueryStatistics {
+
+    private final Statistics statistics;
+    private Counts recorded;
+
+    private QueryStatistics(final Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns a new QueryStatistics reading the statistics of the given
+     * EntityManagerFactory, enabling them if they are not yet enabled.
+     *
+     * @param entityManagerFactory The EntityManagerFactory to read the
+     *                             statistics of.
+     * @return A new QueryStatistics.
+     * @throws NullPointerException if the given entityManagerFactory is
+     *                              null.
+     */
+    public static QueryStatistics of(final EntityManagerFactory entityManagerFactory) {
+        Objects.requireNonNull(entityManagerFactory, "Argument 'entityManagerFactory' cannot be null.");
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        return new QueryStatistics(statistics);
+    }
+
+    /**
+     * Runs the given action and records the statements, Entity loads and lazy
+     * loads it caused, replacing what was recorded before.
+     *
+     * @param action The action to record.
+     * @return The result of the action.
+     * @param <R> The type of the result.
+     */
+    public <R> R record(final Supplier<R> action) {
+        final Counts before = Counts.of(statistics);
+        final R result = action.get();
+        recorded = Counts.of(statistics).minus(before);
+        return result;
+    }
+
+    /**
+     * Runs the given action and records the statements, Entity loads and lazy
+     * loads it caused, replacing what was recorded before.
+     *
+     * @param action The action to record.
+     */
+    public void record(final Runnable action) {
+        record(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the number of JDBC statements prepared by the last action
+     * recorded.
+     *
+     * @return The number of statements.
+     */
+    public long getStatementCount() {
+        return recorded().statements();
+    }
+
+    /**
+     * Returns the number of Entities loaded by the last action recorded,
+     * whether by the query or lazily. Rows that load no Entity, such as
+     * duplicates of a fetch join or scalar projections, are not counted.
+     *
+     * @return The number of Entities loaded.
+     */
+    public long getEntitiesLoaded() {
+        return recorded().entitiesLoaded();
+    }
+
+    /**
+     * Returns the number of lazy loads triggered by the last action
+     * recorded: Entities and collections loaded by a select of their
+     * own, rather than by the query.
+     *
+     * @return The number of lazy loads.
+     */
+    public long getLazyLoadCount() {
+        return recorded().entitiesFetched() + recorded().collectionsFetched();
+    }
+
+    /**
+     * Asserts that the last action recorded prepared exactly the given
+     * number of statements.
+     *
+     * @param expected The number of statements expected.
+     * @return This QueryStatistics, for further assertions.
+     */
+    public QueryStatistics assertStatementCount(final long expected) {
+        assertEquals(expected, getStatementCount(),
+                () -> "Expected exactly " + expected + " statement(s), but recorded " + recorded() + ".");
+        return this;
+    }
+
+    /**
+     * Asserts that the last action recorded prepared no more than the
+     * given number of statements.
+     *
+     * @param maximum The most statements expected.
+     * @return This QueryStatistics, for further assertions.
+     */
+    public QueryStatistics assertStatementCountAtMost(final long maximum) {
+        assertTrue(getStatementCount() <= maximum,
+                () -> "Expected at most " + maximum + " statement(s), but recorded " + recorded() + ".");
+        return this;
+    }
+
+    /**
+     * Asserts that the last action recorded loaded no more than the
+     * given number of Entities.
+     *
+     * @param maximum The most Entities expected.
+     * @return This QueryStatistics, for further assertions.
+     */
+    public QueryStatistics assertEntitiesLoadedAtMost(final long maximum) {
+        assertTrue(getEntitiesLoaded() <= maximum,
+                () -> "Expected at most " + maximum + " Entities loaded, but recorded " + recorded() + ".");
+        return this;
+    }
+
+    /**
+     * Asserts that the last action recorded triggered no lazy loads.
+     *
+     * @return This QueryStatistics, for further assertions.
+     */
+    public QueryStatistics assertNoLazyLoads() {
+        assertEquals(0, getLazyLoadCount(),
+                () -> "Expected no lazy loads, but recorded " + recorded() + ".");
+        return this;
+    }
+
+    private Counts recorded() {
+        if (recorded == null) {
+            throw new IllegalStateException("Nothing has been recorded yet.");
+        }
+        return recorded;
+    }
+
+    /**
+     * The counters of Hibernate's statistics that are recorded.
+     */
+    private record Counts(long statements,
+                          long entitiesLoaded,
+                          long entitiesFetched,
+                          long collectionsFetched) {
+
+        private static Counts of(final Statistics statistics) {
+            return new Counts(
+                    statistics.getPrepareStatementCount(),
+                    statistics.getEntityLoadCount(),
+                    statistics.getEntityFetchCount(),
+                    statistics.getCollectionFetchCount()
+            );
+        }
+
+        private Counts minus(final Counts before) {
+            return new Counts(
+                    statements - before.statements,
+                    entitiesLoaded - before.entitiesLoaded,
+                    entitiesFetched - before.entitiesFetched,
+                    collectionsFetched - before.collectionsFetched
+            );
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statement(s), " + entitiesLoaded + " Entities loaded and "
+                    + (entitiesFetched + collectionsFetched) + " lazy load(s)";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.quinnandrews.spring.data.specification.statistics;
+
+import io.github.quinnandrews.spring.data.specification.builder.SpecificationBuilder;
+import io.github.quinnandrews.spring.data.specification.builder.application.Application;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.GuitarPedal_;
+import io.github.quinnandrews.spring.data.specification.builder.application.data.guitarpedals.repository.GuitarPedalRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class QueryStatisticsIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private GuitarPedalRepository guitarPedalRepository;
+
+    private QueryStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = QueryStatistics.of(entityManagerFactory);
+    }
+
+    @Test
+    void record_countsOneStatement_whenAssociationIsFetched() {
+        var pedals = statistics.record(() -> guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .with().fetchOf(GuitarPedal_.manufacturer)
+                        .toSpecification()
+        ));
+        assertEquals(4, pedals.size());
+        statistics.assertStatementCount(1)
+                .assertEntitiesLoadedAtMost(8)
+                .assertNoLazyLoads();
+    }
+
+    @Test
+    void record_countsSelectPerRow_whenAssociationIsNotFetched() {
+        statistics.record(() -> guitarPedalRepository.findAll(
+                SpecificationBuilder.from(GuitarPedal.class)
+                        .where().isNull(GuitarPedal_.dateSold)
+                        .toSpecification()
+        ));
+        assertEquals(4, statistics.getStatementCount());
+        assertEquals(3, statistics.getLazyLoadCount());
+        assertThrows(AssertionFailedError.class, () -> statistics.assertStatementCount(1));
+        assertThrows(AssertionFailedError.class, () -> statistics.assertNoLazyLoads());
+    }
+
+    @Test
+    void record_countsCollectionLoads_asLazyLoads() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> statistics.record(() ->
+                guitarPedalRepository.findAll(
+                        SpecificationBuilder.from(GuitarPedal.class)
+                                .with().fetchOf(GuitarPedal_.manufacturer)
+                                .toSpecification()
+                ).forEach(pedal -> pedal.getTags().size())
+        ));
+        assertEquals(4, statistics.getLazyLoadCount());
+        assertEquals(5, statistics.getStatementCount());
+        assertThrows(AssertionFailedError.class, () -> statistics.assertEntitiesLoadedAtMost(8));
+    }
+
+    @Test
+    void assertions_throwIllegalStateException_whenNothingIsRecorded() {
+        assertThrows(IllegalStateException.class, () -> statistics.assertStatementCount(1));
+    }
+}
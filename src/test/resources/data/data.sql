@@ -6,12 +6,12 @@ VALUES
     (4, 'Malekko');
 
 
-INSERT INTO guitar_pedal (id, manufacturer_id, name, has_stereo_output, date_purchased, date_sold, used_value)
+INSERT INTO guitar_pedal (id, manufacturer_id, name, has_stereo_output, date_purchased, date_sold, used_value, purchase_price)
 VALUES
-    (1, 1, 'Big Muff Fuzz', false, '2020-10-31', null, 75),
-    (2, 2, 'Deco: Tape Saturation and Double Tracker', true, '2021-07-19', null, 250),
-    (3, 3, 'Soft Focus Reverb', false, '2022-09-11', null, 200),
-    (4, 4, 'Sneak Attack: Attack/Decay and Tremolo', false, '2023-01-01', '2023-03-21', 150);
+    (1, 1, 'Big Muff Fuzz', false, '2020-10-31', null, 75, 99.00),
+    (2, 2, 'Deco: Tape Saturation and Double Tracker', true, '2021-07-19', null, 250, 349.00),
+    (3, 3, 'Soft Focus Reverb', false, '2022-09-11', null, 200, 279.50),
+    (4, 4, 'Sneak Attack: Attack/Decay and Tremolo', false, '2023-01-01', '2023-03-21', 150, 199.00);
 
 INSERT INTO guitar_pedal_tag (id, guitar_pedal_id, tag)
 VALUES
@@ -10,11 +10,16 @@ CREATE TABLE guitar_pedal (
     has_stereo_output BOOLEAN NOT NULL,
     date_purchased DATE NOT NULL,
     date_sold DATE,
-    used_value INT NOT NULL
+    used_value INT NOT NULL,
+    purchase_price DECIMAL(10,2)
 );
 
 CREATE TABLE guitar_pedal_tag (
     id BIGINT NOT NULL PRIMARY KEY,
-    guitar_pedal_id BIGINT NOT NULL REFERENCES guitar_pedal,
+    guitar_pedal_id BIGINT REFERENCES guitar_pedal,
     tag VARCHAR (16) NOT NULL
 );
+
+CREATE INDEX guitar_pedal_name ON guitar_pedal (name);
+CREATE INDEX guitar_pedal_used_value ON guitar_pedal (used_value);
+CREATE INDEX guitar_pedal_tag_tag ON guitar_pedal_tag (tag);